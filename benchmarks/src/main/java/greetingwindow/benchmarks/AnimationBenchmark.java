@@ -0,0 +1,60 @@
+package greetingwindow.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.animation.Animation;
+
+import greetingwindow.AnimaTarget;
+import greetingwindow.GreetingWindow;
+
+/**
+ * Стоимость {@link GreetingWindow#createAnimation} для всех сочетаний {@link AnimaTarget} в обычном и свёрнутом режимах.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw" })
+public class AnimationBenchmark {
+
+    @Param
+    public AnimaTarget appearance;
+
+    @Param
+    public AnimaTarget disappearance;
+
+    @Param({ "false", "true" })
+    public boolean compiled;
+
+    private GreetingWindow window;
+
+    private final int[] delays = { 100, 200, 300, 400, 500 };
+
+    @Setup
+    public void createWindow() throws Exception {
+        FxBenchmarkSupport.startToolkit();
+        window = FxBenchmarkSupport.callOnFx(() -> {
+            GreetingWindow gw = new GreetingWindow().setCompiledAnimation(compiled);
+            gw.createGreetingWindow();
+            return gw;
+        });
+    }
+
+    @Benchmark
+    public Animation createAnimation() throws Exception {
+        return FxBenchmarkSupport.callOnFx(() -> window.createAnimation(appearance, disappearance, delays));
+    }
+}
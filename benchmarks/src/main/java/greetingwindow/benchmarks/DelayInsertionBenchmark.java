@@ -0,0 +1,95 @@
+package greetingwindow.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.animation.Animation;
+
+import greetingwindow.AnimaTarget;
+import greetingwindow.AnimationPlan;
+import greetingwindow.GreetingWindow;
+
+/**
+ * Стоимость вставки задержек при разной длине массива {@code delaysInMills}.
+ * 
+ * <p>Вставка задержек выполняется при расчёте {@link AnimationPlan}: {@code computePlan} измеряет расчёт плана, которого
+ * нет в кэше, {@code cachedPlan} - повторное получение того же плана, {@code bindPlan} - создание цепочки анимаций по плану
+ * через {@link GreetingWindow#createAnimation(AnimationPlan)}.
+ *
+ * <p>Бенчмарки используют только открытый API библиотеки. Чтобы {@link AnimationPlan#of} каждый раз рассчитывал план
+ * заново, {@code computePlan} перебирает по кругу {@code UNCACHED_PLANS} планов, отличающихся временем появления окна:
+ * их больше, чем вмещает кэш планов (32), поэтому нужного плана в нём уже нет. В результат входит и вытеснение
+ * старого плана из кэша - то же, что происходит при настоящем промахе.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw" })
+public class DelayInsertionBenchmark {
+
+    /**
+     * Сколько разных планов перебирает {@code computePlan}. Должно быть больше ёмкости кэша планов.
+     */
+    private static final int UNCACHED_PLANS = 64;
+
+    /**
+     * Длина массива задержек. Полная цепочка из 4 анимаций принимает не больше 5 задержек, остальные игнорируются.
+     */
+    @Param({ "0", "1", "3", "5", "8" })
+    public int delaysAmount;
+
+    /**
+     * Доля нулевых (пропускаемых) задержек: каждая вторая или ни одной.
+     */
+    @Param({ "false", "true" })
+    public boolean withZeros;
+
+    private int[] delays;
+
+    private int nextPlan = 0;
+
+    private GreetingWindow window;
+
+    @Setup
+    public void prepare() throws Exception {
+        delays = new int[delaysAmount];
+        for (int i = 0; i < delaysAmount; i++) delays[i] = withZeros && i % 2 == 1 ? 0 : 100 * (i + 1);
+
+        FxBenchmarkSupport.startToolkit();
+        window = FxBenchmarkSupport.callOnFx(() -> {
+            GreetingWindow gw = new GreetingWindow();
+            gw.createGreetingWindow();
+            return gw;
+        });
+    }
+
+    @Benchmark
+    public AnimationPlan computePlan() {
+        nextPlan = nextPlan == UNCACHED_PLANS - 1 ? 0 : nextPlan + 1;
+        return AnimationPlan.of(AnimaTarget.BOTH, AnimaTarget.BOTH, delays, 1000 + nextPlan, 2000, 1000, 1000);
+    }
+
+    @Benchmark
+    public AnimationPlan cachedPlan() {
+        return AnimationPlan.of(AnimaTarget.BOTH, AnimaTarget.BOTH, delays, 1000, 2000, 1000, 1000);
+    }
+
+    @Benchmark
+    public Animation bindPlan() throws Exception {
+        AnimationPlan plan = AnimationPlan.of(AnimaTarget.BOTH, AnimaTarget.BOTH, delays, 1000, 2000, 1000, 1000);
+        return FxBenchmarkSupport.callOnFx(() -> window.createAnimation(plan));
+    }
+}
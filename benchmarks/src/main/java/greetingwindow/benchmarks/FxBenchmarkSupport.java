@@ -0,0 +1,54 @@
+package greetingwindow.benchmarks;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import javafx.application.Platform;
+
+/**
+ * Запуск JavaFX для бенчмарков и выполнение кода в потоке JavaFX.
+ *
+ * <p>Окна и анимации создаются только в потоке JavaFX, поэтому такие бенчмарки передают работу через
+ * {@link Platform#runLater} и ждут результата. Стоимость этого перехода измеряется отдельно бенчмарком
+ * {@code GreetingWindowBenchmark.fxThreadHop} и должна вычитаться из результатов.
+ *
+ * <p>Для запуска без дисплея бенчмарки форкаются с Monocle: {@code -Dglass.platform=Monocle -Dmonocle.platform=Headless}.
+ */
+final class FxBenchmarkSupport {
+
+    private static boolean started = false;
+
+    private FxBenchmarkSupport() { }
+
+    /**
+     * Запускает JavaFX, если он ещё не запущен, и запрещает ему завершаться после закрытия последнего окна.
+     */
+    static synchronized void startToolkit() throws InterruptedException {
+        if (started) return;
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.startup(latch::countDown);
+        latch.await();
+        Platform.setImplicitExit(false);
+        started = true;
+    }
+
+    /**
+     * Выполняет код в потоке JavaFX и ждёт результат.
+     * @param callable - выполняемый код.
+     * @return результат кода.
+     */
+    static <T> T callOnFx(Callable<T> callable) throws InterruptedException, ExecutionException {
+        if (Platform.isFxApplicationThread()) {
+            try {
+                return callable.call();
+            } catch (Exception e) {
+                throw new ExecutionException(e);
+            }
+        }
+        FutureTask<T> task = new FutureTask<T>(callable);
+        Platform.runLater(task);
+        return task.get();
+    }
+}
@@ -0,0 +1,53 @@
+package greetingwindow.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.stage.Stage;
+
+import greetingwindow.GreetingWindow;
+
+/**
+ * Стоимость создания {@link GreetingWindow} и его окна.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw" })
+public class GreetingWindowBenchmark {
+
+    @Setup
+    public void startToolkit() throws Exception {
+        FxBenchmarkSupport.startToolkit();
+    }
+
+    @Benchmark
+    public GreetingWindow constructWindow() {
+        return new GreetingWindow();
+    }
+
+    @Benchmark
+    public Stage createGreetingWindow() throws Exception {
+        return FxBenchmarkSupport.callOnFx(() -> new GreetingWindow().createGreetingWindow());
+    }
+
+    /**
+     * Базовая стоимость перехода в поток JavaFX и обратно для вычитания из остальных результатов.
+     */
+    @Benchmark
+    public Object fxThreadHop() throws Exception {
+        return FxBenchmarkSupport.callOnFx(() -> Boolean.TRUE);
+    }
+}
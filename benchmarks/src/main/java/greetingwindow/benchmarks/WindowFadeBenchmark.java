@@ -0,0 +1,106 @@
+package greetingwindow.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.animation.Animation;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import greetingwindow.AnimaTarget;
+import greetingwindow.GreetingWindow;
+import greetingwindow.WindowFadeMode;
+
+/**
+ * Стоимость одного кадра анимации появления окна в режимах {@link WindowFadeMode}.
+ *
+ * <p>{@code applyFrame} - выставление прозрачности в потоке JavaFX, {@code renderedFrame} - то же вместе с ожиданием
+ * следующего пульса. Стоимость нативной прозрачности окна на стороне оконного менеджера без дисплея (Monocle) не видна, 
+ * поэтому сравнивать режимы по-настоящему стоит, запустив бенчмарк без параметров Monocle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw" })
+public class WindowFadeBenchmark {
+
+    @Param
+    public WindowFadeMode mode;
+
+    private Stage stage;
+
+    private Animation fade;
+
+    private double position = 0;
+
+    private volatile CountDownLatch pulse;
+
+    @Setup
+    public void showWindow() throws Exception {
+        FxBenchmarkSupport.startToolkit();
+        FxBenchmarkSupport.callOnFx(() -> {
+            GreetingWindow gw = new GreetingWindow().setWindowFadeMode(mode).setTimeOfWindowAppearanceInMills(1000);
+            stage = gw.createGreetingWindow();
+            fade = gw.createAnimation(AnimaTarget.ONLY_WINDOW, AnimaTarget.NO_ANIMATION);
+            stage.getScene().addPostLayoutPulseListener(() -> {
+                CountDownLatch latch = pulse;
+                if (latch != null) Platform.runLater(latch::countDown);
+            });
+            stage.show();
+            // Остановленная анимация не применяет значения при перемотке, поэтому держим её на паузе
+            fade.play();
+            fade.pause();
+            return stage;
+        });
+    }
+
+    @TearDown
+    public void closeWindow() throws Exception {
+        FxBenchmarkSupport.callOnFx(() -> {
+            stage.close();
+            return stage;
+        });
+    }
+
+    @Benchmark
+    public Object applyFrame() throws Exception {
+        return FxBenchmarkSupport.callOnFx(this::nextFrame);
+    }
+
+    @Benchmark
+    public Object renderedFrame() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        pulse = latch;
+        FxBenchmarkSupport.callOnFx(() -> {
+            Platform.requestNextPulse();
+            return this.nextFrame();
+        });
+        latch.await();
+        return latch;
+    }
+
+    /**
+     * Переводит анимацию окна в следующее положение, как это делает очередной кадр.
+     */
+    private Object nextFrame() {
+        position = position >= 990 ? 0 : position + 10;
+        fade.jumpTo(Duration.millis(position));
+        return fade;
+    }
+}
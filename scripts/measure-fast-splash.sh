@@ -0,0 +1,32 @@
+#!/bin/sh
+# Сравнивает время до первого кадра окна приветствия в образе fast-splash с архивом CDS и без него.
+# Образ собирается командой: mvn -P fast-splash package
+# Использование: scripts/measure-fast-splash.sh [количество запусков] [путь к образу]
+
+RUNS=${1:-10}
+IMAGE=${2:-target/fast-splash}
+JAVA="$IMAGE/bin/java"
+
+if [ ! -x "$JAVA" ]; then
+    echo "Image not found: $IMAGE (run 'mvn -P fast-splash package' first)" >&2
+    exit 1
+fi
+if [ ! -f "$IMAGE/lib/server/classes.jsa" ]; then
+    echo "CDS archive not found in $IMAGE, the image was built with -DfastSplash.skipCds=true" >&2
+    exit 1
+fi
+
+# $1 - режим CDS (-Xshare:off или -Xshare:auto), печатает среднее и минимальное время в миллисекундах
+measure() {
+    i=0
+    while [ "$i" -lt "$RUNS" ]; do
+        "$JAVA" "$1" -m greetingwindow/greetingwindow.probe.SplashStartupProbe | sed -n 's/^time-to-first-frame-ms=//p'
+        i=$((i + 1))
+    done | awk -v mode="$1" '
+        { sum += $1; if (min == "" || $1 < min) min = $1; n++ }
+        END { if (n == 0) { print mode ": no measurements"; exit 1 }
+              printf "%-14s runs=%d avg=%.1fms min=%dms\n", mode, n, sum / n, min }'
+}
+
+measure -Xshare:off
+measure -Xshare:auto
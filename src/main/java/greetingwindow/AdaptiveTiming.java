@@ -0,0 +1,320 @@
+package greetingwindow;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.System.Logger;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Подстройка длительности показа окна приветствия под время запуска приложения на конкретной машине.
+ *
+ * <p>Для каждого запуска записывается время от начала анимации окна до готовности приложения 
+ * ({@link AdaptiveTiming#ready()} или сигнал готовности окна, см. {@link GreetingWindow#setReadySignal}). По последним 
+ * запускам (медиана) предсказывается время готовности, и задержка между появлением и исчезновением (задержка удержания, 
+ * {@code delaysInMills[количество анимаций появления]}) подбирается так, чтобы окно закончило анимацию примерно к этому 
+ * времени. Задержка ограничена {@link AdaptiveTiming#setHoldBoundsInMills}; пока истории нет, план не меняется.
+ *
+ * <p>История хранится в небольшом двоичном файле (заголовок и по 4 байта на запуск) и перезаписывается атомарно: через 
+ * временный файл в той же папке. Ошибки чтения и записи файла не мешают показу окна, а только пишутся в 
+ * {@link System.Logger} с уровнем {@code WARNING}. Файл читается один раз, в конструкторе, поэтому 
+ * {@link AdaptiveTiming#adapt} в потоке JavaFX не обращается к диску; создавать объект лучше до запуска JavaFX 
+ * (например, в {@code main} или {@code Application.init}). {@link AdaptiveTiming#ready()} обновляет историю сразу, а 
+ * файл записывает в фоновом потоке ({@link BackgroundLoader}). Методы можно вызывать из любого потока.
+ */
+public final class AdaptiveTiming {
+
+    private static final Logger LOGGER = System.getLogger(GreetingWindow.class.getName());
+
+    /**
+     * Сигнатура файла истории ("GWAT").
+     */
+    private static final int MAGIC = 0x47574154;
+
+    private static final byte FORMAT_VERSION = 1;
+
+    /**
+     * Количество запусков, хранимых в истории по умолчанию.
+     */
+    public static final int DEFAULT_HISTORY_SIZE = 8;
+
+    /**
+     * Наименьшая задержка удержания по умолчанию.
+     */
+    public static final int DEFAULT_MIN_HOLD_IN_MILLS = 0;
+
+    /**
+     * Наибольшая задержка удержания по умолчанию.
+     */
+    public static final int DEFAULT_MAX_HOLD_IN_MILLS = 5000;
+
+    private final Path historyFile;
+
+    private int historySize = DEFAULT_HISTORY_SIZE;
+
+    private int minHoldInMills = DEFAULT_MIN_HOLD_IN_MILLS;
+
+    private int maxHoldInMills = DEFAULT_MAX_HOLD_IN_MILLS;
+
+    /**
+     * Время готовности в прошлых запусках, от старых к новым. Может быть длиннее размера истории, если он уменьшен 
+     * после чтения файла (см. {@link AdaptiveTiming#history()}).
+     */
+    private int[] history;
+
+    /**
+     * Момент начала анимации текущего запуска ({@link System#nanoTime()}) или 0, если запуск не начат или уже записан.
+     */
+    private final AtomicLong startedAtNanos = new AtomicLong();
+
+    /**
+     * Конструктор.
+     * История сразу читается из файла.
+     * @param historyFile - файл истории. Если файла нет, он будет создан при первой записи (вместе с папками).
+     * @throws IllegalArgumentException если {@code historyFile == null}.
+     */
+    public AdaptiveTiming(Path historyFile) {
+        if (historyFile == null) throw new IllegalArgumentException("historyFile == null");
+        this.historyFile = historyFile;
+        this.history = this.load();
+    }
+
+    /**
+     * @param applicationName - имя приложения.
+     * @return файл истории по умолчанию: {@code ~/.greetingwindow/<applicationName>.timing}.
+     * @throws IllegalArgumentException если {@code applicationName == null}.
+     */
+    public static Path defaultHistoryFile(String applicationName) {
+        if (applicationName == null) throw new IllegalArgumentException("applicationName == null");
+        return Paths.get(System.getProperty("user.home"), ".greetingwindow", applicationName + ".timing");
+    }
+
+    /**
+     * Возвращает план с задержкой удержания, подобранной по истории. Если истории нет или в плане нет анимаций 
+     * исчезновения, возвращается тот же план.
+     * @param plan - план с задержками по умолчанию.
+     * @return план с подобранной задержкой удержания.
+     * @throws IllegalArgumentException если {@code plan == null}.
+     */
+    public synchronized AnimationPlan adapt(AnimationPlan plan) {
+        if (plan == null) throw new IllegalArgumentException("plan == null");
+        long predicted = this.predictTimeToReadyInMills();
+        int firstDisappearance = plan.getFirstDisappearanceStepIndex();
+        if (predicted < 0 || firstDisappearance < 0) return plan;
+
+        // Задержка удержания идёт после всех анимаций появления
+        int holdIdx = 0;
+        for (int i = 0; i < firstDisappearance; i++) {
+            if (plan.getSteps().get(i).getTarget() != AnimationPlan.StepTarget.DELAY) holdIdx++;
+        }
+        int[] delays = plan.getDelaysInMills();
+        int currentHold = holdIdx < delays.length ? Math.max(0, delays[holdIdx]) : 0;
+        long withoutHold = plan.getTotalDurationInMills() - currentHold;
+        int hold = (int) Math.max(minHoldInMills, Math.min(maxHoldInMills, predicted - withoutHold));
+        if (hold == currentHold) return plan;
+
+        if (delays.length <= holdIdx) delays = Arrays.copyOf(delays, holdIdx + 1);
+        delays[holdIdx] = hold;
+        return plan.withDelays(delays);
+    }
+
+    /**
+     * @return предсказанное время от начала анимации до готовности приложения (медиана последних запусков) или -1, 
+     * если истории нет.
+     */
+    public synchronized long predictTimeToReadyInMills() {
+        int[] runs = this.history();
+        if (runs.length == 0) return -1;
+        int[] sorted = runs.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : ((long) sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    /**
+     * Отмечает начало анимации окна. Вызывается окном приветствия, повторные вызовы до {@link AdaptiveTiming#ready()} 
+     * игнорируются.
+     */
+    void splashStarted() {
+        startedAtNanos.compareAndSet(0, System.nanoTime());
+    }
+
+    /**
+     * Отмечает готовность приложения и добавляет время от начала анимации в историю. Записывается только первый вызов 
+     * после начала анимации; если анимация не начиналась, вызов ничего не делает. Окно вызывает этот метод по сигналу 
+     * готовности, часто в потоке JavaFX, поэтому файл сохраняется в фоновом потоке.
+     */
+    public void ready() {
+        long startedAt = startedAtNanos.getAndSet(0);
+        if (startedAt == 0) return;
+        long elapsed = (System.nanoTime() - startedAt) / 1_000_000;
+        this.addToHistory(elapsed);
+        BackgroundLoader.EXECUTOR.execute(this::saveHistory);
+    }
+
+    /**
+     * Добавляет время готовности в историю и сохраняет её в файл в вызывающем потоке. Самые старые запуски сверх размера 
+     * истории отбрасываются.
+     * @param timeToReadyInMills - время от начала анимации до готовности приложения.
+     * @throws IllegalArgumentException если {@code timeToReadyInMills < 0}.
+     */
+    public synchronized void recordTimeToReady(long timeToReadyInMills) {
+        if (timeToReadyInMills < 0) throw new IllegalArgumentException("timeToReadyInMills < 0");
+        this.save(this.addToHistory(timeToReadyInMills));
+    }
+
+    /**
+     * Добавляет время готовности в историю в памяти.
+     * @return новая история.
+     */
+    private synchronized int[] addToHistory(long timeToReadyInMills) {
+        int[] runs = this.history();
+        int keep = Math.min(runs.length, historySize - 1);
+        int[] updated = Arrays.copyOfRange(runs, runs.length - keep, runs.length + 1);
+        updated[keep] = (int) Math.min(Integer.MAX_VALUE, timeToReadyInMills);
+        this.history = updated;
+        return updated;
+    }
+
+    /**
+     * Сохраняет текущую историю. Файл пишется под той же блокировкой, что и изменения истории, поэтому запоздавшее 
+     * фоновое сохранение не перезапишет файл устаревшими данными.
+     */
+    private synchronized void saveHistory() {
+        this.save(this.history());
+    }
+
+    /**
+     * @return время готовности в прошлых запусках, от старых к новым.
+     */
+    public synchronized int[] getHistory() {
+        return this.history().clone();
+    }
+
+    /**
+     * Очищает историю и удаляет файл.
+     */
+    public synchronized void clearHistory() {
+        this.history = new int[0];
+        try {
+            Files.deleteIfExists(historyFile);
+        } catch (IOException e) {
+            LOGGER.log(Logger.Level.WARNING, "Cannot delete splash timing history " + historyFile, e);
+        }
+    }
+
+    /**
+     * Задаёт границы задержки удержания.
+     * @param minHoldInMills - наименьшая задержка.
+     * @param maxHoldInMills - наибольшая задержка.
+     * @return этот же объект {@link AdaptiveTiming}.
+     * @throws IllegalArgumentException если {@code minHoldInMills < 0} или {@code maxHoldInMills < minHoldInMills}.
+     */
+    public synchronized AdaptiveTiming setHoldBoundsInMills(int minHoldInMills, int maxHoldInMills) {
+        if (minHoldInMills < 0) throw new IllegalArgumentException("minHoldInMills < 0");
+        if (maxHoldInMills < minHoldInMills) throw new IllegalArgumentException("maxHoldInMills < minHoldInMills");
+        this.minHoldInMills = minHoldInMills;
+        this.maxHoldInMills = maxHoldInMills;
+        return this;
+    }
+
+    public synchronized int getMinHoldInMills() {
+        return minHoldInMills;
+    }
+
+    public synchronized int getMaxHoldInMills() {
+        return maxHoldInMills;
+    }
+
+    /**
+     * Задаёт, сколько последних запусков учитывается. Лишние старые запуски сразу перестают учитываться, а из файла 
+     * удаляются при следующей записи.
+     * @param historySize - количество запусков.
+     * @return этот же объект {@link AdaptiveTiming}.
+     * @throws IllegalArgumentException если {@code historySize <= 0} или {@code historySize > 255}.
+     */
+    public synchronized AdaptiveTiming setHistorySize(int historySize) {
+        if (historySize <= 0) throw new IllegalArgumentException("historySize <= 0");
+        if (historySize > 255) throw new IllegalArgumentException("historySize > 255");
+        this.historySize = historySize;
+        return this;
+    }
+
+    public synchronized int getHistorySize() {
+        return historySize;
+    }
+
+    public Path getHistoryFile() {
+        return historyFile;
+    }
+
+    /**
+     * @return последние {@link AdaptiveTiming#historySize} запусков из истории.
+     */
+    private int[] history() {
+        int[] runs = this.history;
+        return runs.length > historySize ? Arrays.copyOfRange(runs, runs.length - historySize, runs.length) : runs;
+    }
+
+    /**
+     * Читает всю историю из файла, размер истории применяется при обращении к ней. Отсутствующий, повреждённый или 
+     * записанный другой версией формата файл считается пустой историей.
+     */
+    private int[] load() {
+        try (InputStream stream = Files.newInputStream(historyFile);
+                DataInputStream in = new DataInputStream(stream)) {
+            if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) return new int[0];
+            int count = in.readUnsignedByte();
+            int[] runs = new int[count];
+            for (int i = 0; i < count; i++) runs[i] = in.readInt();
+            return runs;
+        } catch (NoSuchFileException e) {
+            return new int[0];
+        } catch (IOException e) {
+            LOGGER.log(Logger.Level.WARNING, "Cannot read splash timing history " + historyFile, e);
+            return new int[0];
+        }
+    }
+
+    /**
+     * Атомарно перезаписывает файл истории: данные пишутся во временный файл рядом, который затем переименовывается.
+     */
+    private void save(int[] runs) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(6 + runs.length * 4);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeByte(runs.length);
+            for (int run : runs) out.writeInt(run);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        Path dir = historyFile.toAbsolutePath().getParent();
+        Path temp = null;
+        try {
+            Files.createDirectories(dir);
+            temp = Files.createTempFile(dir, historyFile.getFileName().toString(), ".tmp");
+            Files.write(temp, bytes.toByteArray());
+            try {
+                Files.move(temp, historyFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, historyFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Logger.Level.WARNING, "Cannot write splash timing history " + historyFile, e);
+            if (temp != null) {
+                try { Files.deleteIfExists(temp); } catch (IOException ignored) { }
+            }
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package greetingwindow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Неизменяемый, заранее рассчитанный план анимации окна приветствия.
+ *
+ * <p>План содержит последовательность шагов (анимации окна, текста и задержки) с длительностями и смещениями от начала,
+ * рассчитанными по {@link AnimaTarget} появления/исчезновения, задержкам и четырём длительностям анимаций.
+ * Порядок шагов и правила вставки задержек те же, что описаны в {@link GreetingWindow#createStageWithAnimationOnShowing}.
+ *
+ * <p>Планы сравниваются по значению и кэшируются методом {@link AnimationPlan#of}, поэтому одна и та же конфигурация
+ * рассчитывается один раз, а при показе окна план лишь привязывается к конкретным {@code Stage} и тексту
+ * (см. {@link GreetingWindow#createAnimation(AnimationPlan)}). Объект потокобезопасен и может разделяться между окнами.
+ */
+public final class AnimationPlan {
+
+    /**
+     * Максимальное количество планов, хранимых в кэше.
+     */
+    private static final int CACHE_CAPACITY = 32;
+
+    /**
+     * Кэш планов по значению входных параметров.
+     */
+    private static final LinkedHashMap<Key, AnimationPlan> cache = new LinkedHashMap<Key, AnimationPlan>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, AnimationPlan> eldest) {
+            return size() > CACHE_CAPACITY;
+        }
+    };
+
+    /**
+     * Элемент, к которому относится шаг плана.
+     */
+    public enum StepTarget {
+        WINDOW,
+        TEXT,
+        DELAY;
+    }
+
+    /**
+     * Шаг плана: анимация прозрачности окна или текста либо задержка.
+     */
+    public static final class Step {
+        private final StepTarget target;
+        private final int fromOpacity;
+        private final int toOpacity;
+        private final int durationInMills;
+        private final long offsetInMills;
+
+        private Step(StepTarget target, int fromOpacity, int toOpacity, int durationInMills, long offsetInMills) {
+            this.target = target;
+            this.fromOpacity = fromOpacity;
+            this.toOpacity = toOpacity;
+            this.durationInMills = durationInMills;
+            this.offsetInMills = offsetInMills;
+        }
+
+        public StepTarget getTarget() {
+            return target;
+        }
+
+        public int getFromOpacity() {
+            return fromOpacity;
+        }
+
+        public int getToOpacity() {
+            return toOpacity;
+        }
+
+        public int getDurationInMills() {
+            return durationInMills;
+        }
+
+        /**
+         * @return смещение начала шага от начала всего плана в миллисекундах.
+         */
+        public long getOffsetInMills() {
+            return offsetInMills;
+        }
+
+        @Override
+        public String toString() {
+            if (target == StepTarget.DELAY) return "DELAY(" + durationInMills + "ms @" + offsetInMills + ")";
+            return target + "(" + fromOpacity + "->" + toOpacity + ", " + durationInMills + "ms @" + offsetInMills + ")";
+        }
+    }
+
+    /**
+     * Входные параметры, по которым план сравнивается и кэшируется.
+     */
+    private final Key key;
+
+    /**
+     * Шаги плана в порядке выполнения.
+     */
+    private final List<Step> steps;
+
+    /**
+     * Индекс первой анимации исчезновения в {@link AnimationPlan#steps} или -1.
+     */
+    private final int firstDisappearanceStepIndex;
+
+    /**
+     * Нужно ли скрыть окно до начала анимации.
+     */
+    private final boolean hidesWindow;
+
+    /**
+     * Нужно ли скрыть текст до начала анимации.
+     */
+    private final boolean hidesText;
+
+    /**
+     * Общая длительность плана.
+     */
+    private final long totalDurationInMills;
+
+    /**
+     * Возвращает план для заданных параметров, рассчитывая его только при первом обращении.
+     * Описание {@code delaysInMills} - в {@link GreetingWindow#createStageWithAnimationOnShowing}.
+     * @param appearance - для каких элементов необходимо создать анимации появления. {@code null} - без анимации.
+     * @param disappearance - для каких элементов необходимо создать анимации исчезновения. {@code null} - без анимации.
+     * @param delaysInMills - задержки анимаций, может быть {@code null}.
+     * @param windowAppearanceInMills - время появления окна.
+     * @param textAppearanceInMills - время появления текста.
+     * @param textDisappearanceInMills - время исчезновения текста.
+     * @param windowDisappearanceInMills - время исчезновения окна.
+     * @return готовый план.
+     * @throws IllegalArgumentException если одна из длительностей {@code <= 0}.
+     */
+    public static AnimationPlan of(AnimaTarget appearance, AnimaTarget disappearance, int[] delaysInMills,
+            int windowAppearanceInMills, int textAppearanceInMills, int textDisappearanceInMills, int windowDisappearanceInMills) {
+        Key key = AnimationPlan.createKey(appearance, disappearance, delaysInMills,
+            windowAppearanceInMills, textAppearanceInMills, textDisappearanceInMills, windowDisappearanceInMills);
+        synchronized (cache) {
+            AnimationPlan plan = cache.get(key);
+            if (plan != null) return plan;
+        }
+
+        AnimationPlan plan = new AnimationPlan(key);
+        synchronized (cache) {
+            AnimationPlan cached = cache.putIfAbsent(key, plan);
+            return cached != null ? cached : plan;
+        }
+    }
+
+    /**
+     * Проверяет входные параметры и собирает из них ключ плана.
+     * @return ключ плана.
+     * @throws IllegalArgumentException если одна из длительностей {@code <= 0}.
+     */
+    private static Key createKey(AnimaTarget appearance, AnimaTarget disappearance, int[] delaysInMills,
+            int windowAppearanceInMills, int textAppearanceInMills, int textDisappearanceInMills, int windowDisappearanceInMills) {
+        if (windowAppearanceInMills <= 0 | textAppearanceInMills <= 0 | textDisappearanceInMills <= 0 | windowDisappearanceInMills <= 0)
+            throw new IllegalArgumentException("One of durations <= 0");
+
+        return new Key(appearance == null ? AnimaTarget.NO_ANIMATION : appearance,
+            disappearance == null ? AnimaTarget.NO_ANIMATION : disappearance,
+            delaysInMills == null ? new int[0] : delaysInMills.clone(),
+            windowAppearanceInMills, textAppearanceInMills, textDisappearanceInMills, windowDisappearanceInMills);
+    }
+
+    /**
+     * Возвращает план по длительностям, которые заданы в {@link GreetingWindow}.
+     * @param settings - окно приветствия с настройками длительностей.
+     * @param appearance - для каких элементов необходимо создать анимации появления.
+     * @param disappearance - для каких элементов необходимо создать анимации исчезновения.
+     * @param delaysInMills - задержки анимаций.
+     * @return готовый план.
+     */
+    static AnimationPlan of(GreetingWindow settings, AnimaTarget appearance, AnimaTarget disappearance, int[] delaysInMills) {
+        return AnimationPlan.of(appearance, disappearance, delaysInMills,
+            settings.getTimeOfWindowAppearanceInMills(), settings.getTimeOfTextAppearanceInMills(),
+            settings.getTimeOfTextDisappearanceInMills(), settings.getTimeOfWindowDisappearanceInMills());
+    }
+
+    private AnimationPlan(Key key) {
+        this.key = key;
+
+        List<StepTarget> targets = new ArrayList<StepTarget>(4);
+        switch (key.appearance) {
+            case NO_ANIMATION: break;
+            case ONLY_WINDOW:
+                targets.add(StepTarget.WINDOW);
+                break;
+            case ONLY_TEXT:
+                targets.add(StepTarget.TEXT);
+                break;
+            case BOTH:
+                targets.add(StepTarget.WINDOW);
+                targets.add(StepTarget.TEXT);
+                break;
+            default:
+                throw new IllegalArgumentException("Unexpected appearance variable value.");
+        }
+        this.hidesWindow = key.appearance == AnimaTarget.ONLY_WINDOW | key.appearance == AnimaTarget.BOTH;
+        this.hidesText = key.appearance == AnimaTarget.BOTH;
+        int appearanceAmount = targets.size();
+
+        switch (key.disappearance) {
+            case NO_ANIMATION: break;
+            case ONLY_WINDOW:
+                targets.add(StepTarget.WINDOW);
+                break;
+            case ONLY_TEXT:
+                targets.add(StepTarget.TEXT);
+                break;
+            case BOTH:
+                targets.add(StepTarget.TEXT);
+                targets.add(StepTarget.WINDOW);
+                break;
+            default:
+                throw new IllegalArgumentException("Unexpected disappearance variable value.");
+        }
+
+        // Порядок шагов: неотрицательное значение - индекс анимации в targets, отрицательное - задержка длительностью -value
+        List<Integer> order = new ArrayList<Integer>(targets.size() * 2 + 1);
+        for (int i = 0; i < targets.size(); i++) order.add(i);
+        // Без анимаций не создаются и задержки
+        if (!order.isEmpty()) AnimationPlan.insertDelays(order, key.delaysInMills);
+
+        List<Step> builtSteps = new ArrayList<Step>(order.size());
+        int firstDisappearance = -1;
+        long offset = 0;
+        for (int entry : order) {
+            Step step;
+            if (entry < 0) {
+                step = new Step(StepTarget.DELAY, 0, 0, -entry, offset);
+            } else {
+                StepTarget target = targets.get(entry);
+                int from = entry < appearanceAmount ? 0 : 1;
+                step = new Step(target, from, 1 - from, key.durationOf(target, from == 0), offset);
+                if (from == 1 && firstDisappearance < 0) firstDisappearance = builtSteps.size();
+            }
+            builtSteps.add(step);
+            offset += step.durationInMills;
+        }
+
+        this.steps = Collections.unmodifiableList(builtSteps);
+        this.firstDisappearanceStepIndex = firstDisappearance;
+        this.totalDurationInMills = offset;
+    }
+
+    /**
+     * Вставляет задержки между анимациями по тем же правилам, что и {@link GreetingWindowAnimation}:
+     * задержка до анимации + по 1 задержке после каждой анимации, неположительные значения пропускаются.
+     * @param order - порядок анимаций, задержки вставляются в виде отрицательной длительности.
+     * @param delaysInMills - массив задержек.
+     */
+    private static void insertDelays(List<Integer> order, int[] delaysInMills) {
+        int limitOfDelaysAmount = Math.min(1 + order.size(), delaysInMills.length);
+
+        int insertIdx = 0;
+        for (int idx = 0; idx < limitOfDelaysAmount; idx++) {
+            if (delaysInMills[idx] <= 0) {
+                insertIdx += 1;
+                continue;
+            }
+            order.add(insertIdx, -delaysInMills[idx]);
+            insertIdx += 2;
+        }
+    }
+
+    /**
+     * @return шаги плана в порядке выполнения.
+     */
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    /**
+     * @return {@code true}, если в плане нет ни одной анимации (задержки без анимаций тоже не создаются).
+     */
+    public boolean isEmpty() {
+        return steps.isEmpty();
+    }
+
+    /**
+     * @return индекс первой анимации исчезновения в {@link AnimationPlan#getSteps()} или -1, если исчезновения нет.
+     */
+    public int getFirstDisappearanceStepIndex() {
+        return firstDisappearanceStepIndex;
+    }
+
+    /**
+     * @return нужно ли сделать окно прозрачным до начала анимации.
+     */
+    public boolean hidesWindow() {
+        return hidesWindow;
+    }
+
+    /**
+     * @return нужно ли сделать текст прозрачным до начала анимации.
+     */
+    public boolean hidesText() {
+        return hidesText;
+    }
+
+    public long getTotalDurationInMills() {
+        return totalDurationInMills;
+    }
+
+    public AnimaTarget getAppearance() {
+        return key.appearance;
+    }
+
+    public AnimaTarget getDisappearance() {
+        return key.disappearance;
+    }
+
+    public int[] getDelaysInMills() {
+        return key.delaysInMills.clone();
+    }
+
+    /**
+     * Возвращает план с теми же анимациями и длительностями, но с другими задержками.
+     * @param delaysInMills - новые задержки анимаций, может быть {@code null}.
+     * @return готовый план.
+     */
+    AnimationPlan withDelays(int[] delaysInMills) {
+        return AnimationPlan.of(key.appearance, key.disappearance, delaysInMills, key.windowAppearanceInMills, 
+            key.textAppearanceInMills, key.textDisappearanceInMills, key.windowDisappearanceInMills);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof AnimationPlan)) return false;
+        return key.equals(((AnimationPlan) obj).key);
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "AnimationPlan" + steps;
+    }
+
+    /**
+     * Входные параметры плана.
+     */
+    private static final class Key {
+        private final AnimaTarget appearance;
+        private final AnimaTarget disappearance;
+        private final int[] delaysInMills;
+        private final int windowAppearanceInMills;
+        private final int textAppearanceInMills;
+        private final int textDisappearanceInMills;
+        private final int windowDisappearanceInMills;
+
+        private Key(AnimaTarget appearance, AnimaTarget disappearance, int[] delaysInMills,
+                int windowAppearanceInMills, int textAppearanceInMills, int textDisappearanceInMills, int windowDisappearanceInMills) {
+            this.appearance = appearance;
+            this.disappearance = disappearance;
+            this.delaysInMills = delaysInMills;
+            this.windowAppearanceInMills = windowAppearanceInMills;
+            this.textAppearanceInMills = textAppearanceInMills;
+            this.textDisappearanceInMills = textDisappearanceInMills;
+            this.windowDisappearanceInMills = windowDisappearanceInMills;
+        }
+
+        private int durationOf(StepTarget target, boolean appearing) {
+            if (target == StepTarget.WINDOW) return appearing ? windowAppearanceInMills : windowDisappearanceInMills;
+            return appearing ? textAppearanceInMills : textDisappearanceInMills;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return appearance == other.appearance && disappearance == other.disappearance
+                && windowAppearanceInMills == other.windowAppearanceInMills
+                && textAppearanceInMills == other.textAppearanceInMills
+                && textDisappearanceInMills == other.textDisappearanceInMills
+                && windowDisappearanceInMills == other.windowDisappearanceInMills
+                && Arrays.equals(delaysInMills, other.delaysInMills);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = appearance.hashCode();
+            result = 31 * result + disappearance.hashCode();
+            result = 31 * result + Arrays.hashCode(delaysInMills);
+            result = 31 * result + windowAppearanceInMills;
+            result = 31 * result + textAppearanceInMills;
+            result = 31 * result + textDisappearanceInMills;
+            result = 31 * result + windowDisappearanceInMills;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package greetingwindow;
+
+import java.util.List;
+
+import javafx.animation.Interpolator;
+import javafx.beans.value.WritableValue;
+
+/**
+ * Проигрыватель {@link AnimationPlan}, который не зависит от таймера JavaFX.
+ *
+ * <p>Проигрыватель не запускает анимации сам: внешний источник времени (импульсы JavaFX, собственный таймер или
+ * виртуальные часы в тестах) вызывает {@link AnimationPlanPlayer#applyAt(long)} с временем от начала плана, а проигрыватель
+ * выставляет прозрачность окна и текста так же, как это сделала бы цепочка анимаций из {@link GreetingWindowAnimation}:
+ * окно меняется линейно, текст - с {@link Interpolator#EASE_BOTH}, как у {@code FadeTransition}.
+ * Когда время доходит до конца плана, наблюдатель уведомляется ровно один раз.
+ *
+ * <p>Целевыми значениями могут быть любые {@link WritableValue}, например, {@code stage.opacityProperty()} или
+ * обычные {@code SimpleDoubleProperty}, поэтому проигрыватель можно использовать без запущенного JavaFX.
+ * Объект не потокобезопасен: его нужно вызывать из одного потока (для настоящих окон - из потока JavaFX).
+ */
+public final class AnimationPlanPlayer {
+
+    /**
+     * Проигрываемый план.
+     */
+    private final AnimationPlan plan;
+
+    /**
+     * Прозрачность окна (или окон).
+     */
+    private final List<? extends WritableValue<Number>> windowOpacity;
+
+    /**
+     * Прозрачность текста (или текстов).
+     */
+    private final List<? extends WritableValue<Number>> textOpacity;
+
+    /**
+     * Наблюдатель, который будет уведомлён о завершении плана. Может быть {@code null}.
+     */
+    private final IAnimationWatcher observer;
+
+    /**
+     * Индекс первого незавершённого шага.
+     */
+    private int currentStep = 0;
+
+    private boolean started = false;
+
+    private boolean finished = false;
+
+    /**
+     * Конструктор.
+     * @param plan - план анимации.
+     * @param windowOpacity - прозрачность окна.
+     * @param textOpacity - прозрачность текста.
+     * @param observer - наблюдатель, может быть {@code null}.
+     * @throws NullPointerException если любой аргумент, кроме observer == null.
+     */
+    public AnimationPlanPlayer(AnimationPlan plan, WritableValue<Number> windowOpacity, WritableValue<Number> textOpacity,
+            IAnimationWatcher observer) {
+        this(plan, List.of(windowOpacity), List.of(textOpacity), observer);
+    }
+
+    /**
+     * Конструктор для нескольких окон, которые анимируются одновременно по одному плану.
+     * @param plan - план анимации.
+     * @param windowOpacity - прозрачность всех окон.
+     * @param textOpacity - прозрачность всех текстов.
+     * @param observer - наблюдатель, может быть {@code null}.
+     * @throws NullPointerException если любой аргумент, кроме observer == null.
+     */
+    public AnimationPlanPlayer(AnimationPlan plan, List<? extends WritableValue<Number>> windowOpacity,
+            List<? extends WritableValue<Number>> textOpacity, IAnimationWatcher observer) {
+        if (plan == null | windowOpacity == null | textOpacity == null)
+            throw new NullPointerException("Null argument (except observer) in constructor!");
+        this.plan = plan;
+        this.windowOpacity = List.copyOf(windowOpacity);
+        this.textOpacity = List.copyOf(textOpacity);
+        this.observer = observer;
+    }
+
+    /**
+     * Подготавливает элементы к началу плана: скрывает те, которые должны появиться. Вызывается автоматически при
+     * первом вызове {@link AnimationPlanPlayer#applyAt(long)}.
+     */
+    public void start() {
+        if (started) return;
+        started = true;
+        if (plan.hidesWindow()) AnimationPlanPlayer.set(windowOpacity, 0);
+        if (plan.hidesText()) AnimationPlanPlayer.set(textOpacity, 0);
+    }
+
+    /**
+     * Выставляет значения, соответствующие моменту {@code elapsedMillis} от начала плана. Время должно только расти:
+     * завершённые шаги повторно не применяются.
+     * @param elapsedMillis - время от начала плана в миллисекундах.
+     */
+    public void applyAt(long elapsedMillis) {
+        this.start();
+        if (finished) return;
+
+        List<AnimationPlan.Step> steps = plan.getSteps();
+        while (currentStep < steps.size()) {
+            AnimationPlan.Step step = steps.get(currentStep);
+            long end = step.getOffsetInMills() + step.getDurationInMills();
+            if (elapsedMillis < end) {
+                if (elapsedMillis >= step.getOffsetInMills()) this.applyStep(step, elapsedMillis - step.getOffsetInMills());
+                return;
+            }
+            this.applyStep(step, step.getDurationInMills());
+            currentStep++;
+        }
+
+        finished = true;
+        if (observer != null) observer.invokeAfterAnimation();
+    }
+
+    /**
+     * Выставляет значение шага на заданный момент внутри шага.
+     * @param step - шаг плана.
+     * @param stepElapsedMillis - время от начала шага.
+     */
+    private void applyStep(AnimationPlan.Step step, long stepElapsedMillis) {
+        if (step.getTarget() == AnimationPlan.StepTarget.DELAY) return;
+        double fraction = (double) stepElapsedMillis / step.getDurationInMills();
+        // Значения приводятся к double, иначе Interpolator округлит результат до целого
+        double from = step.getFromOpacity();
+        double to = step.getToOpacity();
+        if (step.getTarget() == AnimationPlan.StepTarget.WINDOW) {
+            AnimationPlanPlayer.set(windowOpacity, Interpolator.LINEAR.interpolate(from, to, fraction));
+        } else {
+            AnimationPlanPlayer.set(textOpacity, Interpolator.EASE_BOTH.interpolate(from, to, fraction));
+        }
+    }
+
+    private static void set(List<? extends WritableValue<Number>> targets, double value) {
+        for (int i = 0; i < targets.size(); i++) targets.get(i).setValue(value);
+    }
+
+    /**
+     * @return индекс шага, который сейчас проигрывается, или количество шагов, если план завершён.
+     */
+    public int getCurrentStepIndex() {
+        return currentStep;
+    }
+
+    /**
+     * @return {@code true}, если план доигран до конца и наблюдатель уже уведомлён.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public AnimationPlan getPlan() {
+        return plan;
+    }
+}
@@ -0,0 +1,34 @@
+package greetingwindow;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Отдельный фоновый поток для загрузки ресурсов окна приветствия (иконок и шрифтов).
+ *
+ * <p>Общий пул ({@link java.util.concurrent.ForkJoinPool#commonPool()}) для этого не подходит: его же по умолчанию 
+ * занимают задачи запуска ({@link StartupTaskScheduler}), и загрузка ресурсов для первого кадра стояла бы за ними в 
+ * очереди. Поток - демон и завершается, если простаивает дольше секунды.
+ */
+final class BackgroundLoader {
+
+    /**
+     * Исполнитель с одним потоком-демоном.
+     */
+    static final ExecutorService EXECUTOR = BackgroundLoader.createExecutor();
+
+    private BackgroundLoader() { }
+
+    private static ExecutorService createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), 
+            (task) -> {
+                Thread thread = new Thread(task, "greetingwindow-loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
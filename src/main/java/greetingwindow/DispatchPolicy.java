@@ -0,0 +1,13 @@
+package greetingwindow;
+
+/**
+ * Перечисление информирует о том, как уведомлять наблюдателя об окончании анимации.
+ * FX_THREAD - в потоке JavaFX до закрытия окна, как наблюдателей из {@link GreetingWindow#observersList};
+ * BACKGROUND - в фоновом исполнителе, окно закрывается не дожидаясь наблюдателя, превышение времени сообщается;
+ * FIRE_AND_FORGET - в фоновом исполнителе без отслеживания времени и результата.
+ */
+public enum DispatchPolicy {
+    FX_THREAD,
+    BACKGROUND,
+    FIRE_AND_FORGET;
+}
@@ -0,0 +1,178 @@
+package greetingwindow;
+
+import java.net.URL;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+/**
+ * Общий для всего процесса кэш шрифтов окна приветствия.
+ *
+ * <p>Поиск системного шрифта (а при его отсутствии - перебор замен) может занимать заметное время, особенно первый, 
+ * когда инициализируется подсистема шрифтов. Поэтому шрифты загружаются заранее в фоне ({@link FontCache#preload}, поток 
+ * {@link BackgroundLoader}); JavaFX для этого запускать не нужно. Поток JavaFX никогда не ждёт фоновую загрузку: если 
+ * шрифт к построению сцены ещё не готов, он загружается сразу в текущем потоке, что не дольше, чем ждать очереди фоновой 
+ * загрузки. Чтобы шрифт был готов, загрузку нужно начинать заранее: {@link GreetingWindowLauncher} начинает загрузку 
+ * шрифта по умолчанию до запуска JavaFX, а свой шрифт можно загрузить через {@link GreetingWindowConfig#preloadFont()} 
+ * в {@code main} или {@code Application.init}.
+ * Ключ кэша - семейство, насыщенность и размер шрифта или путь к файлу шрифта и размер. Файлы шрифтов загружаются через
+ * {@link Font#loadFont(String, double)}, после чего их семейство доступно и по имени. Количество хранимых шрифтов
+ * ограничено, при переполнении вытесняется дольше всех не использовавшийся.
+ */
+public final class FontCache {
+
+    /**
+     * Максимальное количество шрифтов в кэше по умолчанию.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Загруженные или загружающиеся шрифты.
+     */
+    private static final LruCache<Key, CompletableFuture<Font>> fonts = new LruCache<Key, CompletableFuture<Font>>(DEFAULT_CAPACITY);
+
+    private FontCache() { }
+
+    /**
+     * Запускает фоновую загрузку системного шрифта, если он ещё не загружен или не загружается.
+     * @param family - семейство шрифта.
+     * @param weight - насыщенность шрифта.
+     * @param size - размер шрифта.
+     * @return шрифт, который будет загружен.
+     * @throws IllegalArgumentException если {@code family == null}, {@code weight == null} или {@code size <= 0}.
+     */
+    public static CompletableFuture<Font> preload(String family, FontWeight weight, double size) {
+        if (family == null) throw new IllegalArgumentException("family == null");
+        if (weight == null) throw new IllegalArgumentException("weight == null");
+        if (size <= 0) throw new IllegalArgumentException("size <= 0");
+        return FontCache.load(new Key(family, weight, null, size));
+    }
+
+    /**
+     * Запускает фоновую загрузку шрифта из файла, если он ещё не загружен или не загружается.
+     * @param pathOrUrl - путь к ресурсу относительно пакета {@code greetingwindow} или URL (например, {@code file:/...}).
+     * @param size - размер шрифта.
+     * @return шрифт, который будет загружен. Если файл не найден или не является шрифтом, результат - {@code null}.
+     * @throws IllegalArgumentException если {@code pathOrUrl == null} или {@code size <= 0}.
+     */
+    public static CompletableFuture<Font> preloadResource(String pathOrUrl, double size) {
+        if (pathOrUrl == null) throw new IllegalArgumentException("pathOrUrl == null");
+        if (size <= 0) throw new IllegalArgumentException("size <= 0");
+        return FontCache.load(new Key(null, null, pathOrUrl, size));
+    }
+
+    /**
+     * Возвращает системный шрифт из кэша. Если шрифт ещё не загружен - загружает его в текущем потоке, не дожидаясь 
+     * фоновой загрузки.
+     * @param family - семейство шрифта.
+     * @param weight - насыщенность шрифта.
+     * @param size - размер шрифта.
+     * @return шрифт.
+     */
+    static Font get(String family, FontWeight weight, double size) {
+        return FontCache.getOrResolve(new Key(family, weight, null, size));
+    }
+
+    /**
+     * Возвращает шрифт из файла из кэша. Если шрифт ещё не загружен - загружает его в текущем потоке.
+     * @param pathOrUrl - путь к ресурсу относительно пакета {@code greetingwindow} или URL.
+     * @param size - размер шрифта.
+     * @return шрифт или {@code null}, если файл не найден или не является шрифтом.
+     */
+    static Font getResource(String pathOrUrl, double size) {
+        return FontCache.getOrResolve(new Key(null, null, pathOrUrl, size));
+    }
+
+    private static CompletableFuture<Font> load(Key key) {
+        return fonts.computeIfAbsent(key, (k) -> CompletableFuture.supplyAsync(k::resolve, BackgroundLoader.EXECUTOR));
+    }
+
+    /**
+     * Берёт готовый шрифт из кэша, а если его нет, он ещё загружается или загрузка в фоне не удалась, - загружает шрифт
+     * в текущем потоке и кладёт в кэш.
+     * @param key - ключ шрифта.
+     * @return шрифт.
+     */
+    private static Font getOrResolve(Key key) {
+        CompletableFuture<Font> cached = fonts.get(key);
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) return cached.join();
+
+        Font font = key.resolve();
+        fonts.put(key, CompletableFuture.completedFuture(font));
+        return font;
+    }
+
+    /**
+     * Задаёт максимальное количество шрифтов в кэше. Лишние шрифты вытесняются сразу.
+     * @param newCapacity - новое ограничение.
+     * @throws IllegalArgumentException если {@code newCapacity <= 0}.
+     */
+    public static void setCapacity(int newCapacity) {
+        fonts.setCapacity(newCapacity);
+    }
+
+    public static int getCapacity() {
+        return fonts.getCapacity();
+    }
+
+    /**
+     * @return количество шрифтов, которые сейчас хранятся в кэше (включая загружающиеся).
+     */
+    public static int size() {
+        return fonts.size();
+    }
+
+    /**
+     * Очищает кэш. Уже зарегистрированные из файлов семейства остаются доступны по имени.
+     */
+    public static void clear() {
+        fonts.clear();
+    }
+
+    /**
+     * Ключ кэша: системный шрифт (семейство, насыщенность) или файл шрифта, и размер.
+     */
+    private static final class Key {
+        private final String family;
+        private final FontWeight weight;
+        private final String resource;
+        private final double size;
+
+        private Key(String family, FontWeight weight, String resource, double size) {
+            this.family = family;
+            this.weight = weight;
+            this.resource = resource;
+            this.size = size;
+        }
+
+        /**
+         * Загружает шрифт, соответствующий ключу.
+         */
+        private Font resolve() {
+            if (resource == null) return Font.font(family, weight, size);
+            String url = resource;
+            if (resource.indexOf(':') <= 1) {
+                URL found = FontCache.class.getResource(resource);
+                if (found == null) return null;
+                url = found.toExternalForm();
+            }
+            return Font.loadFont(url, size);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return Objects.equals(family, other.family) && weight == other.weight
+                && Objects.equals(resource, other.resource) && Double.compare(size, other.size) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(family, weight, resource, size);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package greetingwindow;
+
+import javafx.animation.Animation;
+
+/**
+ * Считает, сколько раз в секунду анимации окна приветствия на самом деле обновляли значения. Учитывается только время,
+ * пока анимации запущены, поэтому задержки между анимациями цепочки частоту не занижают.
+ *
+ * <p>Используется вместе с ограничением частоты кадров ({@link GreetingWindow#setFrameRateCap}), чтобы проверить, 
+ * какая частота получилась. Как и анимации, вызывается только из потока JavaFX.
+ */
+final class FrameRateMeter {
+
+    /**
+     * Количество обновлений анимаций.
+     */
+    private long frames = 0;
+
+    /**
+     * Суммарное время работы завершённых анимаций.
+     */
+    private long runningNanos = 0;
+
+    /**
+     * Количество анимаций, запущенных сейчас.
+     */
+    private int running = 0;
+
+    /**
+     * Момент, с которого запущена хотя бы одна анимация.
+     */
+    private long runningSinceNanos = 0;
+
+    /**
+     * Подключает анимацию к счётчику.
+     * @param animation - анимация окна или текста.
+     */
+    void track(Animation animation) {
+        animation.currentTimeProperty().addListener((observable, oldTime, newTime) -> {
+            if (animation.getStatus() == Animation.Status.RUNNING) frames++;
+        });
+        animation.statusProperty().addListener((observable, oldStatus, newStatus) -> {
+            if (oldStatus == Animation.Status.STOPPED && newStatus == Animation.Status.RUNNING) {
+                if (running++ == 0) runningSinceNanos = System.nanoTime();
+            } else if (newStatus == Animation.Status.STOPPED && running > 0) {
+                if (--running == 0) runningNanos += System.nanoTime() - runningSinceNanos;
+            }
+        });
+    }
+
+    /**
+     * @return количество обновлений в секунду за всё время работы анимаций или 0, если анимации ещё не запускались.
+     */
+    double getFrameRate() {
+        long nanos = running > 0 ? runningNanos + System.nanoTime() - runningSinceNanos : runningNanos;
+        return nanos == 0 ? 0 : frames * 1e9 / nanos;
+    }
+}
@@ -0,0 +1,123 @@
+package greetingwindow;
+
+import java.util.Arrays;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * Записывает интервалы между кадрами JavaFX, пока проигрывается анимация окна приветствия.
+ *
+ * <p>Запись идёт через {@link AnimationTimer}, интервалы хранятся в заранее выделенном массиве {@code long}, поэтому
+ * на каждый кадр не создаётся ни одного объекта и измерение не влияет само на себя. Если кадров больше, чем помещается в
+ * буфер, старые интервалы перезаписываются, но счётчики пропущенных кадров и самой долгой паузы ведутся по всем кадрам.
+ * Сводка ({@link FrameTimingSummary}) рассчитывается один раз - при остановке.
+ *
+ * <p>Используется через {@link GreetingWindow#setFrameTimingListener}.
+ */
+public class FrameTimingRecorder extends AnimationTimer {
+
+    /**
+     * Размер буфера по умолчанию: около минуты при 60 кадрах в секунду.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Ожидаемая длительность кадра JavaFX по умолчанию (60 кадров в секунду).
+     */
+    public static final long DEFAULT_EXPECTED_FRAME_NANOS = 1_000_000_000L / 60;
+
+    /**
+     * Интервалы между кадрами в наносекундах (кольцевой буфер).
+     */
+    private final long[] intervals;
+
+    /**
+     * Ожидаемая длительность кадра.
+     */
+    private final long expectedFrameNanos;
+
+    /**
+     * Время предыдущего кадра или 0, если кадров ещё не было.
+     */
+    private long lastFrameNanos = 0;
+
+    /**
+     * Общее количество записанных интервалов.
+     */
+    private long recorded = 0;
+
+    /**
+     * Количество кадров, которые должны были быть показаны, но пропущены.
+     */
+    private long droppedFrames = 0;
+
+    /**
+     * Самый долгий интервал между кадрами.
+     */
+    private long longestStallNanos = 0;
+
+    public FrameTimingRecorder() {
+        this(DEFAULT_CAPACITY, DEFAULT_EXPECTED_FRAME_NANOS);
+    }
+
+    /**
+     * Конструктор.
+     * @param capacity - сколько последних интервалов хранить для расчёта процентилей.
+     * @param expectedFrameNanos - ожидаемая длительность кадра, от неё считаются пропущенные кадры.
+     * @throws IllegalArgumentException если один из аргументов {@code <= 0}.
+     */
+    public FrameTimingRecorder(int capacity, long expectedFrameNanos) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity <= 0");
+        if (expectedFrameNanos <= 0) throw new IllegalArgumentException("expectedFrameNanos <= 0");
+        this.intervals = new long[capacity];
+        this.expectedFrameNanos = expectedFrameNanos;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void handle(long now) {
+        this.record(now);
+    }
+
+    /**
+     * Записывает кадр, показанный в момент {@code frameNanos}. Не создаёт объектов.
+     * @param frameNanos - время кадра в наносекундах.
+     */
+    void record(long frameNanos) {
+        if (lastFrameNanos != 0) {
+            long interval = frameNanos - lastFrameNanos;
+            intervals[(int) (recorded % intervals.length)] = interval;
+            recorded++;
+            if (interval > longestStallNanos) longestStallNanos = interval;
+            // Интервал длиннее полутора кадров означает, что между кадрами не было показано (interval / expected - 1) кадров
+            if (interval * 2 > expectedFrameNanos * 3) droppedFrames += Math.round((double) interval / expectedFrameNanos) - 1;
+        }
+        lastFrameNanos = frameNanos;
+    }
+
+    /**
+     * Останавливает запись и рассчитывает сводку.
+     * @return сводка по записанным кадрам.
+     */
+    public FrameTimingSummary stopAndSummarize() {
+        this.stop();
+        return this.summarize();
+    }
+
+    /**
+     * Рассчитывает сводку по уже записанным кадрам.
+     * @return сводка по записанным кадрам.
+     */
+    public FrameTimingSummary summarize() {
+        int stored = (int) Math.min(recorded, intervals.length);
+        long[] sorted = Arrays.copyOf(intervals, stored);
+        Arrays.sort(sorted);
+        return new FrameTimingSummary(recorded, percentile(sorted, 0.5), percentile(sorted, 0.99), droppedFrames, longestStallNanos);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,63 @@
+package greetingwindow;
+
+/**
+ * Сводка по времени кадров за время анимации окна приветствия (см. {@link FrameTimingRecorder}).
+ * Все длительности - в наносекундах.
+ */
+public final class FrameTimingSummary {
+
+    private final long frameCount;
+    private final long p50FrameNanos;
+    private final long p99FrameNanos;
+    private final long droppedFrames;
+    private final long longestStallNanos;
+
+    FrameTimingSummary(long frameCount, long p50FrameNanos, long p99FrameNanos, long droppedFrames, long longestStallNanos) {
+        this.frameCount = frameCount;
+        this.p50FrameNanos = p50FrameNanos;
+        this.p99FrameNanos = p99FrameNanos;
+        this.droppedFrames = droppedFrames;
+        this.longestStallNanos = longestStallNanos;
+    }
+
+    /**
+     * @return количество записанных интервалов между кадрами.
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return медианное время кадра.
+     */
+    public long getP50FrameNanos() {
+        return p50FrameNanos;
+    }
+
+    /**
+     * @return 99-й процентиль времени кадра.
+     */
+    public long getP99FrameNanos() {
+        return p99FrameNanos;
+    }
+
+    /**
+     * @return количество пропущенных кадров относительно ожидаемой частоты.
+     */
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * @return самый долгий интервал между кадрами.
+     */
+    public long getLongestStallNanos() {
+        return longestStallNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("frames=%d, p50=%.2fms, p99=%.2fms, dropped=%d, longestStall=%.2fms", 
+            frameCount, p50FrameNanos / 1e6, p99FrameNanos / 1e6, droppedFrames, longestStallNanos / 1e6);
+    }
+}
@@ -0,0 +1,72 @@
+package greetingwindow;
+
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.effect.Effect;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+
+/**
+ * Текст приветствия в виде {@code Label} (режим {@link TextRenderMode#LABEL}).
+ *
+ * <p>Всё, что касается {@code Label}, вынесено сюда, чтобы {@link GreetingWindow} не ссылался на классы
+ * {@code javafx.controls}: пока этот класс не используется, ни элементы управления, ни их стили (Modena) не загружаются,
+ * что и нужно режиму {@link TextRenderMode#LIGHTWEIGHT}.
+ */
+final class GreetingLabels {
+
+    private GreetingLabels() { }
+
+    /**
+     * Создаёт и настраивает текст.
+     * @param text - текст приветствия.
+     * @param font - шрифт.
+     * @param textFill - цвет текста.
+     * @param effect - эффект текста (тень) или {@code null}.
+     * @return настроенный объект {@code Label}.
+     */
+    static Parent create(String text, Font font, Paint textFill, Effect effect) {
+        Label label = new Label();
+        label.setBackground(new Background(new BackgroundFill(Color.TRANSPARENT, null, null)));
+        label.setAlignment(Pos.CENTER);
+        GreetingLabels.apply(label, text, font, textFill, effect);
+        return label;
+    }
+
+    /**
+     * Перенастраивает текст окна из пула, если корень его сцены - {@code Label}.
+     * @param root - корень сцены.
+     * @param text - текст приветствия.
+     * @param font - шрифт.
+     * @param textFill - цвет текста.
+     * @param effect - эффект текста (тень) или {@code null}.
+     * @return {@code true}, если текст перенастроен, {@code false}, если корень сцены нужно создать заново.
+     */
+    static boolean reuse(Parent root, String text, Font font, Paint textFill, Effect effect) {
+        if (!(root instanceof Label)) return false;
+        root.setOpacity(1);
+        GreetingLabels.apply((Label) root, text, font, textFill, effect);
+        return true;
+    }
+
+    /**
+     * Меняет только текст.
+     * @param label - объект {@code Label}, созданный через {@link GreetingLabels#create}.
+     * @param text - новый текст.
+     */
+    static void setText(Node label, String text) {
+        ((Label) label).setText(text);
+    }
+
+    private static void apply(Label label, String text, Font font, Paint textFill, Effect effect) {
+        label.setText(text);
+        label.setFont(font);
+        label.setTextFill(textFill);
+        label.setEffect(effect);
+    }
+}
@@ -0,0 +1,240 @@
+package greetingwindow;
+
+import java.util.function.BinaryOperator;
+
+import javafx.animation.Animation;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.scene.Node;
+import javafx.stage.Stage;
+
+/**
+ * Очередь коротких сообщений, которые показываются по очереди в одном окне приветствия.
+ *
+ * <p>Сообщения можно добавлять из любого потока. Окно создаётся один раз через {@link GreetingWindow#createGreetingWindow()}
+ * и показывается, пока в очереди есть сообщения; для каждого сообщения меняется только выводимый текст (настройка
+ * {@link GreetingWindow#getText()} остаётся прежней) и проигрывается появление и исчезновение текста (длительности 
+ * берутся из настроек {@link GreetingWindow}). Когда очередь пустеет, окно скрывается
+ * и показывается снова со следующим сообщением. Наблюдатели {@link GreetingWindow} при этом не уведомляются.
+ *
+ * <p>Очередь ограничена: {@link GreetingMessageQueue#offer(String)} при заполнении поступает по {@link OverflowPolicy}, а
+ * {@link GreetingMessageQueue#put(String)} ждёт свободного места. В поток JavaFX одновременно передаётся не больше одной 
+ * задачи, сколько бы сообщений ни добавлялось. Несколько сообщений можно показывать за раз 
+ * ({@link GreetingMessageQueue#setBatchSize}), объединяя их так же, как при переполнении.
+ */
+public class GreetingMessageQueue {
+
+    /**
+     * Максимальное количество сообщений в очереди по умолчанию.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Время показа каждого сообщения (между появлением и исчезновением текста) по умолчанию.
+     */
+    public static final int DEFAULT_MESSAGE_DISPLAY_TIME_IN_MILLS = 1500;
+
+    /**
+     * Окно, в котором показываются сообщения, и его настройки.
+     */
+    private final GreetingWindow window;
+
+    /**
+     * Сообщения, ожидающие показа. Будит показ в потоке JavaFX, только когда он не идёт.
+     */
+    private final MessageBuffer buffer;
+
+    private volatile int messageDisplayTimeInMills = DEFAULT_MESSAGE_DISPLAY_TIME_IN_MILLS;
+
+    /**
+     * Окно сообщений. Доступ - из потока JavaFX.
+     */
+    private Stage stage;
+
+    /**
+     * Элемент с текстом окна сообщений. Доступ - из потока JavaFX.
+     */
+    private Node textNode;
+
+    /**
+     * Анимация текущего сообщения. Доступ - из потока JavaFX.
+     */
+    private Animation current;
+
+    /**
+     * Конструктор с параметрами по умолчанию: {@link GreetingMessageQueue#DEFAULT_CAPACITY} сообщений, при переполнении
+     * отбрасываются самые старые.
+     * @param window - окно с настройками, в котором будут показываться сообщения.
+     * @throws IllegalArgumentException если {@code window == null} или у окна задан пул окон.
+     */
+    public GreetingMessageQueue(GreetingWindow window) {
+        this(window, DEFAULT_CAPACITY, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Конструктор.
+     * @param window - окно с настройками, в котором будут показываться сообщения. Окно очереди скрывается и 
+     * показывается повторно, поэтому пул окон ({@link GreetingWindow#setStagePool}) у него задавать нельзя.
+     * @param capacity - максимальное количество сообщений в очереди.
+     * @param overflowPolicy - что делать с новым сообщением, если очередь заполнена.
+     * @throws IllegalArgumentException если {@code window == null}, у окна задан пул окон, {@code capacity <= 0} или 
+     * {@code overflowPolicy == null}.
+     */
+    public GreetingMessageQueue(GreetingWindow window, int capacity, OverflowPolicy overflowPolicy) {
+        if (window == null) throw new IllegalArgumentException("window == null");
+        if (window.getStagePool() != null) throw new IllegalArgumentException("window.getStagePool() != null");
+        this.window = window;
+        this.buffer = new MessageBuffer(capacity, overflowPolicy, () -> Platform.runLater(this::playNext));
+    }
+
+    /**
+     * Добавляет сообщение, не блокируя поток. Если очередь заполнена, поступает по {@link OverflowPolicy}.
+     * @param message - текст сообщения.
+     * @return {@code false}, если сообщение отброшено ({@link OverflowPolicy#DROP_NEWEST}) или очередь закрыта.
+     * @throws IllegalArgumentException если {@code message == null}.
+     */
+    public boolean offer(String message) {
+        if (message == null) throw new IllegalArgumentException("message == null");
+        return buffer.offer(message);
+    }
+
+    /**
+     * Добавляет сообщение, при заполненной очереди дожидаясь свободного места. Нельзя вызывать из потока JavaFX: место 
+     * освобождается именно в нём.
+     * @param message - текст сообщения.
+     * @throws IllegalArgumentException если {@code message == null}.
+     * @throws IllegalStateException если очередь закрыта.
+     * @throws InterruptedException если ожидание прервано.
+     */
+    public void put(String message) throws InterruptedException {
+        if (message == null) throw new IllegalArgumentException("message == null");
+        buffer.put(message);
+    }
+
+    /**
+     * Показывает следующую порцию сообщений или скрывает окно, если очередь пуста. Вызывается в потоке JavaFX.
+     */
+    private void playNext() {
+        current = null;
+        String text = buffer.pollBatch();
+        if (text == null) {
+            if (stage != null) stage.hide();
+            return;
+        }
+
+        if (stage == null) {
+            stage = window.createGreetingWindow();
+            textNode = window.getTextNode();
+        }
+        // Текст сообщения меняется только в окне очереди, настройки окна (GreetingWindow#getText) остаются прежними
+        window.showMessageText(textNode, text);
+        AnimationPlan plan = AnimationPlan.of(window, AnimaTarget.ONLY_TEXT, AnimaTarget.ONLY_TEXT, 
+            new int[] { 0, messageDisplayTimeInMills, 0 });
+        AnimationPlanPlayer player = new AnimationPlanPlayer(plan, new SimpleDoubleProperty(1), textNode.opacityProperty(), null);
+        player.start();
+
+        int frameRateCap = window.getFrameRateCap();
+        long total = plan.getTotalDurationInMills();
+        Animation animation = frameRateCap > 0 
+            ? new PlanPlayerTransition(player, 0, total, frameRateCap) 
+            : new PlanPlayerTransition(player, 0, total);
+        if (window.isEffectCaching()) GreetingWindowAnimation.cacheWhileRunning(animation, textNode);
+        animation.setOnFinished((event) -> this.playNext());
+        current = animation;
+
+        if (!stage.isShowing()) stage.show();
+        animation.play();
+    }
+
+    /**
+     * Закрывает очередь: отбрасывает ожидающие сообщения, останавливает показ и скрывает окно. Новые сообщения не 
+     * принимаются.
+     */
+    public void close() {
+        buffer.close();
+        Platform.runLater(() -> {
+            if (current != null) current.stop();
+            current = null;
+            if (stage != null) stage.hide();
+        });
+    }
+
+    /**
+     * Задаёт, сколько сообщений из очереди показывается за раз. Сообщения порции объединяются через 
+     * {@link GreetingMessageQueue#setMerger}.
+     * @param batchSize - максимальное количество сообщений за раз.
+     * @return этот же объект {@link GreetingMessageQueue}.
+     * @throws IllegalArgumentException если {@code batchSize <= 0}.
+     */
+    public GreetingMessageQueue setBatchSize(int batchSize) {
+        if (batchSize <= 0) throw new IllegalArgumentException("batchSize <= 0");
+        buffer.setBatchSize(batchSize);
+        return this;
+    }
+
+    public int getBatchSize() {
+        return buffer.getBatchSize();
+    }
+
+    /**
+     * Задаёт время показа каждого сообщения между появлением и исчезновением текста.
+     * @param time - время в миллисекундах.
+     * @return этот же объект {@link GreetingMessageQueue}.
+     * @throws IllegalArgumentException если {@code time < 0}.
+     */
+    public GreetingMessageQueue setMessageDisplayTimeInMills(int time) {
+        if (time < 0) throw new IllegalArgumentException("time < 0");
+        this.messageDisplayTimeInMills = time;
+        return this;
+    }
+
+    public int getMessageDisplayTimeInMills() {
+        return messageDisplayTimeInMills;
+    }
+
+    /**
+     * Задаёт, как объединяются два сообщения (при {@link OverflowPolicy#MERGE} и при показе порциями). По умолчанию 
+     * сообщения соединяются через перевод строки. Чтобы оставлять только последнее, можно передать {@code (a, b) -> b}.
+     * @param merger - функция объединения (более раннее сообщение, более позднее сообщение).
+     * @return этот же объект {@link GreetingMessageQueue}.
+     * @throws IllegalArgumentException если {@code merger == null}.
+     */
+    public GreetingMessageQueue setMerger(BinaryOperator<String> merger) {
+        if (merger == null) throw new IllegalArgumentException("merger == null");
+        buffer.setMerger(merger);
+        return this;
+    }
+
+    public BinaryOperator<String> getMerger() {
+        return buffer.getMerger();
+    }
+
+    /**
+     * @return количество сообщений, ожидающих показа.
+     */
+    public int size() {
+        return buffer.size();
+    }
+
+    public int getCapacity() {
+        return buffer.getCapacity();
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return buffer.getOverflowPolicy();
+    }
+
+    /**
+     * @return сколько сообщений отброшено из-за переполнения.
+     */
+    public long getDroppedCount() {
+        return buffer.getDroppedCount();
+    }
+
+    /**
+     * @return сколько сообщений объединено с предыдущими из-за переполнения.
+     */
+    public long getMergedCount() {
+        return buffer.getMergedCount();
+    }
+}
@@ -0,0 +1,175 @@
+package greetingwindow;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+/**
+ * Пул окон приветствия. Закрытые окна не выбрасываются, а сбрасываются и выдаются повторно, что избавляет от создания
+ * нового нативного окна и {@code Scene} на каждый показ.
+ *
+ * <p>Пул подключается через {@link GreetingWindow#setStagePool(GreetingStagePool)}, один пул можно разделять между
+ * несколькими объектами {@link GreetingWindow}. Окно возвращается в пул автоматически, когда оно скрывается. Если окно
+ * скрыли, пока идёт его цепочка анимаций, оно возвращается только после окончания цепочки, иначе анимации прежнего
+ * владельца меняли бы окно, уже выданное другому.
+ * Свободные окна, пролежавшие в пуле дольше {@code idleTimeoutInMills}, вытесняются. Стиль окна после создания изменить
+ * нельзя, поэтому окно выдаётся только тому, кому нужен такой же стиль (см. {@link WindowFadeMode}).
+ *
+ * <p>Как и сами окна JavaFX, пул можно использовать только из потока JavaFX.
+ */
+public class GreetingStagePool {
+
+    /**
+     * Количество свободных окон, хранимых по умолчанию.
+     */
+    public static final int DEFAULT_MAX_SIZE = 4;
+
+    /**
+     * Время простоя по умолчанию, после которого свободное окно вытесняется из пула.
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT_IN_MILLS = 60_000;
+
+    /**
+     * Максимальное количество свободных окон.
+     */
+    private final int maxSize;
+
+    /**
+     * Время простоя, после которого свободное окно вытесняется.
+     */
+    private final long idleTimeoutInMills;
+
+    /**
+     * Свободные окна. Последнее освобождённое окно лежит в начале.
+     */
+    private final ArrayDeque<PooledStage> idleStages = new ArrayDeque<PooledStage>();
+
+    /**
+     * Конструктор с параметрами по умолчанию.
+     */
+    public GreetingStagePool() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_IDLE_TIMEOUT_IN_MILLS);
+    }
+
+    /**
+     * Конструктор.
+     * @param maxSize - максимальное количество свободных окон в пуле.
+     * @param idleTimeoutInMills - время простоя, после которого свободное окно вытесняется.
+     * @throws IllegalArgumentException если {@code maxSize <= 0} или {@code idleTimeoutInMills <= 0}.
+     */
+    public GreetingStagePool(int maxSize, long idleTimeoutInMills) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize <= 0");
+        if (idleTimeoutInMills <= 0) throw new IllegalArgumentException("idleTimeoutInMills <= 0");
+        this.maxSize = maxSize;
+        this.idleTimeoutInMills = idleTimeoutInMills;
+    }
+
+    /**
+     * Забирает свободное окно нужного стиля из пула.
+     * @param style - стиль окна.
+     * @return свободное окно или {@code null}, если в пуле нет окон такого стиля.
+     */
+    PooledStage acquire(StageStyle style) {
+        this.evictIdle(System.nanoTime());
+        Iterator<PooledStage> iterator = idleStages.iterator();
+        while (iterator.hasNext()) {
+            PooledStage pooled = iterator.next();
+            if (pooled.stage.getStyle() != style) continue;
+            iterator.remove();
+            pooled.inUse = true;
+            pooled.animating = false;
+            pooled.releasePending = false;
+            return pooled;
+        }
+        return null;
+    }
+
+    /**
+     * Возвращает окно в пул. Если пул заполнен, окно просто отбрасывается. Если цепочка анимаций окна ещё идёт, возврат 
+     * откладывается до {@link GreetingStagePool#animationFinished}.
+     * @param pooled - окно, которое больше не показывается.
+     */
+    void release(PooledStage pooled) {
+        if (!pooled.inUse) return;
+        if (pooled.animating) {
+            pooled.releasePending = true;
+            return;
+        }
+        pooled.inUse = false;
+        pooled.releasePending = false;
+        pooled.releasedAtNanos = System.nanoTime();
+        this.evictIdle(pooled.releasedAtNanos);
+        if (idleStages.size() < maxSize) idleStages.addFirst(pooled);
+    }
+
+    /**
+     * Отмечает, что запущена цепочка анимаций окна: до её окончания окно не вернётся в пул.
+     * @param pooled - выданное окно.
+     */
+    void animationStarted(PooledStage pooled) {
+        if (pooled.inUse) pooled.animating = true;
+    }
+
+    /**
+     * Отмечает окончание цепочки анимаций окна и возвращает окно в пул, если его уже скрыли.
+     * @param pooled - выданное окно.
+     */
+    void animationFinished(PooledStage pooled) {
+        if (!pooled.animating) return;
+        pooled.animating = false;
+        if (pooled.releasePending) this.release(pooled);
+    }
+
+    /**
+     * Вытесняет окна, которые простаивают дольше допустимого.
+     * @param nowNanos - текущее время в наносекундах.
+     */
+    private void evictIdle(long nowNanos) {
+        long timeoutNanos = idleTimeoutInMills * 1_000_000L;
+        Iterator<PooledStage> iterator = idleStages.iterator();
+        while (iterator.hasNext()) {
+            if (nowNanos - iterator.next().releasedAtNanos > timeoutNanos) iterator.remove();
+        }
+    }
+
+    /**
+     * @return количество свободных окон в пуле.
+     */
+    public int getIdleCount() {
+        return idleStages.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getIdleTimeoutInMills() {
+        return idleTimeoutInMills;
+    }
+
+    /**
+     * Выбрасывает все свободные окна.
+     */
+    public void clear() {
+        idleStages.clear();
+    }
+
+    /**
+     * Окно из пула. Элемент с текстом берётся из корня его сцены.
+     */
+    static class PooledStage {
+        final GreetingStagePool pool;
+        final Stage stage;
+        private boolean inUse = true;
+        private boolean animating = false;
+        private boolean releasePending = false;
+        private long releasedAtNanos;
+
+        PooledStage(GreetingStagePool pool, Stage stage) {
+            this.pool = pool;
+            this.stage = stage;
+        }
+    }
+}
@@ -1,22 +1,37 @@
 package greetingwindow;
 
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import javafx.animation.Animation;
-import javafx.geometry.Pos;
+import javafx.application.Platform;
+import javafx.beans.value.WritableValue;
+import javafx.event.EventHandler;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
-import javafx.scene.control.Label;
 import javafx.scene.effect.DropShadow;
+import javafx.scene.effect.Effect;
 import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Scale;
+import javafx.stage.Screen;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
+import javafx.stage.WindowEvent;
 
 /**
  * Класс предоставляет функционал для создания и некоторой настройки простенького окна приветствия пользователя с анимацией.
@@ -40,68 +55,90 @@ public class GreetingWindow implements IAnimationWatcher {
     public static final String DEFAULT_ICON_PATH = "appIcon.png";
 
     /**
-     * Переменная хранит картинку для иконки.
+     * Высота полосы прогресса внизу окна, см. {@link GreetingWindow#setProgressBarEnabled}.
      */
-    private Image icon;
+    public static final double PROGRESS_BAR_HEIGHT = 4;
+
+    /**
+     * Ключ в свойствах элемента с картинкой текста, под которым хранится масштаб вывода экрана его окна.
+     */
+    private static final String SNAPSHOT_SCALE_KEY = "greetingwindow.snapshotScale";
+
+    /**
+     * Переменная хранит картинку для иконки (возможно, ещё загружающуюся в {@link IconCache}) или {@code null}.
+     */
+    private CompletableFuture<Image> icon;
 
     /**
      * Цвет фона окна.
      */
-    private Color _sceneBackgroundColor = Color.valueOf("#303030");
+    private Color _sceneBackgroundColor = GreetingWindowConfig.DEFAULTS.getSceneBackground();
 
     /**
      * Цвет текста.
      */
-    private Color _sceneTextColor = Color.valueOf("#fafafa");
+    private Color _sceneTextColor = GreetingWindowConfig.DEFAULTS.getTextColor();
 
     /**
      * Цвет тени текста.
      */
-    private Color _sceneTextShadowColor = Color.web("#ffffff", 0.5);
+    private Color _sceneTextShadowColor = GreetingWindowConfig.DEFAULTS.getTextShadowColor();
 
     /**
      * Текст окна приветствия.
      */
-    private String _greetingText = "Greeting";
+    private String _greetingText = GreetingWindowConfig.DEFAULTS.getText();
 
     /**
      * Время появления окна в миллисекундах.
      */
-    private int _timeOfWindowAppearanceInMills = 1000;
+    private int _timeOfWindowAppearanceInMills = GreetingWindowConfig.DEFAULTS.getTimeOfWindowAppearanceInMills();
 
     /**
      * Время исчезновения окна в миллисекундах.
      */
-    private int _timeOfWindowDisappearanceInMills = 1000;
+    private int _timeOfWindowDisappearanceInMills = GreetingWindowConfig.DEFAULTS.getTimeOfWindowDisappearanceInMills();
 
     /**
      * Время появления текста в миллисекундах.
      */
-    private int _timeOfTextAppearanceInMills = 2000;
+    private int _timeOfTextAppearanceInMills = GreetingWindowConfig.DEFAULTS.getTimeOfTextAppearanceInMills();
 
     /**
      * Время исчезновения текста в миллисекундах.
      */
-    private int _timeOfTextDisappearanceInMills = 1000;
+    private int _timeOfTextDisappearanceInMills = GreetingWindowConfig.DEFAULTS.getTimeOfTextDisappearanceInMills();
 
     /**
      * Нужно ли закрывать окно после завершения всех анимаций. Если анимаций нет - окно закрыто не будет.
      */
-    public boolean _needToCloseStageAtEndOfAnimation = true;
+    public boolean _needToCloseStageAtEndOfAnimation = GreetingWindowConfig.DEFAULTS.isCloseStageAtEndOfAnimation();
 
     /**
      * Включает свечение текста.
-     * Внимание! Лучше не использовать вместе с анимацией появления/исчезновения текста - анимация будет подвисать!
+     * На время анимации появления/исчезновения текста тень кэшируется, чтобы не пересчитывать размытие в каждом кадре 
+     * (см. {@link GreetingWindow#setEffectCaching}). Без кэширования анимация с тенью будет подвисать!
      */
-    public boolean enableShadowOnText = false;
+    public boolean enableShadowOnText = GreetingWindowConfig.DEFAULTS.isShadowOnText();
 
     /**
      * Спискок подписанных наблюдателей, которые будут вызваны, когда анимация закончится. 
      * <p>Можно добавить наблюдателя после создания готового окна приветствия, потому что глубоко внутри к окончанию
      * последней анимации привязывается ссылка на объект {@link GreetingWindow}, а он уже оповещает всех наблюдателей.
-     * <p>
+     * <p>Список потокобезопасен: это представление реестра наблюдателей, добавлять и удалять наблюдателей можно из любого 
+     * потока, в том числе во время уведомления. Добавленные через список наблюдатели вызываются в потоке JavaFX, 
+     * регистрация с выбором политики и отпиской - {@link GreetingWindow#registerObserver}.
+     * <p><b>Несовместимое изменение:</b> раньше поле имело тип {@code ArrayList<IAnimationWatcher>}. Код, который
+     * обращается к полю, нужно перекомпилировать (иначе {@link NoSuchFieldError}), а код, который присваивает его
+     * переменной типа {@code ArrayList} или вызывает методы, которых нет в {@link List} (например, 
+     * {@code ensureCapacity}), - поправить.
      */
-    public final ArrayList<IAnimationWatcher> observersList;
+    public final List<IAnimationWatcher> observersList;
+
+    /**
+     * Реестр наблюдателей вместе с политиками уведомления.
+     */
+    private final ObserverDispatcher observerDispatcher = new ObserverDispatcher();
 
     /**
      * Окно приветствия.
@@ -109,40 +146,201 @@ public class GreetingWindow implements IAnimationWatcher {
     private Stage stage;
 
     /**
-     * Элемент с текстом приветствия.
+     * Окна на всех экранах, если они созданы через {@link GreetingWindow#createStagesOnAllScreens}, иначе пустой список.
+     * Первое из них - {@link GreetingWindow#stage}.
+     */
+    private List<Stage> screenStages = List.of();
+
+    /**
+     * Элемент с текстом приветствия, прозрачность которого анимируется: {@code Label}, {@code Text} или картинка с текстом
+     * (см. {@link TextRenderMode}).
+     */
+    private Node textNode;
+
+    /**
+     * Чем отрисовывается текст приветствия.
+     */
+    private TextRenderMode textRenderMode = GreetingWindowConfig.DEFAULTS.getTextRenderMode();
+
+    /**
+     * Как анимируется прозрачность окна.
+     */
+    private WindowFadeMode windowFadeMode = GreetingWindowConfig.DEFAULTS.getWindowFadeMode();
+
+    /**
+     * Семейство, насыщенность и размер шрифта текста.
+     */
+    private String fontFamily = GreetingWindowConfig.DEFAULTS.getFontFamily();
+    private FontWeight fontWeight = GreetingWindowConfig.DEFAULTS.getFontWeight();
+    private double fontSize = GreetingWindowConfig.DEFAULTS.getFontSize();
+
+    /**
+     * Файл шрифта текста (путь к ресурсу или URL). Если задан, используется вместо {@link GreetingWindow#fontFamily}.
      */
-    private Label greeting;
+    private String fontResource = GreetingWindowConfig.DEFAULTS.getFontResource();
+
+    /**
+     * Ограничение частоты кадров анимаций, 0 - без ограничения.
+     */
+    private int frameRateCap = GreetingWindowConfig.DEFAULTS.getFrameRateCap();
+
+    /**
+     * Последние опубликованные текст и прогресс, см. {@link GreetingWindow#publishText}.
+     */
+    private final LiveUpdateChannel liveUpdates = new LiveUpdateChannel();
+
+    /**
+     * Показывать ли полосу прогресса внизу окна.
+     */
+    private boolean progressBarEnabled = GreetingWindowConfig.DEFAULTS.isProgressBarEnabled();
+
+    /**
+     * Счётчик фактической частоты кадров последней созданной анимации.
+     */
+    private FrameRateMeter frameRateMeter;
 
     private String titleName = "Greeting Window";
 
     /**
-     * Конструктор по умолчанию. Загружает иконку по умолчанию.
+     * Задачи запуска приложения, выполняемые во время анимации. Может быть {@code null}.
+     */
+    private StartupTaskScheduler startupTasks;
+
+    /**
+     * Сигнал готовности приложения, которого ждёт фаза исчезновения. Может быть {@code null}.
+     */
+    private CompletableFuture<?> readySignal;
+
+    /**
+     * Подстройка времени показа по прошлым запускам или {@code null}.
+     */
+    private AdaptiveTiming adaptiveTiming;
+
+    /**
+     * Пул, из которого берутся и в который возвращаются окна. Может быть {@code null} - тогда окно создаётся каждый раз заново.
+     */
+    private GreetingStagePool stagePool;
+
+    /**
+     * Окно из пула, которое сейчас принадлежит этому объекту, или {@code null}, если пул не используется.
+     */
+    private GreetingStagePool.PooledStage pooledStage;
+
+    /**
+     * Сворачивать ли цепочку анимаций в единый {@code Timeline} с ключевыми кадрами на абсолютных смещениях.
+     */
+    private boolean compiledAnimation = GreetingWindowConfig.DEFAULTS.isCompiledAnimation();
+
+    /**
+     * Кэшировать ли текст с эффектом (тенью) в растровое изображение на время анимации прозрачности текста.
+     */
+    private boolean effectCaching = GreetingWindowConfig.DEFAULTS.isEffectCaching();
+
+    /**
+     * Получатель сводки по времени кадров. Если {@code null}, кадры не записываются.
+     */
+    private Consumer<FrameTimingSummary> frameTimingListener;
+
+    /**
+     * Запись времени кадров для последней созданной анимации.
+     */
+    private FrameTimingRecorder frameTimingRecorder;
+
+    /**
+     * Получатель сводки {@link GreetingWindow#frameTimingRecorder}: {@link GreetingWindow#frameTimingListener} на момент
+     * создания анимации.
+     */
+    private Consumer<FrameTimingSummary> frameTimingRecorderListener;
+
+    /**
+     * Момент запуска первой анимации ({@link System#nanoTime()}) для {@link GreetingWindowMetrics}. 0, если не замерялся.
+     */
+    private long animationStartedAtNanos;
+
+    /**
+     * Конструктор по умолчанию. Берёт иконку по умолчанию из {@link IconCache} (загрузка идёт в фоне, не блокирует поток и
+     * не требует запущенного JavaFX) и запускает фоновую загрузку шрифта по умолчанию в {@link FontCache}.
      */
     public GreetingWindow() {
+        GreetingWindowEvents.WindowConstruction event = GreetingWindowEvents.isRecorderInitialized() 
+            ? new GreetingWindowEvents.WindowConstruction() : null;
+        if (event != null) event.begin();
         System.setProperty("prism.lcdtext", "false");
-        InputStream iconStream = getClass().getResourceAsStream(GreetingWindow.DEFAULT_ICON_PATH);
-        if (iconStream != null) this.icon = new Image(iconStream);
+        // Шрифт ставится в очередь загрузчика раньше иконки: он нужен при построении сцены, а иконка добавляется к окну,
+        // когда будет готова
+        FontCache.preload(this.fontFamily, this.fontWeight, this.fontSize);
+        this.icon = IconCache.get(GreetingWindow.DEFAULT_ICON_PATH);
 
-        observersList = new ArrayList<IAnimationWatcher>();
+        observersList = this.observerDispatcher.asList();
+        if (event != null) {
+            event.title = this.titleName;
+            event.commit();
+        }
     }
 
     public GreetingWindow(String titleName) {
         this.titleName = titleName;
+        GreetingWindowEvents.WindowConstruction event = GreetingWindowEvents.isRecorderInitialized() 
+            ? new GreetingWindowEvents.WindowConstruction() : null;
+        if (event != null) event.begin();
         System.setProperty("prism.lcdtext", "false");
-        InputStream iconStream = getClass().getResourceAsStream(GreetingWindow.DEFAULT_ICON_PATH);
-        if (iconStream != null) this.icon = new Image(iconStream);
+        // Шрифт ставится в очередь загрузчика раньше иконки: он нужен при построении сцены, а иконка добавляется к окну,
+        // когда будет готова
+        FontCache.preload(this.fontFamily, this.fontWeight, this.fontSize);
+        this.icon = IconCache.get(GreetingWindow.DEFAULT_ICON_PATH);
 
-        observersList = new ArrayList<IAnimationWatcher>();
+        observersList = this.observerDispatcher.asList();
+        if (event != null) {
+            event.title = this.titleName;
+            event.commit();
+        }
     }
 
     /** {@inheritDoc} */
     @Override 
     public void invokeAfterAnimation() {
-        for (IAnimationWatcher observer : observersList) {
-            if (observer == null) continue;
-            observer.invokeAfterAnimation();
+        if (this.pooledStage != null) this.pooledStage.pool.animationFinished(this.pooledStage);
+        try {
+            this.publishFrameTimingSummary();
+        } finally {
+            this.dispatchObserversAndClose();
+        }
+    }
+
+    /**
+     * Останавливает запись времени кадров, если она шла, и передаёт сводку получателю, заданному при создании анимации.
+     */
+    private void publishFrameTimingSummary() {
+        if (this.frameTimingRecorder == null) return;
+        FrameTimingSummary summary = this.frameTimingRecorder.stopAndSummarize();
+        Consumer<FrameTimingSummary> listener = this.frameTimingRecorderListener;
+        this.frameTimingRecorder = null;
+        this.frameTimingRecorderListener = null;
+        listener.accept(summary);
+    }
+
+    /**
+     * Уведомляет наблюдателей и закрывает окна, если это нужно. Выполняется, даже если получатель сводки по кадрам 
+     * выбросил исключение, иначе окно осталось бы на экране.
+     */
+    private void dispatchObserversAndClose() {
+        boolean metrics = GreetingWindowMetrics.isEnabled();
+        long dispatchStartedAt = metrics ? System.nanoTime() : 0;
+        if (metrics && this.animationStartedAtNanos != 0) {
+            GreetingWindowMetrics.getInstance().animationFinished(dispatchStartedAt - this.animationStartedAtNanos);
+            this.animationStartedAtNanos = 0;
+        }
+        this.observerDispatcher.dispatchBackground();
+        this.observerDispatcher.dispatchOnFxThread();
+        if (metrics) GreetingWindowMetrics.getInstance().observersDispatched(System.nanoTime() - dispatchStartedAt);
+        if (metrics && this.frameRateMeter != null) GreetingWindowMetrics.getInstance().frameRateMeasured(this.frameRateMeter.getFrameRate());
+        if (this._needToCloseStageAtEndOfAnimation) {
+            for (Stage shown : this.screenStages.isEmpty() ? List.of(this.stage) : this.screenStages) {
+                if (!shown.isShowing()) continue;
+                shown.close();
+                if (metrics) GreetingWindowMetrics.getInstance().windowForceClosed();
+            }
         }
-        if (this._needToCloseStageAtEndOfAnimation & stage.isShowing()) stage.close();
     }
 
     /**
@@ -177,8 +375,21 @@ public class GreetingWindow implements IAnimationWatcher {
      * @return готовое окно, которое осталось только вывести пользователю (через {@link Stage#show()}).
      */
     public Stage createStageWithAnimationOnShowing(AnimaTarget appearance, AnimaTarget disappearance, int[] delaysInMills) {
+        return this.createStageWithAnimationOnShowing(this.createPlan(appearance, disappearance, delaysInMills));
+    }
+
+    /**
+     * Метод создания окна с вшитой на событие появления анимацией по заранее рассчитанному плану.
+     * @param plan - план анимации, см. {@link AnimationPlan#of}.
+     * @return готовое окно, которое осталось только вывести пользователю (через {@link Stage#show()}).
+     * @throws IllegalArgumentException если {@code plan == null}.
+     */
+    public Stage createStageWithAnimationOnShowing(AnimationPlan plan) {
+        if (plan == null) throw new IllegalArgumentException("plan == null");
+        long requestedAt = GreetingWindowMetrics.isEnabled() ? System.nanoTime() : 0;
         this.stage = this.createGreetingWindow();
-        Animation firstAnimation = this.createAnimation(appearance, disappearance, delaysInMills);
+        if (requestedAt != 0) GreetingWindowMetrics.trackFirstFrame(this.stage, requestedAt);
+        Animation firstAnimation = this.createAnimation(plan);
         if (firstAnimation != null)
             this.stage.setOnShowing((event) -> firstAnimation.play());
         return stage;
@@ -199,12 +410,67 @@ public class GreetingWindow implements IAnimationWatcher {
     }
 
     /**
-     * Метод создаёт окно без анимаций.
+     * Метод создаёт окно без анимаций. Если задан пул окон ({@link GreetingWindow#setStagePool}), то сначала 
+     * пытается взять и перенастроить свободное окно из пула.
      * @return окно приветствия.
      */
     public Stage createGreetingWindow() {
-        Scene scene = this.prepareScene();
+        GreetingWindowEvents.ScenePreparation event = GreetingWindowEvents.isRecorderInitialized() 
+            ? new GreetingWindowEvents.ScenePreparation() : null;
+        if (event != null) event.begin();
+        this.screenStages = List.of();
+        this.pooledStage = null;
+        if (this.stagePool != null) {
+            GreetingStagePool.PooledStage pooled = this.stagePool.acquire(this.stageStyle());
+            if (pooled != null) {
+                this.reusePooledStage(pooled);
+                this.pooledStage = pooled;
+                if (GreetingWindowMetrics.isEnabled()) GreetingWindowMetrics.windowCreated(this.stage, false);
+                if (event != null) {
+                    event.pooled = true;
+                    event.commit();
+                }
+                return this.stage;
+            }
+        }
+
+        Scene scene = this.prepareScene(Screen.getPrimary());
         this.stage = this.prepareStage(scene);
+        if (this.stagePool != null) {
+            GreetingStagePool.PooledStage pooled = new GreetingStagePool.PooledStage(this.stagePool, this.stage);
+            this.stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, (hidden) -> pooled.pool.release(pooled));
+            this.pooledStage = pooled;
+        }
+        if (GreetingWindowMetrics.isEnabled()) GreetingWindowMetrics.windowCreated(this.stage, true);
+        if (event != null) event.commit();
+        return this.stage;
+    }
+
+    /**
+     * Метод сбрасывает окно из пула к текущим настройкам (прозрачность, текст, цвета, эффект) и делает его текущим.
+     * Элемент с текстом переиспользуется, если он подходит к текущему режиму отрисовки, иначе корень сцены создаётся заново.
+     * @param pooled - свободное окно из пула.
+     * @return окно приветствия.
+     */
+    private Stage reusePooledStage(GreetingStagePool.PooledStage pooled) {
+        this.stage = pooled.stage;
+        Scene scene = this.stage.getScene();
+
+        boolean reused = this.textRenderMode == TextRenderMode.LABEL && this.windowFadeMode == WindowFadeMode.STAGE_OPACITY 
+            && !this.progressBarEnabled
+            && GreetingLabels.reuse(scene.getRoot(), this._greetingText, this.greetingFont(), this._sceneTextColor, this.createTextShadow());
+        if (reused) {
+            this.textNode = scene.getRoot();
+            this.installLiveUpdates(scene.getRoot(), null);
+        }
+        else scene.setRoot(this.createSceneRoot(Screen.getPrimary()));
+        this.applySceneFill(scene);
+
+        this.stage.setOnShowing(null);
+        this.stage.setOnShown(null);
+        this.stage.setOpacity(1);
+        this.stage.getIcons().clear();
+        this.applyStageSettings(this.stage);
         return this.stage;
     }
 
@@ -226,13 +492,169 @@ public class GreetingWindow implements IAnimationWatcher {
      * @return первая анимация, которая запустит другие.
      */
     public Animation createAnimation(AnimaTarget appearance, AnimaTarget disappearance, int[] delaysInMills) {
+        return this.createAnimation(this.createPlan(appearance, disappearance, delaysInMills));
+    }
+
+    /**
+     * Метод привязывает заранее рассчитанный план анимации к окну и возвращает первую анимацию, так как она запустит все другие.
+     * Длительности анимаций берутся из плана, а не из настроек этого объекта.
+     * @param plan - план анимации, см. {@link AnimationPlan#of}.
+     * @return первая анимация, которая запустит другие, или {@code null}, если в плане нет анимаций.
+     * @throws IllegalArgumentException если {@code plan == null}.
+     */
+    public Animation createAnimation(AnimationPlan plan) {
+        if (plan == null) throw new IllegalArgumentException("plan == null");
         if (stage == null) createGreetingWindow();
-        GreetingWindowAnimation animaAssistant = new GreetingWindowAnimation(this, this.stage, this.greeting, this);
-        List<Animation> animaSeq = animaAssistant.createAnimationSequence(appearance, disappearance, delaysInMills);
+        GreetingWindowAnimation animaAssistant = new GreetingWindowAnimation(this, this.stage, this.textNode, this);
+        animaAssistant.setStartupTasks(this.startupTasks);
+        animaAssistant.setReadySignal(this.readySignal);
+        this.frameRateMeter = new FrameRateMeter();
+        animaAssistant.setFrameRateMeter(this.frameRateMeter);
+        List<Animation> animaSeq = this.compiledAnimation 
+            ? animaAssistant.compileAnimationSequence(plan) 
+            : animaAssistant.createAnimationSequence(plan);
         Animation firstAnimation = animaAssistant.connectAnimationsEachAfterPrev(animaSeq);
+        this.attachAnimationMetrics(firstAnimation);
+        if (firstAnimation != null && this.pooledStage != null) {
+            // Пока идёт цепочка, окно не вернётся в пул, даже если его скроют (см. GreetingWindow#invokeAfterAnimation)
+            GreetingStagePool.PooledStage pooled = this.pooledStage;
+            firstAnimation.statusProperty().addListener((observable, oldStatus, newStatus) -> {
+                if (newStatus == Animation.Status.RUNNING) pooled.pool.animationStarted(pooled);
+            });
+        }
         return firstAnimation;
     }
 
+    /**
+     * Метод рассчитывает план по длительностям этого окна. Если задана подстройка времени показа 
+     * ({@link GreetingWindow#setAdaptiveTiming}), задержка удержания подбирается по прошлым запускам.
+     * @param appearance - для каких элементов необходимо создать анимации появления.
+     * @param disappearance - для каких элементов необходимо создать анимации исчезновения.
+     * @param delaysInMills - задержки анимаций.
+     * @return готовый план.
+     */
+    AnimationPlan createPlan(AnimaTarget appearance, AnimaTarget disappearance, int[] delaysInMills) {
+        AnimationPlan plan = AnimationPlan.of(this, appearance, disappearance, delaysInMills);
+        return this.adaptiveTiming != null ? this.adaptiveTiming.adapt(plan) : plan;
+    }
+
+    /**
+     * Метод подключает к первой анимации запись времени кадров и метрики, если они включены, а также отметку начала 
+     * анимации для подстройки времени показа.
+     * @param firstAnimation - первая анимация цепочки, может быть {@code null}.
+     */
+    private void attachAnimationMetrics(Animation firstAnimation) {
+        if (firstAnimation != null && this.adaptiveTiming != null) {
+            AdaptiveTiming timing = this.adaptiveTiming;
+            CompletableFuture<?> ready = this.readySignal;
+            firstAnimation.statusProperty().addListener((observable, oldStatus, newStatus) -> {
+                if (newStatus != Animation.Status.RUNNING) return;
+                timing.splashStarted();
+                if (ready != null) ready.whenComplete((result, error) -> timing.ready());
+            });
+        }
+        if (firstAnimation != null && this.frameTimingListener != null) this.attachFrameTimingRecorder(firstAnimation, this.frameTimingListener);
+        if (firstAnimation != null && GreetingWindowMetrics.isEnabled()) {
+            firstAnimation.statusProperty().addListener((observable, oldStatus, newStatus) -> {
+                if (newStatus == Animation.Status.RUNNING && this.animationStartedAtNanos == 0) 
+                    this.animationStartedAtNanos = System.nanoTime();
+            });
+        }
+    }
+
+    /**
+     * Метод создаёт по окну приветствия на каждом экране ({@link Screen#getScreens()}) с общей анимацией, которая 
+     * запустится при показе первого окна. Все окна ведёт одна анимация, поэтому они меняются синхронно, а наблюдатели 
+     * уведомляются один раз. Если нужно закрыть окна после анимации, закрываются все.
+     *
+     * <p>Окна создаются заново, пул окон ({@link GreetingWindow#setStagePool}) не используется. Первое окно в списке - окно 
+     * основного экрана.
+     * @param appearance - для каких элементов необходимо создать анимации появления.
+     * @param disappearance - для каких элементов необходимо создать анимации исчезновения.
+     * @param delaysInMills - задержки анимаций.
+     * @return окна, которые осталось только вывести пользователю (через {@link Stage#show()}).
+     */
+    public List<Stage> createStagesOnAllScreens(AnimaTarget appearance, AnimaTarget disappearance, int[] delaysInMills) {
+        return this.createStagesOnAllScreens(this.createPlan(appearance, disappearance, delaysInMills));
+    }
+
+    /**
+     * Метод создаёт по окну приветствия на каждом экране с общей анимацией по заранее рассчитанному плану.
+     * @see GreetingWindow#createStagesOnAllScreens(AnimaTarget, AnimaTarget, int[])
+     * @param plan - план анимации, см. {@link AnimationPlan#of}.
+     * @return окна, которые осталось только вывести пользователю (через {@link Stage#show()}).
+     * @throws IllegalArgumentException если {@code plan == null}.
+     */
+    public List<Stage> createStagesOnAllScreens(AnimationPlan plan) {
+        if (plan == null) throw new IllegalArgumentException("plan == null");
+        List<Screen> screens = new ArrayList<Screen>(Screen.getScreens());
+        // Основной экран первым, чтобы от его окна запускалась анимация
+        screens.remove(Screen.getPrimary());
+        screens.add(0, Screen.getPrimary());
+
+        List<Stage> stages = new ArrayList<Stage>(screens.size());
+        List<WritableValue<Number>> windowOpacity = new ArrayList<WritableValue<Number>>(screens.size());
+        List<Node> texts = new ArrayList<Node>(screens.size());
+        for (Screen screen : screens) {
+            Scene scene = this.prepareScene(screen);
+            Stage screenStage = this.prepareStage(scene);
+            GreetingWindow.centerOnScreen(screenStage, screen);
+            stages.add(screenStage);
+            windowOpacity.add(this.windowFadeMode == WindowFadeMode.SCENE_ROOT 
+                ? scene.getRoot().opacityProperty() : screenStage.opacityProperty());
+            texts.add(this.textNode);
+            if (GreetingWindowMetrics.isEnabled()) GreetingWindowMetrics.windowCreated(screenStage, true);
+        }
+        this.stage = stages.get(0);
+        this.screenStages = List.copyOf(stages);
+        this.pooledStage = null;
+
+        this.frameRateMeter = new FrameRateMeter();
+        Animation firstAnimation = MultiScreenAnimation.create(this, plan, windowOpacity, texts, this, 
+            this.startupTasks, this.readySignal, this.frameRateMeter);
+        this.attachAnimationMetrics(firstAnimation);
+        if (firstAnimation != null) this.stage.setOnShowing((event) -> firstAnimation.play());
+        return this.screenStages;
+    }
+
+    /**
+     * Метод ставит окно по центру видимой области экрана.
+     * @param stage - окно с уже заданными размерами.
+     * @param screen - экран.
+     */
+    private static void centerOnScreen(Stage stage, Screen screen) {
+        Rectangle2D bounds = screen.getVisualBounds();
+        stage.setX(bounds.getMinX() + (bounds.getWidth() - stage.getWidth()) / 2);
+        stage.setY(bounds.getMinY() + (bounds.getHeight() - stage.getHeight()) / 2);
+    }
+
+    /**
+     * Метод запускает запись времени кадров вместе с первой анимацией. Сводка публикуется в 
+     * {@link GreetingWindow#invokeAfterAnimation()}. Запись прекращается, когда окно скрыто, а запись прошлой цепочки, 
+     * если она ещё идёт, останавливается сразу, иначе её {@link javafx.animation.AnimationTimer} остался бы в пульсе 
+     * JavaFX навсегда.
+     * @param firstAnimation - первая анимация цепочки.
+     * @param listener - получатель сводки. Сохраняется вместе с записью, поэтому последующий
+     * {@link GreetingWindow#setFrameTimingListener} на эту цепочку не влияет.
+     */
+    private void attachFrameTimingRecorder(Animation firstAnimation, Consumer<FrameTimingSummary> listener) {
+        if (this.frameTimingRecorder != null) this.frameTimingRecorder.stop();
+        FrameTimingRecorder recorder = new FrameTimingRecorder();
+        this.frameTimingRecorder = recorder;
+        this.frameTimingRecorderListener = listener;
+        firstAnimation.statusProperty().addListener((observable, oldStatus, newStatus) -> {
+            if (newStatus == Animation.Status.RUNNING && this.frameTimingRecorder == recorder) recorder.start();
+        });
+        Stage recorded = this.stage;
+        recorded.addEventHandler(WindowEvent.WINDOW_HIDDEN, new EventHandler<WindowEvent>() {
+            @Override
+            public void handle(WindowEvent hidden) {
+                recorder.stop();
+                recorded.removeEventHandler(WindowEvent.WINDOW_HIDDEN, this);
+            }
+        });
+    }
+
     /**
      * Метод создаёт цепочку из анимаций для окна и возвращает первую анимацию, так как она запустит все другие.
      * @param appearance - для каких элементов необходимо создать анимации появления.
@@ -253,59 +675,264 @@ public class GreetingWindow implements IAnimationWatcher {
      */
     private Stage prepareStage(Scene scene) {
         Stage stage = new Stage();
-        stage.initStyle(StageStyle.UNDECORATED);
+        stage.initStyle(this.stageStyle());
+        this.applyStageSettings(stage);
+        LiveUpdateChannel.attach(stage);
 
+        stage.setScene(scene);
+        return stage;
+    }
+
+    /**
+     * Метод задаёт размеры, положение, иконку и заголовок окна.
+     * @param stage - настраиваемое окно.
+     */
+    private void applyStageSettings(Stage stage) {
         stage.setMinWidth(200);
         stage.setMinHeight(100);
         stage.setWidth(800);
         stage.setHeight(500);
         stage.centerOnScreen();
 
-        if (this.icon != null) stage.getIcons().add(this.icon);
+        this.applyIcon(stage);
         stage.setTitle(this.titleName);
+    }
 
-        stage.setScene(scene);
-        return stage;
+    /**
+     * Метод задаёт окну иконку: сразу, если она уже загружена, иначе - в потоке JavaFX по окончании загрузки, если к тому
+     * времени у окна не появилась другая иконка.
+     * @param stage - настраиваемое окно.
+     */
+    private void applyIcon(Stage stage) {
+        CompletableFuture<Image> pending = this.icon;
+        if (pending == null) return;
+        if (pending.isDone()) {
+            Image loaded = GreetingWindow.loadedIcon(pending);
+            if (loaded != null) stage.getIcons().add(loaded);
+            return;
+        }
+        pending.thenAccept((loaded) -> Platform.runLater(() -> {
+            if (this.icon == pending && stage.getIcons().isEmpty()) stage.getIcons().add(loaded);
+        }));
+    }
+
+    /**
+     * @param pending - загружающаяся иконка.
+     * @return иконка, если она загружена, или {@code null}, если загрузка не удалась.
+     */
+    private static Image loadedIcon(CompletableFuture<Image> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            return null;
+        }
     }
 
     /**
      * Метод создаёт сцену и настраивает её.
+     * @param screen - экран, на котором будет показано окно.
      * @return настроенный объект {@code Scene}
      */
-    private Scene prepareScene() {
-        Scene scene = new Scene(this.configureGreetingText());
-        scene.setFill(this._sceneBackgroundColor);
+    private Scene prepareScene(Screen screen) {
+        Scene scene = new Scene(this.createSceneRoot(screen));
+        this.applySceneFill(scene);
         return scene;
     }
 
+    /**
+     * @return стиль окна: в режиме {@link WindowFadeMode#SCENE_ROOT} окно должно быть прозрачным.
+     */
+    private StageStyle stageStyle() {
+        return this.windowFadeMode == WindowFadeMode.SCENE_ROOT ? StageStyle.TRANSPARENT : StageStyle.UNDECORATED;
+    }
+
+    /**
+     * Метод задаёт заливку сцены. В режиме {@link WindowFadeMode#SCENE_ROOT} фон рисует корень сцены, а сама сцена прозрачна.
+     * @param scene - сцена окна.
+     */
+    private void applySceneFill(Scene scene) {
+        scene.setFill(this.windowFadeMode == WindowFadeMode.SCENE_ROOT ? Color.TRANSPARENT : this._sceneBackgroundColor);
+    }
+
+    /**
+     * Метод создаёт корень сцены с текстом в соответствии с режимом отрисовки ({@link GreetingWindow#setTextRenderMode}).
+     * В режиме {@link WindowFadeMode#SCENE_ROOT} текст оборачивается в панель с фоном окна, прозрачность которой и 
+     * анимируется вместо прозрачности окна. Если включена полоса прогресса, она добавляется поверх текста внизу окна.
+     * @param screen - экран, на котором будет показано окно.
+     * @return корень сцены.
+     */
+    private Parent createSceneRoot(Screen screen) {
+        Parent content;
+        switch (this.textRenderMode) {
+            case RASTERIZED:
+                content = this.configureRasterizedText(screen.getOutputScaleX());
+                break;
+            case LIGHTWEIGHT:
+                content = this.configureLightweightText();
+                break;
+            default:
+                content = this.configureGreetingText();
+        }
+        if (this.windowFadeMode != WindowFadeMode.SCENE_ROOT && !this.progressBarEnabled) {
+            this.installLiveUpdates(content, null);
+            return content;
+        }
+
+        StackPane windowRoot = new StackPane(content);
+        if (this.windowFadeMode == WindowFadeMode.SCENE_ROOT) 
+            windowRoot.setBackground(new Background(new BackgroundFill(this._sceneBackgroundColor, null, null)));
+        Scale progressScale = this.progressBarEnabled ? this.addProgressBar(windowRoot) : null;
+        this.installLiveUpdates(windowRoot, progressScale);
+        return windowRoot;
+    }
+
+    /**
+     * Метод добавляет внизу панели полосу прогресса. Полоса не участвует в разметке, а прогресс задаётся масштабом по 
+     * горизонтали, так что его изменение не вызывает пересчёта разметки.
+     * @param windowRoot - корень сцены.
+     * @return масштаб полосы, {@code x} которого равен прогрессу.
+     */
+    private Scale addProgressBar(StackPane windowRoot) {
+        Rectangle bar = new Rectangle(0, PROGRESS_BAR_HEIGHT, this._sceneTextColor);
+        bar.setManaged(false);
+        bar.widthProperty().bind(windowRoot.widthProperty());
+        bar.layoutYProperty().bind(windowRoot.heightProperty().subtract(PROGRESS_BAR_HEIGHT));
+        Scale progressScale = new Scale(0, 1, 0, 0);
+        bar.getTransforms().add(progressScale);
+        windowRoot.getChildren().add(bar);
+        return progressScale;
+    }
+
+    /**
+     * Метод подключает к корню сцены применение опубликованных текста и прогресса (см. {@link GreetingWindow#publishText}).
+     * @param root - корень сцены.
+     * @param progressScale - масштаб полосы прогресса или {@code null}, если полосы нет.
+     */
+    private void installLiveUpdates(Parent root, Scale progressScale) {
+        Node text = this.textNode;
+        new LiveUpdateChannel.Applier(this.liveUpdates, (value) -> this.applyText(text, value), progressScale).install(root);
+    }
+
     /**
      * Метод создаёт и настраивает выводимый текст, по необходимости добавляет тень.
      * @return настроенный объект {@code Label}
      */
-    private Label configureGreetingText() {
-        this.greeting = new Label(this._greetingText);
-        greeting.setFont(Font.font("Arial", FontWeight.BOLD, 50));
-        greeting.setTextFill(this._sceneTextColor);
-        greeting.setBackground(new Background(new BackgroundFill(Color.TRANSPARENT, null, null)));
-        greeting.setAlignment(Pos.CENTER);
-        if (this.enableShadowOnText) this.configureLabelShadow(greeting);
+    private Parent configureGreetingText() {
+        Parent label = GreetingLabels.create(this._greetingText, this.greetingFont(), this._sceneTextColor, this.createTextShadow());
+        this.textNode = label;
+        return label;
+    }
+
+    /**
+     * Метод создаёт текст в виде {@link Text} по центру панели, без элементов управления и их стилей.
+     * @return корень сцены с текстом.
+     */
+    private Parent configureLightweightText() {
+        Text text = this.createGreetingText();
+        this.textNode = text;
+        return new StackPane(text);
+    }
+
+    /**
+     * Метод создаёт и настраивает текст в виде {@link Text}, по необходимости добавляет тень.
+     * @return настроенный объект {@code Text}.
+     */
+    private Text createGreetingText() {
+        return this.createGreetingText(this._greetingText);
+    }
+
+    /**
+     * Метод создаёт и настраивает заданный текст в виде {@link Text}.
+     * @param value - текст.
+     * @return настроенный объект {@code Text}.
+     */
+    private Text createGreetingText(String value) {
+        Text text = new Text(value);
+        text.setFont(this.greetingFont());
+        text.setFill(this._sceneTextColor);
+        text.setEffect(this.createTextShadow());
+        return text;
+    }
+
+    /**
+     * Метод создаёт картинку с текстом (из {@link TextSnapshotCache}) по центру окна.
+     * @param scale - масштаб вывода экрана, на котором будет показано окно.
+     * @return корень сцены с картинкой.
+     */
+    private Parent configureRasterizedText(double scale) {
+        ImageView view = new ImageView();
+        view.setSmooth(false);
+        view.getProperties().put(SNAPSHOT_SCALE_KEY, scale);
+        this.showTextSnapshot(view, this._greetingText);
+        this.textNode = view;
+        return new StackPane(view);
+    }
+
+    /**
+     * Метод выводит в {@code view} картинку с текстом из {@link TextSnapshotCache}. Картинка строится в масштабе вывода
+     * экрана этого окна (запомнен при создании элемента), так что на экранах с разной плотностью пикселей текст чёткий.
+     * @param view - элемент с картинкой текста.
+     * @param text - текст.
+     */
+    private void showTextSnapshot(ImageView view, String text) {
+        double scale = (Double) view.getProperties().get(SNAPSHOT_SCALE_KEY);
+        Color shadowColor = this.enableShadowOnText ? this._sceneTextShadowColor : null;
+        Image snapshot = TextSnapshotCache.get(text, this.greetingFont(), this._sceneTextColor, shadowColor, 
+            scale, () -> this.createGreetingText(text));
+        view.setImage(snapshot);
+        view.setFitWidth(snapshot.getWidth() / scale);
+        view.setFitHeight(snapshot.getHeight() / scale);
+    }
+
+    /**
+     * Метод выводит текст в уже созданном окне, не пересоздавая сцену и не меняя настройку текста окна 
+     * ({@link GreetingWindow#getText()}). Используется {@link GreetingMessageQueue}. Вызывается в потоке JavaFX.
+     * @param node - элемент с текстом окна (см. {@link GreetingWindow#getTextNode()}).
+     * @param text - выводимый текст.
+     */
+    void showMessageText(Node node, String text) {
+        this.applyText(node, text);
+    }
+
+    /**
+     * Метод меняет текст в элементе с текстом, созданном в любом из режимов отрисовки. Вызывается в потоке JavaFX.
+     * @param node - элемент с текстом.
+     * @param text - новый текст.
+     */
+    private void applyText(Node node, String text) {
+        if (node instanceof ImageView) this.showTextSnapshot((ImageView) node, text);
+        else if (node instanceof Text) ((Text) node).setText(text);
+        else GreetingLabels.setText(node, text);
+    }
 
-        return greeting;
+    /**
+     * @return элемент с текстом последнего созданного окна, прозрачность которого анимируется.
+     */
+    Node getTextNode() {
+        return this.textNode;
+    }
+
+    /**
+     * @return шрифт текста приветствия из {@link FontCache}. Если файл шрифта не загрузился, используется системный шрифт.
+     */
+    private Font greetingFont() {
+        Font font = this.fontResource != null ? FontCache.getResource(this.fontResource, this.fontSize) : null;
+        return font != null ? font : FontCache.get(this.fontFamily, this.fontWeight, this.fontSize);
     }
 
     /**
      * Метод создаёт и настраивает тень для текста.
-     * @param label - объект UI, содержащий текст.
+     * @return тень или {@code null}, если тень выключена.
      */
-    private void configureLabelShadow(Label label) {
+    private Effect createTextShadow() {
+        if (!this.enableShadowOnText) return null;
         DropShadow ds = new DropShadow();
         ds.setColor(this._sceneTextShadowColor);
         ds.setOffsetX(0);
         ds.setOffsetY(0);
         ds.setRadius(20);
         ds.setSpread(0.3);
-
-        label.setEffect(ds);
+        return ds;
     }
 
     /**
@@ -317,14 +944,411 @@ public class GreetingWindow implements IAnimationWatcher {
         return GreetingWindowAnimation.createDelay(timeInMills);
     }
 
+    /**
+     * Задаёт задачи запуска приложения, которые будут выполняться параллельно с анимацией окна.
+     * Задачи стартуют вместе с первой анимацией, а фаза исчезновения начнётся только после завершения всех задач.
+     * Настройку нужно произвести до создания анимации.
+     * @param startupTasks - планировщик задач или {@code null}, чтобы не ждать никаких задач.
+     * @return этот же объект {@link GreetingWindow}.
+     */
+    public GreetingWindow setStartupTasks(StartupTaskScheduler startupTasks) {
+        this.startupTasks = startupTasks;
+        return this;
+    }
+
+    public StartupTaskScheduler getStartupTasks() {
+        return this.startupTasks;
+    }
+
+    /**
+     * Задаёт сигнал готовности приложения: фаза исчезновения (или уведомление наблюдателей, если исчезновения нет) 
+     * начнётся только после его завершения, успешного или нет. Можно использовать вместе с задачами запуска - тогда 
+     * окно ждёт и то, и другое. Настройку нужно произвести до создания анимации.
+     * @param readySignal - сигнал готовности или {@code null}, чтобы ничего не ждать.
+     * @return этот же объект {@link GreetingWindow}.
+     */
+    public GreetingWindow setReadySignal(CompletableFuture<?> readySignal) {
+        this.readySignal = readySignal;
+        return this;
+    }
+
+    public CompletableFuture<?> getReadySignal() {
+        return this.readySignal;
+    }
+
+    /**
+     * Включает подстройку времени показа окна под время запуска приложения, см. {@link AdaptiveTiming}. Задержка между
+     * появлением и исчезновением подбирается по прошлым запускам при создании анимации по {@link AnimaTarget} (готовые 
+     * планы {@link AnimationPlan} не меняются, их можно подстроить через {@link AdaptiveTiming#adapt}). Время готовности 
+     * записывается при завершении сигнала готовности ({@link GreetingWindow#setReadySignal}), а без него - при вызове 
+     * {@link AdaptiveTiming#ready()} приложением.
+     * Настройку нужно произвести до создания анимации.
+     * @param adaptiveTiming - подстройка времени показа или {@code null}, чтобы использовать заданные задержки.
+     * @return этот же объект {@link GreetingWindow}.
+     */
+    public GreetingWindow setAdaptiveTiming(AdaptiveTiming adaptiveTiming) {
+        this.adaptiveTiming = adaptiveTiming;
+        return this;
+    }
+
+    public AdaptiveTiming getAdaptiveTiming() {
+        return this.adaptiveTiming;
+    }
+
+    /**
+     * Включает повторное использование окон: закрытые окна возвращаются в пул и выдаются снова вместо создания новых.
+     * Настройку нужно произвести до создания окна.
+     * @param stagePool - пул окон (можно разделять между несколькими {@link GreetingWindow}) или {@code null}.
+     * @return этот же объект {@link GreetingWindow}.
+     */
+    public GreetingWindow setStagePool(GreetingStagePool stagePool) {
+        this.stagePool = stagePool;
+        return this;
+    }
+
+    public GreetingStagePool getStagePool() {
+        return this.stagePool;
+    }
+
+    /**
+     * Включает режим, в котором вся цепочка анимаций сворачивается в один {@code Timeline} вместо запуска анимаций 
+     * друг за другом через {@code setOnFinished}. Общая длительность при этом получается точной, без набегающих 
+     * задержек на переходах. Настройку нужно произвести до создания анимации.
+     * @param compiledAnimation - {@code true}, чтобы сворачивать анимации в один {@code Timeline}.
+     * @return этот же объект {@link GreetingWindow}.
+     */
+    public GreetingWindow setCompiledAnimation(boolean compiledAnimation) {
+        this.compiledAnimation = compiledAnimation;
+        return this;
+    }
+
+    public boolean isCompiledAnimation() {
+        return this.compiledAnimation;
+    }
+
+    /**
+     * Включает или выключает кэширование текста с тенью ({@link GreetingWindow#enableShadowOnText}) во время анимаций 
+     * прозрачности текста. Со включённым кэшированием размытие тени рассчитывается один раз, а не в каждом кадре, что 
+     * особенно заметно при программной отрисовке. Включено по умолчанию. Настройку нужно произвести до создания анимации.
+     * @param effectCaching - {@code false}, чтобы пересчитывать эффект в каждом кадре.
+     * @return этот же объект {@link GreetingWindow}.
+     */
+    public GreetingWindow setEffectCaching(boolean effectCaching) {
+        this.effectCaching = effectCaching;
+        return this;
+    }
+
+    public boolean isEffectCaching() {
+        return this.effectCaching;
+    }
+
+    /**
+     * Задаёт, чем отрисовывается текст. В режиме {@link TextRenderMode#RASTERIZED} текст с цветом, шрифтом и тенью один раз 
+     * отрисовывается в картинку, которая кэшируется в {@link TextSnapshotCache}, а анимации меняют прозрачность картинки.
+     * Настройку нужно произвести до создания окна.
+     * @param textRenderMode - режим отрисовки текста.
+     * @return этот же объект {@link GreetingWindow}.
+     * @throws IllegalArgumentException если {@code textRenderMode == null}.
+     */
+    public GreetingWindow setTextRenderMode(TextRenderMode textRenderMode) {
+        if (textRenderMode == null) throw new IllegalArgumentException("textRenderMode == null");
+        this.textRenderMode = textRenderMode;
+        return this;
+    }
+
+    public TextRenderMode getTextRenderMode() {
+        return this.textRenderMode;
+    }
+
+    /**
+     * Задаёт, как анимируется прозрачность окна. В режиме {@link WindowFadeMode#SCENE_ROOT} окно создаётся прозрачным 
+     * ({@link StageStyle#TRANSPARENT}), а анимации меняют прозрачность корня сцены вместе с фоном, что избавляет от 
+     * нативной установки прозрачности окна на каждом кадре. Внешне режимы не отличаются.
+     * Настройку нужно произвести до создания окна.
+     * @param windowFadeMode - режим анимации окна.
+     * @return этот же объект {@link GreetingWindow}.
+     * @throws IllegalArgumentException если {@code windowFadeMode == null}.
+     */
+    public GreetingWindow setWindowFadeMode(WindowFadeMode windowFadeMode) {
+        if (windowFadeMode == null) throw new IllegalArgumentException("windowFadeMode == null");
+        this.windowFadeMode = windowFadeMode;
+        return this;
+    }
+
+    public WindowFadeMode getWindowFadeMode() {
+        return this.windowFadeMode;
+    }
+
+    /**
+     * Задаёт системный шрифт текста и сразу запускает его фоновую загрузку в {@link FontCache}. 
+     * По умолчанию - Arial, {@link FontWeight#BOLD}, 50.
+     * Настройку нужно произвести до создания окна.
+     * @param family - семейство шрифта.
+     * @param weight - насыщенность шрифта.
+     * @param size - размер шрифта.
+     * @return этот же объект {@link GreetingWindow}.
+     * @throws IllegalArgumentException если {@code family == null}, {@code weight == null} или {@code size <= 0}.
+     */
+    public GreetingWindow setFont(String family, FontWeight weight, double size) {
+        FontCache.preload(family, weight, size);
+        this.fontFamily = family;
+        this.fontWeight = weight;
+        this.fontSize = size;
+        this.fontResource = null;
+        return this;
+    }
+
+    /**
+     * Задаёт шрифт текста из файла (например, шрифт, поставляемый вместе с приложением) и сразу запускает его фоновую 
+     * загрузку в {@link FontCache}. Если файл не удастся загрузить, будет использован системный шрифт из 
+     * {@link GreetingWindow#setFont}.
+     * Настройку нужно произвести до создания окна.
+     * @param pathOrUrl - путь к ресурсу относительно пакета {@code greetingwindow} или URL (например, {@code file:/...}).
+     * @param size - размер шрифта.
+     * @return этот же объект {@link GreetingWindow}.
+     * @throws IllegalArgumentException если {@code pathOrUrl == null} или {@code size <= 0}.
+     */
+    public GreetingWindow setFontResource(String pathOrUrl, double size) {
+        FontCache.preloadResource(pathOrUrl, size);
+        this.fontResource = pathOrUrl;
+        this.fontSize = size;
+        return this;
+    }
+
+    /**
+     * Возвращает шрифт текста. Если шрифт ещё загружается в фоне, загружает его сразу в текущем потоке.
+     * @return шрифт текста.
+     */
+    public Font getFont() {
+        return this.greetingFont();
+    }
+
+    /**
+     * Ограничивает частоту кадров анимаций, например, 24 или 30 кадрами в секунду. Между кадрами анимации сцена не 
+     * меняется и не перерисовывается, и процессор остаётся задачам, которые выполняются во время показа окна. 
+     * Фактическую частоту можно узнать через {@link GreetingWindow#getAchievedFrameRate()}.
+     *
+     * <p>Сами импульсы JavaFX при этом продолжают идти с обычной частотой. Чтобы снизить и её, до запуска JavaFX можно 
+     * задать системное свойство {@code javafx.animation.pulse} (например, {@code -Djavafx.animation.pulse=30}), но оно 
+     * действует на все анимации приложения.
+     * Настройку нужно произвести до создания анимации.
+     * @param frameRateCap - максимальное количество кадров в секунду, 0 - без ограничения.
+     * @return этот же объект {@link GreetingWindow}.
+     * @throws IllegalArgumentException если {@code frameRateCap < 0}.
+     */
+    public GreetingWindow setFrameRateCap(int frameRateCap) {
+        if (frameRateCap < 0) throw new IllegalArgumentException("frameRateCap < 0");
+        this.frameRateCap = frameRateCap;
+        return this;
+    }
+
+    public int getFrameRateCap() {
+        return this.frameRateCap;
+    }
+
+    /**
+     * Возвращает фактическую частоту кадров последней созданной анимации: сколько раз в секунду анимации прозрачности 
+     * обновляли значения за время своей работы. Вызывается из потока JavaFX.
+     * @return кадров в секунду или 0, если анимация ещё не запускалась.
+     */
+    public double getAchievedFrameRate() {
+        return this.frameRateMeter == null ? 0 : this.frameRateMeter.getFrameRate();
+    }
+
+    /**
+     * Включает запись времени кадров во время анимации. Когда анимация закончится, получатель будет вызван в потоке
+     * JavaFX со сводкой: медиана и 99-й процентиль времени кадра, количество пропущенных кадров и самая долгая пауза.
+     * Настройку нужно произвести до создания анимации.
+     * @param frameTimingListener - получатель сводки или {@code null}, чтобы не записывать кадры.
+     * @return этот же объект {@link GreetingWindow}.
+     */
+    public GreetingWindow setFrameTimingListener(Consumer<FrameTimingSummary> frameTimingListener) {
+        this.frameTimingListener = frameTimingListener;
+        return this;
+    }
+
+    public Consumer<FrameTimingSummary> getFrameTimingListener() {
+        return this.frameTimingListener;
+    }
+
+    /**
+     * Добавляет наблюдателя, которого нужно уведомить об окончании анимации по заданной политике, без ограничения времени.
+     * @see GreetingWindow#addObserver(IAnimationWatcher, DispatchPolicy, long)
+     * @param observer - наблюдатель.
+     * @param policy - как уведомлять наблюдателя.
+     * @return этот же объект {@link GreetingWindow}.
+     */
+    public GreetingWindow addObserver(IAnimationWatcher observer, DispatchPolicy policy) {
+        return this.addObserver(observer, policy, 0);
+    }
+
+    /**
+     * Добавляет наблюдателя, которого нужно уведомить об окончании анимации по заданной политике.
+     * 
+     * <p>Наблюдатели {@link DispatchPolicy#BACKGROUND} и {@link DispatchPolicy#FIRE_AND_FORGET} выполняются в исполнителе
+     * ({@link GreetingWindow#setObserverExecutor}), и окно закрывается, не дожидаясь их. Наблюдатели 
+     * {@link DispatchPolicy#FX_THREAD} вызываются в потоке JavaFX вместе с наблюдателями из {@link GreetingWindow#observersList}
+     * в порядке регистрации.
+     * Если наблюдатель не уложился в {@code timeoutInMills}, об этом сообщается получателю 
+     * {@link GreetingWindow#setObserverTimeoutListener}; сам наблюдатель не прерывается.
+     * @param observer - наблюдатель.
+     * @param policy - как уведомлять наблюдателя.
+     * @param timeoutInMills - допустимое время работы наблюдателя, 0 - без ограничения. Для 
+     * {@link DispatchPolicy#FIRE_AND_FORGET} не используется.
+     * @return этот же объект {@link GreetingWindow}.
+     * @throws IllegalArgumentException если {@code observer == null}, {@code policy == null} или {@code timeoutInMills < 0}.
+     */
+    public GreetingWindow addObserver(IAnimationWatcher observer, DispatchPolicy policy, long timeoutInMills) {
+        this.registerObserver(observer, policy, timeoutInMills);
+        return this;
+    }
+
+    /**
+     * Регистрирует наблюдателя, который будет вызван в потоке JavaFX. Можно вызывать из любого потока.
+     * @param observer - наблюдатель.
+     * @return регистрация, через которую наблюдателя можно отписать.
+     * @throws IllegalArgumentException если {@code observer == null}.
+     */
+    public ObserverHandle registerObserver(IAnimationWatcher observer) {
+        return this.registerObserver(observer, DispatchPolicy.FX_THREAD, 0);
+    }
+
+    /**
+     * Регистрирует наблюдателя с политикой уведомления, как {@link GreetingWindow#addObserver(IAnimationWatcher, DispatchPolicy, long)}.
+     * Можно вызывать из любого потока, в том числе во время уведомления - тогда наблюдатель будет вызван только при 
+     * следующем окончании анимации.
+     * @param observer - наблюдатель.
+     * @param policy - как уведомлять наблюдателя.
+     * @param timeoutInMills - допустимое время работы наблюдателя, 0 - без ограничения.
+     * @return регистрация, через которую наблюдателя можно отписать.
+     * @throws IllegalArgumentException если {@code observer == null}, {@code policy == null} или {@code timeoutInMills < 0}.
+     */
+    public ObserverHandle registerObserver(IAnimationWatcher observer, DispatchPolicy policy, long timeoutInMills) {
+        if (observer == null) throw new IllegalArgumentException("observer == null");
+        if (policy == null) throw new IllegalArgumentException("policy == null");
+        if (timeoutInMills < 0) throw new IllegalArgumentException("timeoutInMills < 0");
+        return this.observerDispatcher.add(observer, policy, timeoutInMills);
+    }
+
+    /**
+     * Задаёт исполнитель для фоновых наблюдателей. По умолчанию - {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+     * @param executor - исполнитель.
+     * @return этот же объект {@link GreetingWindow}.
+     * @throws IllegalArgumentException если {@code executor == null}.
+     */
+    public GreetingWindow setObserverExecutor(Executor executor) {
+        if (executor == null) throw new IllegalArgumentException("executor == null");
+        this.observerDispatcher.setExecutor(executor);
+        return this;
+    }
+
+    public Executor getObserverExecutor() {
+        return this.observerDispatcher.getExecutor();
+    }
+
+    /**
+     * Задаёт получателя сообщений о наблюдателях, превысивших своё время. Вызывается в том потоке, где превышение 
+     * обнаружено: в потоке JavaFX для {@link DispatchPolicy#FX_THREAD} и в служебном потоке таймера для 
+     * {@link DispatchPolicy#BACKGROUND}.
+     * @param timeoutListener - получатель или {@code null}, чтобы писать сообщения в {@link System.Logger}.
+     * @return этот же объект {@link GreetingWindow}.
+     */
+    public GreetingWindow setObserverTimeoutListener(Consumer<ObserverTimeout> timeoutListener) {
+        this.observerDispatcher.setTimeoutListener(timeoutListener);
+        return this;
+    }
+
+    public Consumer<ObserverTimeout> getObserverTimeoutListener() {
+        return this.observerDispatcher.getTimeoutListener();
+    }
+
+    /**
+     * Применяет к окну неизменяемый снимок настроек: цвета, текст, шрифт, длительности, флаги и режимы отрисовки 
+     * (всё, что входит в {@link GreetingWindowConfig}; иконка, пул окон, задачи запуска и наблюдатели не меняются). 
+     * Снимок можно подготовить и проверить в любом потоке заранее, а один и тот же снимок - применять к нескольким окнам.
+     * Шрифт снимка сразу начинает загружаться в {@link FontCache}. Настройку нужно произвести до создания окна.
+     * @param config - снимок настроек.
+     * @return этот же объект {@link GreetingWindow}.
+     * @throws IllegalArgumentException если {@code config == null}.
+     */
+    public GreetingWindow applyConfig(GreetingWindowConfig config) {
+        if (config == null) throw new IllegalArgumentException("config == null");
+        config.preloadFont();
+        this._greetingText = config.getText();
+        this._sceneBackgroundColor = config.getSceneBackground();
+        this._sceneTextColor = config.getTextColor();
+        this._sceneTextShadowColor = config.getTextShadowColor();
+        this.enableShadowOnText = config.isShadowOnText();
+        this._timeOfWindowAppearanceInMills = config.getTimeOfWindowAppearanceInMills();
+        this._timeOfTextAppearanceInMills = config.getTimeOfTextAppearanceInMills();
+        this._timeOfTextDisappearanceInMills = config.getTimeOfTextDisappearanceInMills();
+        this._timeOfWindowDisappearanceInMills = config.getTimeOfWindowDisappearanceInMills();
+        this._needToCloseStageAtEndOfAnimation = config.isCloseStageAtEndOfAnimation();
+        this.fontFamily = config.getFontFamily();
+        this.fontWeight = config.getFontWeight();
+        this.fontSize = config.getFontSize();
+        this.fontResource = config.getFontResource();
+        this.textRenderMode = config.getTextRenderMode();
+        this.windowFadeMode = config.getWindowFadeMode();
+        this.frameRateCap = config.getFrameRateCap();
+        this.effectCaching = config.isEffectCaching();
+        this.compiledAnimation = config.isCompiledAnimation();
+        this.progressBarEnabled = config.isProgressBarEnabled();
+        return this;
+    }
+
+    /**
+     * @return неизменяемый снимок текущих настроек окна (см. {@link GreetingWindow#applyConfig}).
+     */
+    public GreetingWindowConfig toConfig() {
+        GreetingWindowConfig.Builder builder = GreetingWindowConfig.builder()
+            .setText(this._greetingText)
+            .setSceneBackground(this._sceneBackgroundColor)
+            .setTextColor(this._sceneTextColor)
+            .setTextShadowColor(this._sceneTextShadowColor)
+            .setShadowOnText(this.enableShadowOnText)
+            .setTimeOfWindowAppearanceInMills(this._timeOfWindowAppearanceInMills)
+            .setTimeOfTextAppearanceInMills(this._timeOfTextAppearanceInMills)
+            .setTimeOfTextDisappearanceInMills(this._timeOfTextDisappearanceInMills)
+            .setTimeOfWindowDisappearanceInMills(this._timeOfWindowDisappearanceInMills)
+            .setCloseStageAtEndOfAnimation(this._needToCloseStageAtEndOfAnimation)
+            .setFont(this.fontFamily, this.fontWeight, this.fontSize)
+            .setTextRenderMode(this.textRenderMode)
+            .setWindowFadeMode(this.windowFadeMode)
+            .setFrameRateCap(this.frameRateCap)
+            .setEffectCaching(this.effectCaching)
+            .setCompiledAnimation(this.compiledAnimation)
+            .setProgressBarEnabled(this.progressBarEnabled);
+        if (this.fontResource != null) builder.setFontResource(this.fontResource, this.fontSize);
+        return builder.build();
+    }
+
     public GreetingWindow setIcon(Image icon) {
         if (icon == null) throw new IllegalArgumentException("Icon image == null");
-        this.icon = icon;
+        this.icon = CompletableFuture.completedFuture(icon);
         return this;
     }
 
+    /**
+     * Задаёт иконку окна через общий {@link IconCache}: одна и та же картинка декодируется один раз на весь процесс.
+     * @param pathOrUrl - путь к ресурсу относительно пакета {@code greetingwindow} или URL картинки.
+     * @return этот же объект {@link GreetingWindow}.
+     * @throws IllegalArgumentException если {@code pathOrUrl == null} или ресурс не найден.
+     */
+    public GreetingWindow setIcon(String pathOrUrl) {
+        if (pathOrUrl == null) throw new IllegalArgumentException("pathOrUrl == null");
+        CompletableFuture<Image> cachedIcon = IconCache.get(pathOrUrl);
+        if (cachedIcon == null) throw new IllegalArgumentException("Icon resource not found: " + pathOrUrl);
+        this.icon = cachedIcon;
+        return this;
+    }
+
+    /**
+     * Возвращает иконку окна. Если иконка ещё загружается в {@link IconCache}, дожидается её.
+     * @return иконка или {@code null}, если иконки нет или она не загрузилась.
+     */
     public Image getIcon() { 
-        return this.icon; 
+        return this.icon == null ? null : GreetingWindow.loadedIcon(this.icon); 
     }
 
     public GreetingWindow setSceneBackground(String backColor) {
@@ -380,6 +1404,57 @@ public class GreetingWindow implements IAnimationWatcher {
         return this._greetingText;
     }
 
+    /**
+     * Публикует новый текст для уже показанных окон. Можно вызывать из любого потока сколь угодно часто: вызов не 
+     * блокируется и не ставит задач в поток JavaFX (кроме одной при самой первой публикации), а окно применяет только 
+     * последний текст не чаще раза в пульс. Пока ничего не опубликовано, окно не следит за пульсами.
+     * Опубликованный до показа текст применяется при показе окна. В отличие от {@link GreetingWindow#setText(String)}, 
+     * настройки окна не меняются. В режиме {@link TextRenderMode#RASTERIZED} каждый новый текст отрисовывается в картинку.
+     * @param text - новый текст.
+     * @return этот же объект {@link GreetingWindow}.
+     * @throws IllegalArgumentException если {@code text == null}.
+     */
+    public GreetingWindow publishText(String text) {
+        if (text == null) throw new IllegalArgumentException("text == null");
+        this.liveUpdates.publishText(text);
+        return this;
+    }
+
+    /**
+     * Публикует прогресс для полосы прогресса ({@link GreetingWindow#setProgressBarEnabled}). Как и 
+     * {@link GreetingWindow#publishText(String)}, можно вызывать из любого потока, окно применяет только последнее значение.
+     * @param progress - прогресс от 0 до 1, значения вне диапазона приводятся к его границам.
+     * @return этот же объект {@link GreetingWindow}.
+     * @throws IllegalArgumentException если {@code progress} - {@code NaN}.
+     */
+    public GreetingWindow publishProgress(double progress) {
+        if (Double.isNaN(progress)) throw new IllegalArgumentException("progress is NaN");
+        this.liveUpdates.publishProgress(Math.min(1, Math.max(0, progress)));
+        return this;
+    }
+
+    /**
+     * @return последний опубликованный прогресс или {@code NaN}, если прогресс не публиковался.
+     */
+    public double getPublishedProgress() {
+        return this.liveUpdates.getProgress();
+    }
+
+    /**
+     * Задаёт, показывать ли внизу окна полосу прогресса (высотой {@link GreetingWindow#PROGRESS_BAR_HEIGHT}, цветом текста),
+     * которая заполняется по {@link GreetingWindow#publishProgress(double)}. Настройку нужно произвести до создания окна.
+     * @param progressBarEnabled - показывать ли полосу прогресса.
+     * @return этот же объект {@link GreetingWindow}.
+     */
+    public GreetingWindow setProgressBarEnabled(boolean progressBarEnabled) {
+        this.progressBarEnabled = progressBarEnabled;
+        return this;
+    }
+
+    public boolean isProgressBarEnabled() {
+        return this.progressBarEnabled;
+    }
+
     public GreetingWindow setTimeOfWindowAppearanceInMills(int time) {
         if (time <= 0) throw new IllegalArgumentException("time <= 0");
         this._timeOfWindowAppearanceInMills = time;
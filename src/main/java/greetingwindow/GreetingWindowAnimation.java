@@ -1,13 +1,19 @@
 package greetingwindow;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javafx.animation.Animation;
 import javafx.animation.FadeTransition;
+import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.beans.value.WritableValue;
+import javafx.scene.CacheHint;
 import javafx.scene.Node;
 import javafx.stage.Stage;
 import javafx.util.Duration;
@@ -30,6 +36,11 @@ class GreetingWindowAnimation {
      */
     private Stage stage;
 
+    /**
+     * Анимируемая прозрачность окна: прозрачность самого окна или корня его сцены (см. {@link WindowFadeMode}).
+     */
+    private WritableValue<Number> windowOpacity;
+
      /**
      * Узел (элемент) с текстом, для которого может быть создана анимация появления/исчезновения.
      */
@@ -45,6 +56,26 @@ class GreetingWindowAnimation {
      */
     public IAnimationWatcher observer;
 
+    /**
+     * Задачи запуска, завершения которых нужно дождаться перед фазой исчезновения. Может быть {@code null}.
+     */
+    private StartupTaskScheduler startupTasks;
+
+    /**
+     * Сигнал готовности приложения, завершения которого нужно дождаться перед фазой исчезновения. Может быть {@code null}.
+     */
+    private CompletableFuture<?> readySignal;
+
+    /**
+     * Счётчик фактической частоты обновления анимаций. Может быть {@code null}.
+     */
+    private FrameRateMeter frameRateMeter;
+
+    /**
+     * Первая анимация фазы исчезновения в последней созданной цепочке. {@code null}, если исчезновения нет.
+     */
+    private Animation firstDisappearanceAnimation;
+
     /**
      * Конструктор
      * @param settingsContainer - ссылка на вызывающий класс, из которого можно получить настройки анимации.
@@ -60,6 +91,8 @@ class GreetingWindowAnimation {
         this.stage = stage;
         this.text = text;
         this.observer = observer;
+        this.windowOpacity = settingsContainer.getWindowFadeMode() == WindowFadeMode.SCENE_ROOT && stage.getScene() != null
+            ? stage.getScene().getRoot().opacityProperty() : stage.opacityProperty();
     }
 
     /**
@@ -96,59 +129,57 @@ class GreetingWindowAnimation {
      * @throws IllegalArgumentException если передаётся неучтённое значение {@link AnimaTarget}.
      */
     public List<Animation> createAnimationSequence(AnimaTarget appearance, AnimaTarget disappearance, int[] delaysInMills) {
-        if (appearance == null & disappearance == null) return null;
-        if (appearance == AnimaTarget.NO_ANIMATION & disappearance == AnimaTarget.NO_ANIMATION) return null;
+        return this.createAnimationSequence(AnimationPlan.of(this.settingsContainer, appearance, disappearance, delaysInMills));
+    }
 
-        appearance = appearance == null ? AnimaTarget.NO_ANIMATION : appearance;
-        disappearance = disappearance == null ? AnimaTarget.NO_ANIMATION : disappearance;
+    /**
+     * Метод для создания цепочки анимаций по заранее рассчитанному плану. Сам план не изменяется, поэтому один и тот же
+     * план можно привязывать к разным окнам.
+     * @param plan - план анимации.
+     * @return последовательность анимаций в виде списка или {@code null}, если в плане нет анимаций.
+     */
+    public List<Animation> createAnimationSequence(AnimationPlan plan) {
+        this.firstDisappearanceAnimation = null;
+        if (plan.isEmpty()) return null;
+        this.applyInitialOpacity(plan);
 
+        List<AnimationPlan.Step> steps = plan.getSteps();
         LinkedList<Animation> animationsSequence = new LinkedList<Animation>();
-
-        switch (appearance) {
-            case NO_ANIMATION: break;
-            case ONLY_WINDOW: 
-                hideStage();
-                animationsSequence.add(createOppacityAnimationForStage(0, 1));
-                break;
-            case ONLY_TEXT:
-                animationsSequence.add(createOppacityAnimationForNode(0, 1));
-                break;
-            case BOTH:
-                hideStage();
-                hideText();
-                animationsSequence.add(createOppacityAnimationForStage(0, 1));
-                animationsSequence.add(createOppacityAnimationForNode(0, 1));
-                break;
-            default: 
-                throw new IllegalArgumentException("Unexpected appearance variable value.");
-        }
-
-        switch (disappearance) {
-            case NO_ANIMATION: break;
-            case ONLY_WINDOW: 
-                animationsSequence.add(createOppacityAnimationForStage(1, 0));
-                break;
-            case ONLY_TEXT:
-                animationsSequence.add(createOppacityAnimationForNode(1, 0));
-                break;
-            case BOTH:
-                animationsSequence.add(createOppacityAnimationForNode(1, 0));
-                animationsSequence.add(createOppacityAnimationForStage(1, 0));
-                break;
-            default: 
-                throw new IllegalArgumentException("Unexpected appearance variable value.");
+        for (AnimationPlan.Step step : steps) {
+            switch (step.getTarget()) {
+                case WINDOW:
+                    animationsSequence.add(this.trackFrameRate(
+                        createOppacityAnimationForStage(step.getFromOpacity(), step.getToOpacity(), step.getDurationInMills())));
+                    break;
+                case TEXT:
+                    animationsSequence.add(this.trackFrameRate(
+                        createOppacityAnimationForNode(step.getFromOpacity(), step.getToOpacity(), step.getDurationInMills())));
+                    break;
+                default:
+                    animationsSequence.add(GreetingWindowAnimation.createDelay(step.getDurationInMills()));
+            }
         }
-
-        this.insertDelaysInSequence(animationsSequence, delaysInMills);
+        if (plan.getFirstDisappearanceStepIndex() >= 0)
+            this.firstDisappearanceAnimation = animationsSequence.get(plan.getFirstDisappearanceStepIndex());
+        if (GreetingWindowEvents.isRecorderInitialized()) GreetingWindowEvents.traceSteps(steps, animationsSequence);
         return animationsSequence;
     }
 
+    /**
+     * Скрывает элементы, которые должны появиться в ходе анимации.
+     * @param plan - план анимации.
+     */
+    private void applyInitialOpacity(AnimationPlan plan) {
+        if (plan.hidesWindow()) hideStage();
+        if (plan.hidesText()) hideText();
+    }
+
     private void hideText() {
         text.setOpacity(0);
     }
 
     private void hideStage() {
-        stage.setOpacity(0);
+        windowOpacity.setValue(0);
     }
 
     /**
@@ -161,21 +192,180 @@ class GreetingWindowAnimation {
 
     /**
      * Склеивает анимации из списка между собой, на выходе получается последовательность включающихся друг за другом анимаций.
+     * 
+     * <p>Если заданы задачи запуска ({@link GreetingWindowAnimation#setStartupTasks}), то они запускаются вместе с первой
+     * анимацией, а первая анимация исчезновения (или уведомление наблюдателя, если исчезновения нет) ждёт их завершения.
+     * Так же ожидается и сигнал готовности ({@link GreetingWindowAnimation#setReadySignal}).
      * @param animationsSequence - последовательность анимаций в виде списка.
      * @return самая первая анимация, к которой приклеены друг за другом остальные анимации.
      */
     public Animation connectAnimationsEachAfterPrev(List<Animation> animationsSequence) {
         if (animationsSequence == null) return null;
         if (animationsSequence.size() == 0) return null;
-        
+
+        Animation gatedAnimation = this.hasGate() ? this.firstDisappearanceAnimation : null;
+        // Ожидание задач можно повесить только на завершение предыдущей анимации, поэтому нужна хоть какая-то анимация перед ним
+        if (gatedAnimation != null && animationsSequence.get(0) == gatedAnimation)
+            animationsSequence.add(0, GreetingWindowAnimation.createDelay(1));
+
         for (int i = 1; i < animationsSequence.size(); i++) {
             Animation prev =  animationsSequence.get(i - 1);
             Animation next = animationsSequence.get(i);
-            prev.setOnFinished((event) -> next.play());
+            if (next == gatedAnimation) prev.setOnFinished((event) -> this.runAfterGate(next::play));
+            else prev.setOnFinished((event) -> next.play());
         }
         Animation last = animationsSequence.get(animationsSequence.size() - 1);
-        last.setOnFinished((event) -> this.doEndAnimationThings());
-        return animationsSequence.get(0);
+        if (this.hasGate() && gatedAnimation == null) 
+            last.setOnFinished((event) -> this.runAfterGate(this::doEndAnimationThings));
+        else 
+            last.setOnFinished((event) -> this.doEndAnimationThings());
+
+        Animation first = animationsSequence.get(0);
+        if (this.startupTasks != null) {
+            StartupTaskScheduler tasks = this.startupTasks;
+            first.statusProperty().addListener((observable, oldStatus, newStatus) -> {
+                if (newStatus == Animation.Status.RUNNING) tasks.start();
+            });
+        }
+        return first;
+    }
+
+    /**
+     * Сворачивает план в один {@link Timeline}, в котором все ключевые кадры стоят на абсолютных смещениях от начала.
+     * В отличие от склейки через {@code setOnFinished}, переходы между анимациями не ждут следующего импульса JavaFX, 
+     * поэтому общая длительность точна, а живых объектов анимации меньше.
+     * 
+     * <p>Если заданы задачи запуска или сигнал готовности и в плане есть фаза исчезновения, то результат состоит из двух
+     * {@link Timeline}: до и после ожидания. Результат нужно передать в {@link GreetingWindowAnimation#connectAnimationsEachAfterPrev}, 
+     * который привяжет уведомление наблюдателя к последнему кадру.
+     * @param plan - план анимации.
+     * @return последовательность из одного или двух {@link Timeline} или {@code null}, если анимаций нет.
+     */
+    public List<Animation> compileAnimationSequence(AnimationPlan plan) {
+        this.firstDisappearanceAnimation = null;
+        if (plan.isEmpty()) return null;
+        this.applyInitialOpacity(plan);
+
+        List<AnimationPlan.Step> steps = plan.getSteps();
+        int gateIdx = this.hasGate() ? plan.getFirstDisappearanceStepIndex() : -1;
+        List<Animation> compiled = new ArrayList<Animation>(2);
+        if (gateIdx < 0) {
+            compiled.add(this.compileToTimeline(steps));
+            return compiled;
+        }
+
+        if (gateIdx > 0) compiled.add(this.compileToTimeline(steps.subList(0, gateIdx)));
+        Timeline afterGate = this.compileToTimeline(steps.subList(gateIdx, steps.size()));
+        compiled.add(afterGate);
+        this.firstDisappearanceAnimation = afterGate;
+        return compiled;
+    }
+
+    /**
+     * Переносит шаги плана в один {@link Timeline} со смещением от первого шага. Начальные кадры каждой анимации 
+     * делаются дискретными, чтобы в промежутках свойство не интерполировалось, а держало значение, как при 
+     * последовательном запуске. Интерполяция такая же, как у отдельных анимаций: линейная для окна и 
+     * {@link Interpolator#EASE_BOTH} (как у {@link FadeTransition}) для текста.
+     * @param steps - шаги плана.
+     * @return единый {@link Timeline}.
+     */
+    private Timeline compileToTimeline(List<AnimationPlan.Step> steps) {
+        Timeline timeline = this.newTimeline();
+        timeline.setCycleCount(1);
+        timeline.setAutoReverse(false);
+        List<KeyFrame> frames = timeline.getKeyFrames();
+
+        long base = steps.get(0).getOffsetInMills();
+        for (AnimationPlan.Step step : steps) {
+            if (step.getTarget() == AnimationPlan.StepTarget.DELAY) continue;
+            WritableValue<Number> opacity = step.getTarget() == AnimationPlan.StepTarget.WINDOW 
+                ? this.windowOpacity : this.text.opacityProperty();
+            Interpolator interpolator = step.getTarget() == AnimationPlan.StepTarget.WINDOW 
+                ? Interpolator.LINEAR : Interpolator.EASE_BOTH;
+            long start = step.getOffsetInMills() - base;
+            frames.add(new KeyFrame(Duration.millis(start), 
+                new KeyValue(opacity, step.getFromOpacity(), Interpolator.DISCRETE)));
+            frames.add(new KeyFrame(Duration.millis(start + step.getDurationInMills()), 
+                new KeyValue(opacity, step.getToOpacity(), interpolator)));
+        }
+        // Пустой кадр фиксирует полную длительность, даже если последней стоит задержка
+        AnimationPlan.Step last = steps.get(steps.size() - 1);
+        frames.add(new KeyFrame(Duration.millis(last.getOffsetInMills() + last.getDurationInMills() - base)));
+        if (GreetingWindowEvents.isRecorderInitialized()) GreetingWindowEvents.traceSteps(steps, timeline, base);
+        boolean fadesText = steps.stream().anyMatch((step) -> step.getTarget() == AnimationPlan.StepTarget.TEXT);
+        if (fadesText) this.cacheTextWhileRunning(timeline);
+        this.trackFrameRate(timeline);
+        return timeline;
+    }
+
+    /**
+     * Задаёт задачи запуска, которые будут выполняться параллельно с анимацией. Нужно вызвать до 
+     * {@link GreetingWindowAnimation#connectAnimationsEachAfterPrev}.
+     * @param startupTasks - планировщик задач, может быть {@code null}.
+     */
+    public void setStartupTasks(StartupTaskScheduler startupTasks) {
+        this.startupTasks = startupTasks;
+    }
+
+    /**
+     * Задаёт сигнал готовности приложения: фаза исчезновения не начнётся, пока он не завершится (успешно или нет). 
+     * Нужно вызвать до {@link GreetingWindowAnimation#connectAnimationsEachAfterPrev}.
+     * @param readySignal - сигнал готовности, может быть {@code null}.
+     */
+    public void setReadySignal(CompletableFuture<?> readySignal) {
+        this.readySignal = readySignal;
+    }
+
+    /**
+     * Задаёт счётчик, которому передаются все создаваемые анимации прозрачности (задержки не учитываются).
+     * @param frameRateMeter - счётчик, может быть {@code null}.
+     */
+    void setFrameRateMeter(FrameRateMeter frameRateMeter) {
+        this.frameRateMeter = frameRateMeter;
+    }
+
+    private <T extends Animation> T trackFrameRate(T animation) {
+        if (this.frameRateMeter != null) this.frameRateMeter.track(animation);
+        return animation;
+    }
+
+    /**
+     * Создаёт {@link Timeline} с учётом ограничения частоты кадров ({@link GreetingWindow#setFrameRateCap}). Ограниченный
+     * {@link Timeline} пропускает импульсы JavaFX между своими кадрами, сцена в них не меняется и не перерисовывается.
+     * @return пустой {@link Timeline}.
+     */
+    private Timeline newTimeline() {
+        int frameRateCap = this.settingsContainer.getFrameRateCap();
+        return frameRateCap > 0 ? new Timeline(frameRateCap) : new Timeline();
+    }
+
+    /**
+     * @return {@code true}, если перед фазой исчезновения нужно чего-то дождаться.
+     */
+    private boolean hasGate() {
+        return this.startupTasks != null || this.readySignal != null;
+    }
+
+    /**
+     * Выполняет действие в потоке JavaFX, когда завершатся все задачи запуска и сигнал готовности (успешно или нет).
+     * @param action - действие, например, запуск следующей анимации.
+     */
+    private void runAfterGate(Runnable action) {
+        GreetingWindowAnimation.runAfterGate(this.startupTasks, this.readySignal, action);
+    }
+
+    /**
+     * Выполняет действие в потоке JavaFX, когда завершатся задачи запуска и сигнал готовности (успешно или нет).
+     * @param startupTasks - задачи запуска, может быть {@code null}.
+     * @param readySignal - сигнал готовности, может быть {@code null}.
+     * @param action - действие, например, запуск следующей анимации.
+     */
+    static void runAfterGate(StartupTaskScheduler startupTasks, CompletableFuture<?> readySignal, Runnable action) {
+        CompletableFuture<?> gate;
+        if (startupTasks == null) gate = readySignal;
+        else if (readySignal == null) gate = startupTasks.start();
+        else gate = CompletableFuture.allOf(startupTasks.start(), readySignal);
+        gate.whenComplete((result, error) -> Platform.runLater(action));
     }
 
     /**
@@ -192,25 +382,22 @@ class GreetingWindowAnimation {
 
     /**
      * Метод создаёт анимацию изменения прозрачности от {@code startValue} до {@code endValue} для элемента 
-     * {@link GreetingWindowAnimation#stage},
+     * {@link GreetingWindowAnimation#stage} (или корня его сцены, см. {@link WindowFadeMode}),
      * который хранится в виде переменной класса.
      * @param startValue - начальное значение прозрачности.
      * @param endValue - конечное значение прозрачности.
+     * @param duration - длительность анимации в миллисекундах.
      * @return анимация изменения прозрачности {@code Stage}.
      * @throws IllegalArgumentException если один из аргументов меньше 0.
      */
-    private Timeline createOppacityAnimationForStage(int startValue, int endValue) {
+    private Timeline createOppacityAnimationForStage(int startValue, int endValue, int duration) {
         if (startValue < 0 | endValue < 0) throw new IllegalArgumentException("One of arguments < 0");
-        Timeline animation = new Timeline();
+        Timeline animation = this.newTimeline();
         animation.setCycleCount(1);
         animation.setAutoReverse(false);
         
-        int duration = this.settingsContainer.getTimeOfWindowAppearanceInMills();
-        if (startValue > endValue) 
-            duration = this.settingsContainer.getTimeOfWindowDisappearanceInMills();
-        
-        KeyValue kv0 = new KeyValue(this.stage.opacityProperty(), startValue);
-        KeyValue kv = new KeyValue(this.stage.opacityProperty(), endValue);
+        KeyValue kv0 = new KeyValue(this.windowOpacity, startValue);
+        KeyValue kv = new KeyValue(this.windowOpacity, endValue);
         KeyFrame kf0 = new KeyFrame(Duration.ZERO, kv0);
         KeyFrame kf = new KeyFrame(Duration.millis(duration), kv);
         animation.getKeyFrames().add(kf0);
@@ -225,47 +412,66 @@ class GreetingWindowAnimation {
      * который хранится в виде переменной класса.
      * @param startValue - начальное значение прозрачности.
      * @param endValue - конечное значение прозрачности.
+     * @param duration - длительность анимации в миллисекундах.
+     * При ограничении частоты кадров вместо {@link FadeTransition} создаётся {@link Timeline} с той же интерполяцией.
      * @return анимация изменения прозрачности {@code Node}.
      * @throws IllegalArgumentException если один из аргументов меньше 0.
      */
-    private FadeTransition createOppacityAnimationForNode(int startValue, int endValue) {
+    private Animation createOppacityAnimationForNode(int startValue, int endValue, int duration) {
         if (startValue < 0 | endValue < 0) throw new IllegalArgumentException("One of arguments < 0");
+        if (this.settingsContainer.getFrameRateCap() > 0) {
+            Timeline capped = this.newTimeline();
+            // Значения приводятся к double, иначе Interpolator округлит результат до целого
+            capped.getKeyFrames().add(new KeyFrame(Duration.ZERO, new KeyValue(this.text.opacityProperty(), (double) startValue)));
+            capped.getKeyFrames().add(new KeyFrame(Duration.millis(duration), 
+                new KeyValue(this.text.opacityProperty(), (double) endValue, Interpolator.EASE_BOTH)));
+            this.cacheTextWhileRunning(capped);
+            return capped;
+        }
         FadeTransition animation = new FadeTransition();
         animation.setCycleCount(1);
         animation.setAutoReverse(false);
-        int duration = this.settingsContainer.getTimeOfTextAppearanceInMills();
-        if (startValue > endValue) 
-            duration = this.settingsContainer.getTimeOfTextDisappearanceInMills();
         animation.setDuration(Duration.millis(duration));
         animation.setFromValue(startValue);
         animation.setToValue(endValue);
         animation.setNode(this.text);
+        this.cacheTextWhileRunning(animation);
         
         return animation;
     }
 
     /**
-     * Метод последовательно создаёт и вставляет задержки между анимациями основных элементов графического интерфейса.
-     * Подробнее про {@code delaysInMills} в документации к методу {@link GreetingWindowAnimation#createAnimationSequence}
-     * @param animationSequence - последовательность анимаций в виде списка.
-     * @param delaysInMills - массив задержек.
+     * Если у текста есть эффект (тень) и кэширование эффектов не выключено ({@link GreetingWindow#setEffectCaching}), то
+     * на время анимации текст кэшируется в растровое изображение с {@link CacheHint#SPEED}: размытие тени считается один раз,
+     * а в каждом кадре меняется только прозрачность готовой картинки. После остановки анимации прежние настройки 
+     * кэширования возвращаются.
+     * @param animation - анимация, во время которой меняется прозрачность текста.
      */
-    private void insertDelaysInSequence(List<Animation> animationSequence, int[] delaysInMills) {
-        if (delaysInMills == null) return;
-
-        // Задержка до анимации + по 1 задержке после каждой анимации
-        int limitOfDelaysAmount = 1 + animationSequence.size(); 
-        limitOfDelaysAmount = limitOfDelaysAmount > delaysInMills.length ? delaysInMills.length : limitOfDelaysAmount;
-
-        int insertIdx = 0;
-        for (int idx = 0; idx < limitOfDelaysAmount; idx++) {
-            if (delaysInMills[idx] <= 0) {
-                insertIdx += 1;
-                continue;
+    private void cacheTextWhileRunning(Animation animation) {
+        if (this.settingsContainer.isEffectCaching()) GreetingWindowAnimation.cacheWhileRunning(animation, this.text);
+    }
+
+    /**
+     * Кэширует узел с эффектом в растровое изображение на время работы анимации, см. 
+     * {@link GreetingWindowAnimation#cacheTextWhileRunning}.
+     * @param animation - анимация, во время которой меняется прозрачность узла.
+     * @param node - узел с текстом.
+     */
+    static void cacheWhileRunning(Animation animation, Node node) {
+        boolean[] wasCached = new boolean[1];
+        CacheHint[] previousHint = new CacheHint[1];
+        animation.statusProperty().addListener((observable, oldStatus, newStatus) -> {
+            if (node.getEffect() == null) return;
+            if (oldStatus == Animation.Status.STOPPED && newStatus == Animation.Status.RUNNING) {
+                wasCached[0] = node.isCache();
+                previousHint[0] = node.getCacheHint();
+                node.setCache(true);
+                node.setCacheHint(CacheHint.SPEED);
+            } else if (newStatus == Animation.Status.STOPPED && previousHint[0] != null) {
+                node.setCache(wasCached[0]);
+                node.setCacheHint(previousHint[0]);
+                previousHint[0] = null;
             }
-            Animation delay = GreetingWindowAnimation.createDelay(delaysInMills[idx]);
-            animationSequence.add(insertIdx, delay);
-            insertIdx += 2;
-        }
+        });
     }
 }
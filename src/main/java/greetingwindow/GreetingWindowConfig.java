@@ -0,0 +1,443 @@
+package greetingwindow;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+/**
+ * Неизменяемый снимок настроек окна приветствия: цвета, текст, шрифт, длительности анимаций, флаги (закрытие окна,
+ * тень, кэширование эффекта, свёрнутая анимация, полоса прогресса), режимы отрисовки и ограничение частоты кадров. 
+ * Объекты, а не значения (иконка, пул окон, задачи запуска, сигнал готовности, наблюдатели), в снимок не входят.
+ *
+ * <p>Создаётся через {@link GreetingWindowConfig#builder()} в любом потоке, проверка значений выполняется там же, а не в
+ * потоке JavaFX. Один объект можно применять к нескольким окнам ({@link GreetingWindow#applyConfig}) и передавать между
+ * потоками без синхронизации. Равные настройки дают равные объекты с равным {@link GreetingWindowConfig#hashCode()},
+ * поэтому снимок можно использовать как ключ кэша для производных от него планов анимации, картинок текста и шрифтов.
+ *
+ * <p>Значения по умолчанию задаются только в {@link GreetingWindowConfig.Builder}, новый {@link GreetingWindow} берёт их
+ * из {@link GreetingWindowConfig#DEFAULTS}.
+ */
+public final class GreetingWindowConfig {
+
+    /**
+     * Настройки по умолчанию, с ними создаётся каждый {@link GreetingWindow}.
+     */
+    static final GreetingWindowConfig DEFAULTS = new Builder().build();
+
+    private final String text;
+    private final Color sceneBackground;
+    private final Color textColor;
+    private final Color textShadowColor;
+    private final boolean shadowOnText;
+    private final int timeOfWindowAppearanceInMills;
+    private final int timeOfTextAppearanceInMills;
+    private final int timeOfTextDisappearanceInMills;
+    private final int timeOfWindowDisappearanceInMills;
+    private final boolean closeStageAtEndOfAnimation;
+    private final String fontFamily;
+    private final FontWeight fontWeight;
+    private final double fontSize;
+    private final String fontResource;
+    private final TextRenderMode textRenderMode;
+    private final WindowFadeMode windowFadeMode;
+    private final int frameRateCap;
+    private final boolean effectCaching;
+    private final boolean compiledAnimation;
+    private final boolean progressBarEnabled;
+
+    private GreetingWindowConfig(Builder builder) {
+        this.text = builder.text;
+        this.sceneBackground = builder.sceneBackground;
+        this.textColor = builder.textColor;
+        this.textShadowColor = builder.textShadowColor;
+        this.shadowOnText = builder.shadowOnText;
+        this.timeOfWindowAppearanceInMills = builder.timeOfWindowAppearanceInMills;
+        this.timeOfTextAppearanceInMills = builder.timeOfTextAppearanceInMills;
+        this.timeOfTextDisappearanceInMills = builder.timeOfTextDisappearanceInMills;
+        this.timeOfWindowDisappearanceInMills = builder.timeOfWindowDisappearanceInMills;
+        this.closeStageAtEndOfAnimation = builder.closeStageAtEndOfAnimation;
+        this.fontFamily = builder.fontFamily;
+        this.fontWeight = builder.fontWeight;
+        this.fontSize = builder.fontSize;
+        this.fontResource = builder.fontResource;
+        this.textRenderMode = builder.textRenderMode;
+        this.windowFadeMode = builder.windowFadeMode;
+        this.frameRateCap = builder.frameRateCap;
+        this.effectCaching = builder.effectCaching;
+        this.compiledAnimation = builder.compiledAnimation;
+        this.progressBarEnabled = builder.progressBarEnabled;
+    }
+
+    /**
+     * @return построитель со значениями по умолчанию (такими же, как у нового {@link GreetingWindow}).
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return построитель, заполненный значениями этого снимка.
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    /**
+     * Возвращает план анимации по длительностям из этого снимка. Планы кэшируются, см. {@link AnimationPlan#of}.
+     * @param appearance - для каких элементов необходимо создать анимации появления.
+     * @param disappearance - для каких элементов необходимо создать анимации исчезновения.
+     * @param delaysInMills - задержки анимаций, может быть {@code null}.
+     * @return готовый план.
+     */
+    public AnimationPlan createPlan(AnimaTarget appearance, AnimaTarget disappearance, int[] delaysInMills) {
+        return AnimationPlan.of(appearance, disappearance, delaysInMills, timeOfWindowAppearanceInMills, 
+            timeOfTextAppearanceInMills, timeOfTextDisappearanceInMills, timeOfWindowDisappearanceInMills);
+    }
+
+    /**
+     * Запускает фоновую загрузку шрифта этого снимка в {@link FontCache}.
+     * @return шрифт, который будет загружен. Для шрифта из файла, который не удалось загрузить, результат - {@code null}.
+     */
+    public CompletableFuture<Font> preloadFont() {
+        return fontResource != null 
+            ? FontCache.preloadResource(fontResource, fontSize) 
+            : FontCache.preload(fontFamily, fontWeight, fontSize);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public Color getSceneBackground() {
+        return sceneBackground;
+    }
+
+    public Color getTextColor() {
+        return textColor;
+    }
+
+    public Color getTextShadowColor() {
+        return textShadowColor;
+    }
+
+    public boolean isShadowOnText() {
+        return shadowOnText;
+    }
+
+    public int getTimeOfWindowAppearanceInMills() {
+        return timeOfWindowAppearanceInMills;
+    }
+
+    public int getTimeOfTextAppearanceInMills() {
+        return timeOfTextAppearanceInMills;
+    }
+
+    public int getTimeOfTextDisappearanceInMills() {
+        return timeOfTextDisappearanceInMills;
+    }
+
+    public int getTimeOfWindowDisappearanceInMills() {
+        return timeOfWindowDisappearanceInMills;
+    }
+
+    public boolean isCloseStageAtEndOfAnimation() {
+        return closeStageAtEndOfAnimation;
+    }
+
+    public String getFontFamily() {
+        return fontFamily;
+    }
+
+    public FontWeight getFontWeight() {
+        return fontWeight;
+    }
+
+    public double getFontSize() {
+        return fontSize;
+    }
+
+    /**
+     * @return путь к файлу шрифта или {@code null}, если используется системный шрифт.
+     */
+    public String getFontResource() {
+        return fontResource;
+    }
+
+    public TextRenderMode getTextRenderMode() {
+        return textRenderMode;
+    }
+
+    public WindowFadeMode getWindowFadeMode() {
+        return windowFadeMode;
+    }
+
+    public int getFrameRateCap() {
+        return frameRateCap;
+    }
+
+    public boolean isEffectCaching() {
+        return effectCaching;
+    }
+
+    public boolean isCompiledAnimation() {
+        return compiledAnimation;
+    }
+
+    public boolean isProgressBarEnabled() {
+        return progressBarEnabled;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof GreetingWindowConfig)) return false;
+        GreetingWindowConfig other = (GreetingWindowConfig) obj;
+        return text.equals(other.text) && sceneBackground.equals(other.sceneBackground) 
+            && textColor.equals(other.textColor) && textShadowColor.equals(other.textShadowColor)
+            && shadowOnText == other.shadowOnText
+            && timeOfWindowAppearanceInMills == other.timeOfWindowAppearanceInMills
+            && timeOfTextAppearanceInMills == other.timeOfTextAppearanceInMills
+            && timeOfTextDisappearanceInMills == other.timeOfTextDisappearanceInMills
+            && timeOfWindowDisappearanceInMills == other.timeOfWindowDisappearanceInMills
+            && closeStageAtEndOfAnimation == other.closeStageAtEndOfAnimation
+            && fontFamily.equals(other.fontFamily) && fontWeight == other.fontWeight
+            && Double.compare(fontSize, other.fontSize) == 0 && Objects.equals(fontResource, other.fontResource)
+            && textRenderMode == other.textRenderMode && windowFadeMode == other.windowFadeMode
+            && frameRateCap == other.frameRateCap && effectCaching == other.effectCaching 
+            && compiledAnimation == other.compiledAnimation && progressBarEnabled == other.progressBarEnabled;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(text, sceneBackground, textColor, textShadowColor, shadowOnText, 
+            timeOfWindowAppearanceInMills, timeOfTextAppearanceInMills, timeOfTextDisappearanceInMills, 
+            timeOfWindowDisappearanceInMills, closeStageAtEndOfAnimation, fontFamily, fontWeight, fontSize, fontResource, 
+            textRenderMode, windowFadeMode, frameRateCap, effectCaching, compiledAnimation, progressBarEnabled);
+    }
+
+    @Override
+    public String toString() {
+        return "GreetingWindowConfig[text=" + text + ", background=" + sceneBackground + ", textColor=" + textColor
+            + ", shadow=" + (shadowOnText ? textShadowColor : "none")
+            + ", durations=" + timeOfWindowAppearanceInMills + "/" + timeOfTextAppearanceInMills + "/" 
+            + timeOfTextDisappearanceInMills + "/" + timeOfWindowDisappearanceInMills
+            + ", font=" + (fontResource != null ? fontResource : fontFamily + " " + fontWeight) + " " + fontSize
+            + ", " + textRenderMode + ", " + windowFadeMode + ", frameRateCap=" + frameRateCap 
+            + ", effectCaching=" + effectCaching + ", compiledAnimation=" + compiledAnimation 
+            + ", progressBar=" + progressBarEnabled + "]";
+    }
+
+    /**
+     * Построитель {@link GreetingWindowConfig}. Значения проверяются при установке так же, как в сеттерах 
+     * {@link GreetingWindow}. Сам построитель не потокобезопасен, но его можно использовать в любом потоке.
+     * Начальные значения полей построителя - значения по умолчанию для всех окон приветствия.
+     */
+    public static final class Builder {
+        private String text = "Greeting";
+        private Color sceneBackground = Color.valueOf("#303030");
+        private Color textColor = Color.valueOf("#fafafa");
+        private Color textShadowColor = Color.web("#ffffff", 0.5);
+        private boolean shadowOnText = false;
+        private int timeOfWindowAppearanceInMills = 1000;
+        private int timeOfTextAppearanceInMills = 2000;
+        private int timeOfTextDisappearanceInMills = 1000;
+        private int timeOfWindowDisappearanceInMills = 1000;
+        private boolean closeStageAtEndOfAnimation = true;
+        private String fontFamily = "Arial";
+        private FontWeight fontWeight = FontWeight.BOLD;
+        private double fontSize = 50;
+        private String fontResource;
+        private TextRenderMode textRenderMode = TextRenderMode.LABEL;
+        private WindowFadeMode windowFadeMode = WindowFadeMode.STAGE_OPACITY;
+        private int frameRateCap = 0;
+        private boolean effectCaching = true;
+        private boolean compiledAnimation = false;
+        private boolean progressBarEnabled = false;
+
+        private Builder() { }
+
+        private Builder(GreetingWindowConfig config) {
+            this.text = config.text;
+            this.sceneBackground = config.sceneBackground;
+            this.textColor = config.textColor;
+            this.textShadowColor = config.textShadowColor;
+            this.shadowOnText = config.shadowOnText;
+            this.timeOfWindowAppearanceInMills = config.timeOfWindowAppearanceInMills;
+            this.timeOfTextAppearanceInMills = config.timeOfTextAppearanceInMills;
+            this.timeOfTextDisappearanceInMills = config.timeOfTextDisappearanceInMills;
+            this.timeOfWindowDisappearanceInMills = config.timeOfWindowDisappearanceInMills;
+            this.closeStageAtEndOfAnimation = config.closeStageAtEndOfAnimation;
+            this.fontFamily = config.fontFamily;
+            this.fontWeight = config.fontWeight;
+            this.fontSize = config.fontSize;
+            this.fontResource = config.fontResource;
+            this.textRenderMode = config.textRenderMode;
+            this.windowFadeMode = config.windowFadeMode;
+            this.frameRateCap = config.frameRateCap;
+            this.effectCaching = config.effectCaching;
+            this.compiledAnimation = config.compiledAnimation;
+            this.progressBarEnabled = config.progressBarEnabled;
+        }
+
+        public Builder setText(String text) {
+            if (text == null) throw new IllegalArgumentException("text == null");
+            this.text = text;
+            return this;
+        }
+
+        public Builder setSceneBackground(Color backColor) {
+            if (backColor == null) throw new IllegalArgumentException("backColor == null");
+            this.sceneBackground = backColor;
+            return this;
+        }
+
+        public Builder setSceneBackground(String backColor) {
+            if (backColor == null) throw new IllegalArgumentException("backColor == null");
+            return this.setSceneBackground(Color.web(backColor));
+        }
+
+        public Builder setTextColor(Color textColor) {
+            if (textColor == null) throw new IllegalArgumentException("textColor == null");
+            this.textColor = textColor;
+            return this;
+        }
+
+        public Builder setTextColor(String textColor) {
+            if (textColor == null) throw new IllegalArgumentException("textColor == null");
+            return this.setTextColor(Color.web(textColor));
+        }
+
+        public Builder setTextShadowColor(String shadowColor, double opacity) {
+            if (opacity < 0) throw new IllegalArgumentException("Opacity value < 0");
+            if (shadowColor == null) throw new IllegalArgumentException("shadowColor == null");
+            this.textShadowColor = Color.web(shadowColor, opacity);
+            return this;
+        }
+
+        public Builder setTextShadowColor(Color shadowColor) {
+            if (shadowColor == null) throw new IllegalArgumentException("shadowColor == null");
+            this.textShadowColor = shadowColor;
+            return this;
+        }
+
+        /**
+         * Аналог {@link GreetingWindow#enableShadowOnText}.
+         */
+        public Builder setShadowOnText(boolean shadowOnText) {
+            this.shadowOnText = shadowOnText;
+            return this;
+        }
+
+        public Builder setTimeOfWindowAppearanceInMills(int time) {
+            if (time <= 0) throw new IllegalArgumentException("time <= 0");
+            this.timeOfWindowAppearanceInMills = time;
+            return this;
+        }
+
+        public Builder setTimeOfTextAppearanceInMills(int time) {
+            if (time <= 0) throw new IllegalArgumentException("time <= 0");
+            this.timeOfTextAppearanceInMills = time;
+            return this;
+        }
+
+        public Builder setTimeOfTextDisappearanceInMills(int time) {
+            if (time <= 0) throw new IllegalArgumentException("time <= 0");
+            this.timeOfTextDisappearanceInMills = time;
+            return this;
+        }
+
+        public Builder setTimeOfWindowDisappearanceInMills(int time) {
+            if (time <= 0) throw new IllegalArgumentException("time <= 0");
+            this.timeOfWindowDisappearanceInMills = time;
+            return this;
+        }
+
+        /**
+         * Аналог {@link GreetingWindow#_needToCloseStageAtEndOfAnimation}.
+         */
+        public Builder setCloseStageAtEndOfAnimation(boolean closeStageAtEndOfAnimation) {
+            this.closeStageAtEndOfAnimation = closeStageAtEndOfAnimation;
+            return this;
+        }
+
+        /**
+         * Задаёт системный шрифт, см. {@link GreetingWindow#setFont}. Шрифт не загружается, для этого есть 
+         * {@link GreetingWindowConfig#preloadFont()}.
+         * @throws IllegalArgumentException если {@code family == null}, {@code weight == null} или {@code size <= 0}.
+         */
+        public Builder setFont(String family, FontWeight weight, double size) {
+            if (family == null) throw new IllegalArgumentException("family == null");
+            if (weight == null) throw new IllegalArgumentException("weight == null");
+            if (size <= 0) throw new IllegalArgumentException("size <= 0");
+            this.fontFamily = family;
+            this.fontWeight = weight;
+            this.fontSize = size;
+            this.fontResource = null;
+            return this;
+        }
+
+        /**
+         * Задаёт шрифт из файла, см. {@link GreetingWindow#setFontResource}.
+         * @throws IllegalArgumentException если {@code pathOrUrl == null} или {@code size <= 0}.
+         */
+        public Builder setFontResource(String pathOrUrl, double size) {
+            if (pathOrUrl == null) throw new IllegalArgumentException("pathOrUrl == null");
+            if (size <= 0) throw new IllegalArgumentException("size <= 0");
+            this.fontResource = pathOrUrl;
+            this.fontSize = size;
+            return this;
+        }
+
+        public Builder setTextRenderMode(TextRenderMode textRenderMode) {
+            if (textRenderMode == null) throw new IllegalArgumentException("textRenderMode == null");
+            this.textRenderMode = textRenderMode;
+            return this;
+        }
+
+        public Builder setWindowFadeMode(WindowFadeMode windowFadeMode) {
+            if (windowFadeMode == null) throw new IllegalArgumentException("windowFadeMode == null");
+            this.windowFadeMode = windowFadeMode;
+            return this;
+        }
+
+        public Builder setFrameRateCap(int frameRateCap) {
+            if (frameRateCap < 0) throw new IllegalArgumentException("frameRateCap < 0");
+            this.frameRateCap = frameRateCap;
+            return this;
+        }
+
+        /**
+         * Аналог {@link GreetingWindow#setEffectCaching}.
+         */
+        public Builder setEffectCaching(boolean effectCaching) {
+            this.effectCaching = effectCaching;
+            return this;
+        }
+
+        /**
+         * Аналог {@link GreetingWindow#setCompiledAnimation}.
+         */
+        public Builder setCompiledAnimation(boolean compiledAnimation) {
+            this.compiledAnimation = compiledAnimation;
+            return this;
+        }
+
+        /**
+         * Аналог {@link GreetingWindow#setProgressBarEnabled}.
+         */
+        public Builder setProgressBarEnabled(boolean progressBarEnabled) {
+            this.progressBarEnabled = progressBarEnabled;
+            return this;
+        }
+
+        /**
+         * @return неизменяемый снимок настроек.
+         */
+        public GreetingWindowConfig build() {
+            return new GreetingWindowConfig(this);
+        }
+    }
+}
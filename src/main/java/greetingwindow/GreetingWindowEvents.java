@@ -0,0 +1,217 @@
+package greetingwindow;
+
+import java.util.List;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.scene.image.Image;
+import javafx.util.Duration;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * События Java Flight Recorder для окна приветствия: создание окна, подготовка сцены, загрузка иконки, каждая фаза
+ * анимации ({@code Stage_in, Text_in, Text_out, Stage_out}), каждая задержка и уведомление каждого наблюдателя.
+ *
+ * <p>События создаются и слушатели для фаз анимации и загрузки иконки навешиваются только если JFR был запущен в этом 
+ * процессе ({@link GreetingWindowEvents#isRecorderInitialized()}), поэтому без JFR окно и анимация не получают ни одного 
+ * лишнего объекта.
+ *
+ * <p>Модуль {@code jdk.jfr} подключён как {@code requires static} и во время работы может отсутствовать. Без него классы 
+ * событий нельзя даже загрузить, поэтому любое обращение к ним должно идти после проверки 
+ * {@link GreetingWindowEvents#isRecorderInitialized()}.
+ */
+final class GreetingWindowEvents {
+
+    private static final String CATEGORY = "Greeting Window";
+
+    /**
+     * Есть ли во время работы модуль {@code jdk.jfr}.
+     */
+    private static final boolean JFR_AVAILABLE = GreetingWindowEvents.isJfrAvailable();
+
+    private GreetingWindowEvents() { }
+
+    @Name("greetingwindow.WindowConstruction")
+    @Label("Window Construction")
+    @Description("Создание объекта GreetingWindow")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class WindowConstruction extends Event {
+        @Label("Title")
+        String title;
+    }
+
+    @Name("greetingwindow.ScenePreparation")
+    @Label("Scene Preparation")
+    @Description("Создание или перенастройка окна, сцены и текста")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class ScenePreparation extends Event {
+        @Label("Reused From Pool")
+        boolean pooled;
+    }
+
+    @Name("greetingwindow.IconLoad")
+    @Label("Icon Load")
+    @Description("Получение иконки из кэша и её фоновая загрузка")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class IconLoad extends Event {
+        @Label("Path Or URL")
+        String path;
+
+        @Label("Cache Hit")
+        boolean cached;
+
+        @Label("Failed")
+        boolean failed;
+    }
+
+    @Name("greetingwindow.AnimationPhase")
+    @Label("Animation Phase")
+    @Description("Одна фаза анимации: Stage_in, Text_in, Text_out или Stage_out")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class AnimationPhase extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Planned Duration")
+        @Timespan(Timespan.MILLISECONDS)
+        long plannedDuration;
+    }
+
+    @Name("greetingwindow.AnimationDelay")
+    @Label("Animation Delay")
+    @Description("Задержка между фазами анимации")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class AnimationDelay extends Event {
+        @Label("Planned Duration")
+        @Timespan(Timespan.MILLISECONDS)
+        long plannedDuration;
+    }
+
+    @Name("greetingwindow.ObserverDispatch")
+    @Label("Observer Dispatch")
+    @Description("Вызов invokeAfterAnimation() у одного наблюдателя")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class ObserverDispatch extends Event {
+        @Label("Observer Class")
+        Class<?> observerClass;
+    }
+
+    /**
+     * @return {@code true}, если в процессе запускался JFR и есть смысл создавать события и навешивать для них слушатели.
+     */
+    static boolean isRecorderInitialized() {
+        return JFR_AVAILABLE && FlightRecorder.isInitialized();
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder", false, GreetingWindowEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Завершает событие загрузки иконки.
+     * @param event - начатое событие или {@code null}, если JFR не запускался.
+     * @param path - путь к ресурсу или URL.
+     * @param image - загруженная картинка или {@code null}, если ресурс не найден или не загрузился.
+     * @param cached - была ли картинка взята из кэша.
+     */
+    static void traceIconLoad(IconLoad event, String path, Image image, boolean cached) {
+        if (event == null || !event.isEnabled()) return;
+        event.path = path;
+        event.cached = cached;
+        event.failed = image == null || image.isError();
+        event.commit();
+    }
+
+    /**
+     * Записывает каждую фазу и задержку цепочки анимаций: событие начинается, когда анимация запускается, и
+     * записывается, когда она останавливается.
+     * @param steps - шаги плана.
+     * @param animations - анимации, созданные по шагам (по одной на шаг).
+     */
+    static void traceSteps(List<AnimationPlan.Step> steps, List<Animation> animations) {
+        for (int i = 0; i < steps.size(); i++) {
+            StepTrace trace = new StepTrace(steps.get(i));
+            animations.get(i).statusProperty().addListener((observable, oldStatus, newStatus) -> {
+                if (newStatus == Animation.Status.RUNNING && oldStatus == Animation.Status.STOPPED) trace.begin();
+                else if (newStatus == Animation.Status.STOPPED) trace.end();
+            });
+        }
+    }
+
+    /**
+     * Записывает каждую фазу и задержку внутри скомпилированного {@link Timeline}: на начало и конец каждого шага
+     * ставятся кадры без значений с обработчиками.
+     * @param steps - шаги плана, попавшие в этот {@link Timeline}.
+     * @param timeline - скомпилированная анимация.
+     * @param base - смещение первого шага от начала плана.
+     */
+    static void traceSteps(List<AnimationPlan.Step> steps, Timeline timeline, long base) {
+        for (AnimationPlan.Step step : steps) {
+            StepTrace trace = new StepTrace(step);
+            long start = step.getOffsetInMills() - base;
+            timeline.getKeyFrames().add(new KeyFrame(Duration.millis(start), (event) -> trace.begin()));
+            timeline.getKeyFrames().add(new KeyFrame(Duration.millis(start + step.getDurationInMills()), (event) -> trace.end()));
+        }
+    }
+
+    /**
+     * @param step - шаг плана.
+     * @return имя фазы в том виде, в котором оно используется в документации цепочки анимаций.
+     */
+    static String phaseName(AnimationPlan.Step step) {
+        boolean in = step.getToOpacity() > step.getFromOpacity();
+        if (step.getTarget() == AnimationPlan.StepTarget.WINDOW) return in ? "Stage_in" : "Stage_out";
+        return in ? "Text_in" : "Text_out";
+    }
+
+    /**
+     * Текущее событие одного шага плана. Используется только из потока JavaFX.
+     */
+    private static final class StepTrace {
+        private final AnimationPlan.Step step;
+        private Event event;
+
+        private StepTrace(AnimationPlan.Step step) {
+            this.step = step;
+        }
+
+        private void begin() {
+            if (step.getTarget() == AnimationPlan.StepTarget.DELAY) {
+                AnimationDelay delay = new AnimationDelay();
+                delay.plannedDuration = step.getDurationInMills();
+                event = delay;
+            } else {
+                AnimationPhase phase = new AnimationPhase();
+                phase.phase = GreetingWindowEvents.phaseName(step);
+                phase.plannedDuration = step.getDurationInMills();
+                event = phase;
+            }
+            event.begin();
+        }
+
+        private void end() {
+            if (event == null) return;
+            event.commit();
+            event = null;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package greetingwindow;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+/**
+ * Запуск окна приветствия до того, как приложение дойдёт до {@code Application.start}.
+ *
+ * <p>{@link GreetingWindowLauncher#launch} нужно вызывать первой строкой {@code main}: JavaFX запускается
+ * ({@link Platform#startup(Runnable)}) в отдельном потоке, окно показывается сразу, как только JavaFX готов, а основной поток
+ * тут же возвращается и продолжает инициализацию приложения. Запуск JavaFX и инициализация приложения идут одновременно.
+ * Когда приложение готово, нужно вызвать {@link GreetingWindowLauncher#markReady()} - до этого окно не начнёт исчезать.
+ *
+ * <pre>
+ * public static void main(String[] args) {
+ *     GreetingWindowLauncher splash = GreetingWindowLauncher.launch(
+ *         () -&gt; new GreetingWindow("Greeting"), AnimaTarget.BOTH, AnimaTarget.BOTH);
+ *     initApplication();
+ *     splash.whenFinished().thenRunAsync(() -&gt; showMainStage(), Platform::runLater);
+ *     splash.markReady();
+ * }
+ * </pre>
+ *
+ * <p>Если JavaFX к моменту вызова уже запущен, окно просто создаётся в потоке JavaFX.
+ */
+public final class GreetingWindowLauncher {
+
+    /**
+     * Имя потока, в котором запускается JavaFX.
+     */
+    public static final String THREAD_NAME = "greeting-window-launcher";
+
+    private final CompletableFuture<Void> ready = new CompletableFuture<Void>();
+
+    private final CompletableFuture<Stage> shown = new CompletableFuture<Stage>();
+
+    private final CompletableFuture<Void> finished = new CompletableFuture<Void>();
+
+    private GreetingWindowLauncher() { }
+
+    /**
+     * Запускает JavaFX в отдельном потоке и показывает окно приветствия, как только JavaFX будет готов.
+     * @param windowFactory - создаёт и настраивает окно приветствия, вызывается в потоке JavaFX.
+     * @param appearance - для каких элементов необходимо создать анимации появления.
+     * @param disappearance - для каких элементов необходимо создать анимации исчезновения.
+     * @return объект для управления запущенным окном.
+     * @throws IllegalArgumentException если один из аргументов == null.
+     */
+    public static GreetingWindowLauncher launch(Supplier<GreetingWindow> windowFactory, AnimaTarget appearance,
+            AnimaTarget disappearance) {
+        return GreetingWindowLauncher.launch(windowFactory, appearance, disappearance, null);
+    }
+
+    /**
+     * Запускает JavaFX в отдельном потоке и показывает окно приветствия, как только JavaFX будет готов.
+     * @param windowFactory - создаёт и настраивает окно приветствия, вызывается в потоке JavaFX.
+     * @param appearance - для каких элементов необходимо создать анимации появления.
+     * @param disappearance - для каких элементов необходимо создать анимации исчезновения.
+     * @param delaysInMills - задержки анимаций, см. {@link GreetingWindow#createStageWithAnimationOnShowing}.
+     * @return объект для управления запущенным окном.
+     * @throws IllegalArgumentException если один из аргументов, кроме delaysInMills == null.
+     */
+    public static GreetingWindowLauncher launch(Supplier<GreetingWindow> windowFactory, AnimaTarget appearance,
+            AnimaTarget disappearance, int[] delaysInMills) {
+        if (windowFactory == null) throw new IllegalArgumentException("windowFactory == null");
+        if (appearance == null) throw new IllegalArgumentException("appearance == null");
+        if (disappearance == null) throw new IllegalArgumentException("disappearance == null");
+
+        // Поиск шрифта не требует запущенного JavaFX, поэтому шрифт по умолчанию загружается одновременно с запуском JavaFX
+        GreetingWindowConfig.DEFAULTS.preloadFont();
+        GreetingWindowLauncher launcher = new GreetingWindowLauncher();
+        Runnable showWindow = () -> launcher.showWindow(windowFactory, appearance, disappearance, delaysInMills);
+        Thread thread = new Thread(() -> {
+            try {
+                Platform.startup(showWindow);
+            } catch (IllegalStateException alreadyStarted) {
+                Platform.runLater(showWindow);
+            }
+        }, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+        return launcher;
+    }
+
+    /**
+     * Создаёт и показывает окно. Выполняется в потоке JavaFX.
+     */
+    private void showWindow(Supplier<GreetingWindow> windowFactory, AnimaTarget appearance, AnimaTarget disappearance,
+            int[] delaysInMills) {
+        try {
+            GreetingWindow gw = windowFactory.get();
+            gw.setReadySignal(this.ready);
+            gw.observersList.add(() -> this.finished.complete(null));
+            AnimationPlan plan = gw.createPlan(appearance, disappearance, delaysInMills);
+            Stage stage = gw.createStageWithAnimationOnShowing(plan);
+            stage.show();
+            this.shown.complete(stage);
+            // Без анимаций наблюдатели не вызываются, поэтому ждать окончания нечего
+            if (plan.isEmpty()) this.finished.complete(null);
+        } catch (RuntimeException | Error e) {
+            // Ожидающие окна не должны зависнуть навсегда, а сама ошибка уходит дальше в обработчик потока JavaFX
+            this.shown.completeExceptionally(e);
+            this.finished.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Сообщает, что приложение готово: окно приветствия может начинать исчезать. Повторный вызов ничего не делает.
+     * @return этот же объект.
+     */
+    public GreetingWindowLauncher markReady() {
+        this.ready.complete(null);
+        return this;
+    }
+
+    /**
+     * @return результат, который завершится показанным окном, как только оно будет выведено на экран.
+     */
+    public CompletableFuture<Stage> whenShown() {
+        return this.shown;
+    }
+
+    /**
+     * Результат завершается в потоке JavaFX, когда анимация закончена, но до автоматического закрытия окна.
+     * 
+     * <p>Действия, добавленные через {@code thenRun}, выполняются в том потоке, который застал результат завершённым, - 
+     * если результат завершился раньше, чем действие добавлено, то в потоке, который его добавляет (например, в 
+     * {@code main}). Поэтому действия с окнами нужно добавлять через {@code thenRunAsync(action, Platform::runLater)}.
+     * Если такое действие добавлено до {@link GreetingWindowLauncher#markReady()}, оно попадает в очередь JavaFX до 
+     * закрытия окна приветствия, и JavaFX не завершится из-за того, что не осталось ни одного окна.
+     * 
+     * <p>Если анимаций нет ({@link AnimaTarget#NO_ANIMATION} для появления и исчезновения), результат завершается сразу 
+     * после показа окна, не дожидаясь {@link GreetingWindowLauncher#markReady()}. Такое окно само не закрывается.
+     * @return результат, который завершится после окончания анимации окна приветствия.
+     */
+    public CompletableFuture<Void> whenFinished() {
+        return this.finished;
+    }
+}
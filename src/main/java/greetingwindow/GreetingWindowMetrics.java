@@ -0,0 +1,246 @@
+package greetingwindow;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import javafx.event.EventHandler;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
+
+/**
+ * Метрики окна приветствия, доступные через JMX под именем {@link GreetingWindowMetrics#OBJECT_NAME}.
+ *
+ * <p>Сбор метрик выключен, пока не вызван {@link GreetingWindowMetrics#register()}. В выключенном состоянии окна проверяют
+ * только один флаг и не навешивают никаких слушателей, поэтому обычный путь создания окна не замедляется. Окна, созданные
+ * до регистрации, в количестве показанных окон не учитываются.
+ *
+ * <p>Счётчики потокобезопасны, сами замеры снимаются в потоке JavaFX.
+ *
+ * <p>Модуль {@code java.management} подключён как {@code requires static}: всё, что с ним связано, вынесено во вложенный
+ * класс, который загружается только при регистрации, поэтому без этого модуля окна работают, а не работает только
+ * {@link GreetingWindowMetrics#register()}.
+ */
+public final class GreetingWindowMetrics implements GreetingWindowMetricsMBean {
+
+    /**
+     * Имя, под которым MBean регистрируется в {@link ManagementFactory#getPlatformMBeanServer()}.
+     */
+    public static final String OBJECT_NAME = "greetingwindow:type=GreetingWindowMetrics";
+
+    private static final GreetingWindowMetrics INSTANCE = new GreetingWindowMetrics();
+
+    /**
+     * Включён ли сбор метрик. Единственное, что проверяется на обычном пути.
+     */
+    private static volatile boolean enabled = false;
+
+    private final LongAdder windowsCreated = new LongAdder();
+    private final AtomicLong liveWindows = new AtomicLong();
+    private final LongAdder firstFrameCount = new LongAdder();
+    private final LongAdder firstFrameTotalNanos = new LongAdder();
+    private final AtomicLong firstFrameMaxNanos = new AtomicLong();
+    private final LongAdder animationNanos = new LongAdder();
+    private final LongAdder observerDispatchNanos = new LongAdder();
+    private final LongAdder forceClosedWindows = new LongAdder();
+    private volatile double lastAchievedFrameRate = 0;
+
+    private GreetingWindowMetrics() { }
+
+    /**
+     * Регистрирует MBean в платформенном {@link MBeanServer} и включает сбор метрик. Повторный вызов ничего не делает.
+     * @throws IllegalStateException если зарегистрировать MBean не удалось или модуля {@code java.management} нет.
+     */
+    public static synchronized void register() {
+        if (enabled) return;
+        if (!GreetingWindowMetrics.isJmxAvailable()) 
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME + ": module java.management is not available");
+        Jmx.register(INSTANCE);
+        enabled = true;
+    }
+
+    /**
+     * Выключает сбор метрик и удаляет MBean из платформенного {@link MBeanServer}. Накопленные значения сохраняются.
+     */
+    public static synchronized void unregister() {
+        if (!enabled) return;
+        enabled = false;
+        Jmx.unregister();
+    }
+
+    private static boolean isJmxAvailable() {
+        try {
+            Class.forName("java.lang.management.ManagementFactory", false, GreetingWindowMetrics.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return {@code true}, если метрики собираются.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return единственный объект метрик (тот же, что зарегистрирован в JMX).
+     */
+    public static GreetingWindowMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Учитывает созданное окно и, если окно новое, начинает следить за его показом и скрытием.
+     * @param stage - окно.
+     * @param newStage - {@code true}, если окно только что создано, а не взято из пула.
+     */
+    static void windowCreated(Stage stage, boolean newStage) {
+        INSTANCE.windowsCreated.increment();
+        if (!newStage) return;
+        stage.addEventHandler(WindowEvent.WINDOW_SHOWN, (event) -> INSTANCE.liveWindows.incrementAndGet());
+        stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, (event) -> INSTANCE.liveWindows.decrementAndGet());
+    }
+
+    /**
+     * Замеряет время до первого кадра окна.
+     * @param stage - окно.
+     * @param requestedAtNanos - момент вызова {@code createStageWithAnimationOnShowing} ({@link System#nanoTime()}).
+     */
+    static void trackFirstFrame(Stage stage, long requestedAtNanos) {
+        GreetingWindowMetrics.onFirstFrame(stage, () -> INSTANCE.firstFrameShown(System.nanoTime() - requestedAtNanos));
+    }
+
+    /**
+     * Выполняет действие один раз: после ближайшего показа окна, в первом импульсе, в котором сцена отрисовывается.
+     * @param stage - окно со сценой.
+     * @param action - действие, выполняется в потоке JavaFX.
+     */
+    static void onFirstFrame(Stage stage, Runnable action) {
+        stage.addEventHandler(WindowEvent.WINDOW_SHOWN, new EventHandler<WindowEvent>() {
+            @Override
+            public void handle(WindowEvent event) {
+                stage.removeEventHandler(WindowEvent.WINDOW_SHOWN, this);
+                Scene scene = stage.getScene();
+                scene.addPostLayoutPulseListener(new Runnable() {
+                    @Override
+                    public void run() {
+                        scene.removePostLayoutPulseListener(this);
+                        action.run();
+                    }
+                });
+            }
+        });
+    }
+
+    void firstFrameShown(long nanos) {
+        firstFrameCount.increment();
+        firstFrameTotalNanos.add(nanos);
+        firstFrameMaxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    void animationFinished(long nanos) {
+        animationNanos.add(nanos);
+    }
+
+    void observersDispatched(long nanos) {
+        observerDispatchNanos.add(nanos);
+    }
+
+    void windowForceClosed() {
+        forceClosedWindows.increment();
+    }
+
+    void frameRateMeasured(double framesPerSecond) {
+        lastAchievedFrameRate = framesPerSecond;
+    }
+
+    @Override
+    public long getWindowsCreated() {
+        return windowsCreated.sum();
+    }
+
+    @Override
+    public long getLiveWindows() {
+        return liveWindows.get();
+    }
+
+    @Override
+    public double getAverageTimeToFirstFrameMillis() {
+        long count = firstFrameCount.sum();
+        return count == 0 ? 0 : GreetingWindowMetrics.toMillis(firstFrameTotalNanos.sum()) / count;
+    }
+
+    @Override
+    public double getMaxTimeToFirstFrameMillis() {
+        return GreetingWindowMetrics.toMillis(firstFrameMaxNanos.get());
+    }
+
+    @Override
+    public double getTotalAnimationTimeMillis() {
+        return GreetingWindowMetrics.toMillis(animationNanos.sum());
+    }
+
+    @Override
+    public double getTotalObserverDispatchTimeMillis() {
+        return GreetingWindowMetrics.toMillis(observerDispatchNanos.sum());
+    }
+
+    @Override
+    public long getForceClosedWindows() {
+        return forceClosedWindows.sum();
+    }
+
+    @Override
+    public double getLastAchievedFrameRate() {
+        return lastAchievedFrameRate;
+    }
+
+    @Override
+    public void reset() {
+        windowsCreated.reset();
+        firstFrameCount.reset();
+        firstFrameTotalNanos.reset();
+        firstFrameMaxNanos.set(0);
+        animationNanos.reset();
+        observerDispatchNanos.reset();
+        forceClosedWindows.reset();
+        lastAchievedFrameRate = 0;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * Обращения к JMX. Класс загружается только при регистрации, когда уже известно, что модуль {@code java.management} есть.
+     */
+    private static final class Jmx {
+
+        private static void register(GreetingWindowMetrics metrics) {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName name = new ObjectName(OBJECT_NAME);
+                if (!server.isRegistered(name)) server.registerMBean(metrics, name);
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+            }
+        }
+
+        private static void unregister() {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName name = new ObjectName(OBJECT_NAME);
+                if (server.isRegistered(name)) server.unregisterMBean(name);
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot unregister " + OBJECT_NAME, e);
+            }
+        }
+    }
+}
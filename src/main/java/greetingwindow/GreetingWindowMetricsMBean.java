@@ -0,0 +1,53 @@
+package greetingwindow;
+
+/**
+ * Интерфейс JMX для метрик окна приветствия, см. {@link GreetingWindowMetrics}. Все времена - в миллисекундах.
+ */
+public interface GreetingWindowMetricsMBean {
+
+    /**
+     * @return количество окон, созданных через {@link GreetingWindow#createGreetingWindow()} (включая взятые из пула).
+     */
+    long getWindowsCreated();
+
+    /**
+     * @return количество окон, которые сейчас показаны.
+     */
+    long getLiveWindows();
+
+    /**
+     * @return среднее время от вызова {@code createStageWithAnimationOnShowing} до первого показанного кадра.
+     */
+    double getAverageTimeToFirstFrameMillis();
+
+    /**
+     * @return максимальное время от вызова {@code createStageWithAnimationOnShowing} до первого показанного кадра.
+     */
+    double getMaxTimeToFirstFrameMillis();
+
+    /**
+     * @return суммарное время всех анимаций от запуска первой анимации до уведомления наблюдателей.
+     */
+    double getTotalAnimationTimeMillis();
+
+    /**
+     * @return суммарное время, проведённое в наблюдателях {@link GreetingWindow#observersList}.
+     */
+    double getTotalObserverDispatchTimeMillis();
+
+    /**
+     * @return сколько раз окно было закрыто автоматически из-за {@code _needToCloseStageAtEndOfAnimation}.
+     */
+    long getForceClosedWindows();
+
+    /**
+     * @return фактическая частота кадров (кадров в секунду) последней завершившейся анимации, 
+     * см. {@link GreetingWindow#getAchievedFrameRate()}.
+     */
+    double getLastAchievedFrameRate();
+
+    /**
+     * Обнуляет все счётчики, кроме количества показанных сейчас окон.
+     */
+    void reset();
+}
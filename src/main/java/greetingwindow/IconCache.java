@@ -0,0 +1,136 @@
+package greetingwindow;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+
+import javafx.scene.image.Image;
+
+/**
+ * Общий для всего процесса кэш иконок окна приветствия.
+ *
+ * <p>Ключ кэша - путь к ресурсу (относительно пакета {@code greetingwindow}) или URL. Картинка читается и декодируется 
+ * синхронным конструктором {@link Image#Image(InputStream)} в отдельном фоновом потоке ({@link BackgroundLoader}), 
+ * поэтому получение иконки не блокирует вызывающий поток и не требует запущенного JavaFX (фоновая загрузка самого 
+ * {@link Image} без запущенного JavaFX не работает). Неудачная загрузка из кэша убирается, чтобы её можно было повторить.
+ * Количество хранимых картинок ограничено, при переполнении вытесняется дольше всех не использовавшаяся.
+ */
+public final class IconCache {
+
+    /**
+     * Максимальное количество картинок в кэше по умолчанию.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Загруженные или загружающиеся картинки.
+     */
+    private static final LruCache<String, CompletableFuture<Image>> images = 
+        new LruCache<String, CompletableFuture<Image>>(DEFAULT_CAPACITY);
+
+    private IconCache() { }
+
+    /**
+     * Возвращает картинку из кэша, при отсутствии - запускает её загрузку в фоновом потоке.
+     * @param pathOrUrl - путь к ресурсу относительно пакета {@code greetingwindow} или URL (например, {@code file:/...}).
+     * @return картинка, которая будет загружена, или {@code null}, если ресурс не найден.
+     * @throws IllegalArgumentException если {@code pathOrUrl == null}.
+     */
+    public static CompletableFuture<Image> get(String pathOrUrl) {
+        if (pathOrUrl == null) throw new IllegalArgumentException("pathOrUrl == null");
+        GreetingWindowEvents.IconLoad event = GreetingWindowEvents.isRecorderInitialized() 
+            ? new GreetingWindowEvents.IconLoad() : null;
+        if (event != null) event.begin();
+        CompletableFuture<Image> cached = images.get(pathOrUrl);
+        if (cached != null) {
+            if (event != null) 
+                cached.whenComplete((image, error) -> GreetingWindowEvents.traceIconLoad(event, pathOrUrl, image, true));
+            return cached;
+        }
+
+        String url = IconCache.resolve(pathOrUrl);
+        if (url == null) {
+            GreetingWindowEvents.traceIconLoad(event, pathOrUrl, null, false);
+            return null;
+        }
+
+        CompletableFuture<Image> loading = new CompletableFuture<Image>();
+        // Загрузку мог запустить другой поток - тогда отдаём уже закэшированную
+        cached = images.putIfAbsent(pathOrUrl, loading);
+        if (cached != null) return cached;
+        BackgroundLoader.EXECUTOR.execute(() -> IconCache.load(pathOrUrl, url, loading));
+        if (event != null) 
+            loading.whenComplete((image, error) -> GreetingWindowEvents.traceIconLoad(event, pathOrUrl, image, false));
+        return loading;
+    }
+
+    /**
+     * Загружает картинку в фоновом потоке. Неудачная загрузка убирается из кэша до того, как о ней узнают ожидающие.
+     * @param pathOrUrl - ключ кэша.
+     * @param url - URL картинки.
+     * @param loading - результат загрузки, уже лежащий в кэше.
+     */
+    private static void load(String pathOrUrl, String url, CompletableFuture<Image> loading) {
+        try {
+            loading.complete(IconCache.decode(url));
+        } catch (RuntimeException e) {
+            images.remove(pathOrUrl, loading);
+            loading.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Читает и декодирует картинку синхронно.
+     * @param url - URL картинки.
+     * @return картинка.
+     */
+    private static Image decode(String url) {
+        try (InputStream stream = new URL(url).openStream()) {
+            Image image = new Image(stream);
+            if (image.isError()) throw new IllegalStateException("Cannot decode icon " + url, image.getException());
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Задаёт максимальное количество картинок в кэше. Лишние картинки вытесняются сразу.
+     * @param newCapacity - новое ограничение.
+     * @throws IllegalArgumentException если {@code newCapacity <= 0}.
+     */
+    public static void setCapacity(int newCapacity) {
+        images.setCapacity(newCapacity);
+    }
+
+    public static int getCapacity() {
+        return images.getCapacity();
+    }
+
+    /**
+     * @return количество картинок, которые сейчас хранятся в кэше (включая загружающиеся).
+     */
+    public static int size() {
+        return images.size();
+    }
+
+    /**
+     * Очищает кэш.
+     */
+    public static void clear() {
+        images.clear();
+    }
+
+    /**
+     * Превращает путь к ресурсу в URL. Строки, похожие на URL, возвращаются без изменений.
+     * @param pathOrUrl - путь к ресурсу или URL.
+     * @return URL в виде строки или {@code null}, если ресурс не найден.
+     */
+    private static String resolve(String pathOrUrl) {
+        if (pathOrUrl.indexOf(':') > 1) return pathOrUrl;
+        URL resource = IconCache.class.getResource(pathOrUrl);
+        return resource == null ? null : resource.toExternalForm();
+    }
+}
@@ -0,0 +1,198 @@
+package greetingwindow;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Parent;
+import javafx.scene.transform.Scale;
+import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
+
+/**
+ * Канал живого обновления текста и прогресса уже показанного окна приветствия.
+ *
+ * <p>Писатели из любых потоков только записывают последнее значение в volatile-поле: они не блокируются, не ставят задач в
+ * поток JavaFX и ничего не создают (кроме самой строки текста). В потоке JavaFX у каждого корня сцены есть свой
+ * {@link LiveUpdateChannel.Applier}, который раз в пульс сравнивает значения с уже применёнными и применяет только
+ * последние. Промежуточные значения, записанные между пульсами, пропускаются.
+ *
+ * <p>Применитель запускается только после первой публикации: пока ничего не опубликовано, окно не подписывается на
+ * каждый пульс и не мешает ограничению частоты кадров ({@link GreetingWindow#setFrameRateCap}). Если окно уже показано,
+ * первая публикация один раз ставит его запуск в поток JavaFX.
+ */
+final class LiveUpdateChannel {
+
+    /**
+     * Ключ, под которым {@link LiveUpdateChannel.Applier} хранится в свойствах корня сцены.
+     */
+    static final String APPLIER_KEY = "greetingwindow.liveUpdateApplier";
+
+    /**
+     * Последний опубликованный текст или {@code null}, если текст не публиковался.
+     */
+    private volatile String text;
+
+    /**
+     * Последний опубликованный прогресс от 0 до 1 или {@code NaN}, если прогресс не публиковался.
+     */
+    private volatile double progress = Double.NaN;
+
+    /**
+     * Было ли хоть что-то опубликовано.
+     */
+    private final AtomicBoolean published = new AtomicBoolean();
+
+    /**
+     * Применители показанных окон, которые нужно запустить при первой публикации.
+     */
+    private final CopyOnWriteArrayList<Applier> shownAppliers = new CopyOnWriteArrayList<Applier>();
+
+    /**
+     * Публикует текст. Можно вызывать из любого потока.
+     * @param text - новый текст.
+     */
+    void publishText(String text) {
+        this.text = text;
+        this.onPublished();
+    }
+
+    /**
+     * Публикует прогресс. Можно вызывать из любого потока.
+     * @param progress - прогресс от 0 до 1.
+     */
+    void publishProgress(double progress) {
+        this.progress = progress;
+        this.onPublished();
+    }
+
+    /**
+     * При первой публикации запускает применители уже показанных окон. Если окон нет, их запустит показ окна.
+     */
+    private void onPublished() {
+        if (published.get() || !published.compareAndSet(false, true)) return;
+        if (!shownAppliers.isEmpty()) Platform.runLater(() -> shownAppliers.forEach(Applier::start));
+    }
+
+    String getText() {
+        return text;
+    }
+
+    double getProgress() {
+        return progress;
+    }
+
+    /**
+     * Запускает (после первой публикации) и останавливает применение обновлений вместе с показом и скрытием окна. 
+     * Применитель берётся из свойств текущего корня сцены, поэтому корень можно заменить (например, при повторном 
+     * использовании окна из пула).
+     * @param stage - окно приветствия.
+     */
+    static void attach(Stage stage) {
+        stage.addEventHandler(WindowEvent.WINDOW_SHOWN, (event) -> {
+            Applier applier = LiveUpdateChannel.applierOf(stage);
+            if (applier != null) applier.windowShown();
+        });
+        stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, (event) -> {
+            Applier applier = LiveUpdateChannel.applierOf(stage);
+            if (applier != null) applier.windowHidden();
+        });
+    }
+
+    private static Applier applierOf(Stage stage) {
+        if (stage.getScene() == null) return null;
+        return (Applier) stage.getScene().getRoot().getProperties().get(APPLIER_KEY);
+    }
+
+    /**
+     * Применяет последние опубликованные значения к элементам одного корня сцены, не чаще раза в пульс.
+     */
+    static final class Applier extends AnimationTimer {
+
+        private final LiveUpdateChannel channel;
+
+        private final Consumer<String> textSink;
+
+        /**
+         * Масштаб полосы прогресса по горизонтали или {@code null}, если полосы нет.
+         */
+        private final Scale progressScale;
+
+        private String appliedText;
+
+        private double appliedProgress = Double.NaN;
+
+        private boolean running = false;
+
+        /**
+         * @param channel - канал, из которого берутся значения.
+         * @param textSink - меняет текст в окне.
+         * @param progressScale - масштаб полосы прогресса или {@code null}, если полосы нет.
+         */
+        Applier(LiveUpdateChannel channel, Consumer<String> textSink, Scale progressScale) {
+            this.channel = channel;
+            this.textSink = textSink;
+            this.progressScale = progressScale;
+        }
+
+        /**
+         * Регистрирует применитель в свойствах корня сцены (заменяя прежний) для {@link LiveUpdateChannel#attach}.
+         * @param root - корень сцены.
+         */
+        void install(Parent root) {
+            Object previous = root.getProperties().put(APPLIER_KEY, this);
+            if (previous != null) ((Applier) previous).windowHidden();
+        }
+
+        /**
+         * Окно показано: применитель запускается сразу, если что-то уже опубликовано, иначе - при первой публикации.
+         */
+        void windowShown() {
+            channel.shownAppliers.addIfAbsent(this);
+            if (channel.published.get()) this.start();
+        }
+
+        /**
+         * Окно скрыто: применитель останавливается и не запускается при публикации.
+         */
+        void windowHidden() {
+            channel.shownAppliers.remove(this);
+            this.stop();
+        }
+
+        @Override
+        public void start() {
+            super.start();
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            super.stop();
+            running = false;
+        }
+
+        /**
+         * @return запущен ли применитель (подписан ли он на пульсы JavaFX).
+         */
+        boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        public void handle(long now) {
+            String text = channel.text;
+            if (text != null && text != appliedText) {
+                appliedText = text;
+                textSink.accept(text);
+            }
+            double progress = channel.progress;
+            if (progressScale != null && !Double.isNaN(progress) && Double.compare(progress, appliedProgress) != 0) {
+                appliedProgress = progress;
+                progressScale.setX(progress);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package greetingwindow;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Ограниченный по размеру кэш: при переполнении вытесняется дольше всех не использовавшийся элемент. Использованием
+ * считается любое обращение к элементу ({@code get}, {@code putIfAbsent}, {@code computeIfAbsent}). Все методы
+ * синхронизированы, поэтому кэш можно использовать из любого потока.
+ *
+ * <p>Общая основа для {@link IconCache}, {@link FontCache} и {@link TextSnapshotCache}.
+ * @param <K> - тип ключа.
+ * @param <V> - тип значения.
+ */
+final class LruCache<K, V> {
+
+    /**
+     * Текущее ограничение на количество элементов.
+     */
+    private int capacity;
+
+    /**
+     * Элементы в порядке последнего использования, от давних к недавним.
+     */
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > LruCache.this.capacity;
+        }
+    };
+
+    /**
+     * Конструктор.
+     * @param capacity - максимальное количество элементов.
+     * @throws IllegalArgumentException если {@code capacity <= 0}.
+     */
+    LruCache(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity <= 0");
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return значение или {@code null}, если его нет в кэше.
+     */
+    synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Кладёт значение в кэш, заменяя прежнее.
+     */
+    synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    /**
+     * Кладёт значение в кэш, если для ключа значения ещё нет.
+     * @return прежнее значение или {@code null}, если положено новое.
+     */
+    synchronized V putIfAbsent(K key, V value) {
+        return entries.putIfAbsent(key, value);
+    }
+
+    /**
+     * Возвращает значение из кэша, а при его отсутствии создаёт и кладёт в кэш. Значение создаётся под блокировкой кэша,
+     * поэтому {@code factory} должна быть быстрой.
+     * @return значение из кэша или только что созданное.
+     */
+    synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        return entries.computeIfAbsent(key, factory);
+    }
+
+    /**
+     * Убирает значение, если для ключа в кэше лежит именно оно.
+     * @return {@code true}, если значение убрано.
+     */
+    synchronized boolean remove(K key, V value) {
+        return entries.remove(key, value);
+    }
+
+    /**
+     * Задаёт максимальное количество элементов. Лишние элементы вытесняются сразу.
+     * @param newCapacity - новое ограничение.
+     * @throws IllegalArgumentException если {@code newCapacity <= 0}.
+     */
+    synchronized void setCapacity(int newCapacity) {
+        if (newCapacity <= 0) throw new IllegalArgumentException("capacity <= 0");
+        this.capacity = newCapacity;
+        while (entries.size() > capacity) {
+            entries.remove(entries.keySet().iterator().next());
+        }
+    }
+
+    synchronized int getCapacity() {
+        return capacity;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+}
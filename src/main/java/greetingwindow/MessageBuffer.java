@@ -0,0 +1,194 @@
+package greetingwindow;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+
+/**
+ * Ограниченный буфер сообщений {@link GreetingMessageQueue}, отдельно от окна и потока JavaFX.
+ *
+ * <p>Сообщения добавляются из любого потока, а забираются порциями одним потребителем. Потребитель будится
+ * ({@code wakeConsumer}) только когда в пустой буфер, который он уже опустошил, приходит сообщение, поэтому сколько бы
+ * сообщений ни добавлялось, одновременно ожидается не больше одного пробуждения.
+ */
+final class MessageBuffer {
+
+    private final int capacity;
+
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * Будит потребителя. Вызывается под {@link MessageBuffer#lock}, поэтому должен только передавать задачу дальше.
+     */
+    private final Runnable wakeConsumer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * Сообщения, ожидающие показа. Доступ - под {@link MessageBuffer#lock}.
+     */
+    private final ArrayDeque<String> messages = new ArrayDeque<String>();
+
+    /**
+     * {@code true}, пока потребитель разбужен и ещё не получил от {@link MessageBuffer#pollBatch()} {@code null}.
+     * Доступ - под {@link MessageBuffer#lock}.
+     */
+    private boolean active = false;
+
+    private boolean closed = false;
+
+    private final LongAdder droppedMessages = new LongAdder();
+
+    private final LongAdder mergedMessages = new LongAdder();
+
+    private volatile int batchSize = 1;
+
+    private volatile BinaryOperator<String> merger = (first, second) -> first + System.lineSeparator() + second;
+
+    /**
+     * Конструктор.
+     * @param capacity - максимальное количество сообщений.
+     * @param overflowPolicy - что делать с новым сообщением, если буфер заполнен.
+     * @param wakeConsumer - будит потребителя, когда появляются сообщения.
+     * @throws IllegalArgumentException если {@code capacity <= 0} или {@code overflowPolicy == null}.
+     */
+    MessageBuffer(int capacity, OverflowPolicy overflowPolicy, Runnable wakeConsumer) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity <= 0");
+        if (overflowPolicy == null) throw new IllegalArgumentException("overflowPolicy == null");
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.wakeConsumer = wakeConsumer;
+    }
+
+    /**
+     * Добавляет сообщение, не блокируя поток. Если буфер заполнен, поступает по {@link OverflowPolicy}.
+     * @return {@code false}, если сообщение отброшено ({@link OverflowPolicy#DROP_NEWEST}) или буфер закрыт.
+     */
+    boolean offer(String message) {
+        lock.lock();
+        try {
+            if (closed) return false;
+            if (messages.size() >= capacity) {
+                switch (overflowPolicy) {
+                    case DROP_NEWEST:
+                        droppedMessages.increment();
+                        return false;
+                    case DROP_OLDEST:
+                        messages.pollFirst();
+                        droppedMessages.increment();
+                        break;
+                    default:
+                        message = merger.apply(messages.pollLast(), message);
+                        mergedMessages.increment();
+                }
+            }
+            messages.addLast(message);
+            this.wakeIfIdle();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Добавляет сообщение, при заполненном буфере дожидаясь свободного места.
+     * @throws IllegalStateException если буфер закрыт.
+     * @throws InterruptedException если ожидание прервано.
+     */
+    void put(String message) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (messages.size() >= capacity && !closed) notFull.await();
+            if (closed) throw new IllegalStateException("queue is closed");
+            messages.addLast(message);
+            this.wakeIfIdle();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void wakeIfIdle() {
+        if (active) return;
+        active = true;
+        wakeConsumer.run();
+    }
+
+    /**
+     * Забирает следующую порцию сообщений, объединённую в один текст.
+     * @return текст или {@code null}, если буфер пуст (тогда следующее сообщение снова разбудит потребителя).
+     */
+    String pollBatch() {
+        lock.lock();
+        try {
+            String batch = messages.pollFirst();
+            if (batch == null) {
+                active = false;
+                return null;
+            }
+            for (int i = 1; i < batchSize && !messages.isEmpty(); i++) batch = merger.apply(batch, messages.pollFirst());
+            notFull.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Закрывает буфер: отбрасывает ожидающие сообщения и будит ждущих в {@link MessageBuffer#put}.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            messages.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    void setMerger(BinaryOperator<String> merger) {
+        this.merger = merger;
+    }
+
+    BinaryOperator<String> getMerger() {
+        return merger;
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return messages.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    long getDroppedCount() {
+        return droppedMessages.sum();
+    }
+
+    long getMergedCount() {
+        return mergedMessages.sum();
+    }
+}
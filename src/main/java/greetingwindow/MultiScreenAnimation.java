@@ -0,0 +1,76 @@
+package greetingwindow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import javafx.animation.Animation;
+import javafx.beans.value.WritableValue;
+import javafx.scene.Node;
+
+/**
+ * Анимация окон приветствия на всех экранах (см. {@link GreetingWindow#createStagesOnAllScreens}).
+ *
+ * <p>Вместо отдельной цепочки {@link GreetingWindowAnimation} на каждое окно создаётся один {@link AnimationPlanPlayer}
+ * для всех окон и одна анимация {@link PlanPlayerTransition}, которая его ведёт. С ростом количества экранов растёт
+ * только количество выставляемых значений прозрачности и отрисовка, а наблюдатель уведомляется один раз.
+ * Если заданы задачи запуска или сигнал готовности, план делится на две анимации: до и после ожидания.
+ */
+final class MultiScreenAnimation {
+
+    private MultiScreenAnimation() { }
+
+    /**
+     * Создаёт анимацию для всех окон и сразу скрывает элементы, которые должны появиться.
+     * @param settingsContainer - настройки анимации.
+     * @param plan - план анимации.
+     * @param windowOpacity - прозрачность каждого окна (или корня его сцены).
+     * @param texts - текст каждого окна.
+     * @param observer - наблюдатель, уведомляется один раз после окончания плана.
+     * @param startupTasks - задачи запуска, может быть {@code null}.
+     * @param readySignal - сигнал готовности, может быть {@code null}.
+     * @param frameRateMeter - счётчик фактической частоты кадров, может быть {@code null}.
+     * @return первая анимация, которая запустит остальные, или {@code null}, если в плане нет анимаций.
+     */
+    static Animation create(GreetingWindow settingsContainer, AnimationPlan plan, List<? extends WritableValue<Number>> windowOpacity, 
+            List<Node> texts, IAnimationWatcher observer, StartupTaskScheduler startupTasks, CompletableFuture<?> readySignal,
+            FrameRateMeter frameRateMeter) {
+        if (plan.isEmpty()) return null;
+        List<WritableValue<Number>> textOpacity = new ArrayList<WritableValue<Number>>(texts.size());
+        for (Node text : texts) textOpacity.add(text.opacityProperty());
+        AnimationPlanPlayer player = new AnimationPlanPlayer(plan, windowOpacity, textOpacity, observer);
+        player.start();
+
+        long total = plan.getTotalDurationInMills();
+        int gateIdx = startupTasks != null || readySignal != null ? plan.getFirstDisappearanceStepIndex() : -1;
+        long gateAt = gateIdx >= 0 ? plan.getSteps().get(gateIdx).getOffsetInMills() : total;
+
+        Animation first = MultiScreenAnimation.segment(settingsContainer, player, 0, gateAt, texts, frameRateMeter);
+        // Задачи запуска выполняются, пока идёт первый отрезок (как в GreetingWindowAnimation)
+        if (startupTasks != null) {
+            first.statusProperty().addListener((observable, oldStatus, newStatus) -> {
+                if (newStatus == Animation.Status.RUNNING) startupTasks.start();
+            });
+        }
+        if (gateAt == total) return first;
+
+        Animation afterGate = MultiScreenAnimation.segment(settingsContainer, player, gateAt, total, texts, frameRateMeter);
+        first.setOnFinished((event) -> GreetingWindowAnimation.runAfterGate(startupTasks, readySignal, afterGate::play));
+        return first;
+    }
+
+    private static Animation segment(GreetingWindow settingsContainer, AnimationPlanPlayer player, long fromMillis, long toMillis,
+            List<Node> texts, FrameRateMeter frameRateMeter) {
+        int frameRateCap = settingsContainer.getFrameRateCap();
+        // Ожидание можно повесить только на завершение анимации, поэтому даже пустой отрезок длится хотя бы 1мс
+        long end = Math.max(toMillis, fromMillis + 1);
+        Animation segment = frameRateCap > 0 
+            ? new PlanPlayerTransition(player, fromMillis, end, frameRateCap) 
+            : new PlanPlayerTransition(player, fromMillis, end);
+        if (settingsContainer.isEffectCaching()) {
+            for (Node text : texts) GreetingWindowAnimation.cacheWhileRunning(segment, text);
+        }
+        if (frameRateMeter != null) frameRateMeter.track(segment);
+        return segment;
+    }
+}
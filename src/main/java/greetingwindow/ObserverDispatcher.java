@@ -0,0 +1,265 @@
+package greetingwindow;
+
+import java.lang.System.Logger;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Уведомление наблюдателей, зарегистрированных через {@link GreetingWindow#addObserver}, по их {@link DispatchPolicy}.
+ *
+ * <p>Фоновые наблюдатели запускаются первыми, чтобы начать работу как можно раньше, затем в потоке JavaFX вызываются
+ * остальные. Окно ждёт только наблюдателей {@link DispatchPolicy#FX_THREAD}. Превышение времени сообщается получателю
+ * {@link ObserverTimeout}, а если он не задан - в {@link System.Logger} с уровнем {@code WARNING}.
+ *
+ * <p>Наблюдатели хранятся в списке с копированием при записи: регистрировать и удалять их можно из любого потока, в том
+ * числе во время уведомления. Уведомление проходит по снимку списка, поэтому наблюдатель, добавленный во время
+ * уведомления, будет вызван только при следующем окончании анимации.
+ */
+class ObserverDispatcher {
+
+    private static final Logger LOGGER = System.getLogger(GreetingWindow.class.getName());
+
+    /**
+     * Наблюдатели с политикой уведомления в порядке регистрации.
+     */
+    private final CopyOnWriteArrayList<Registration> registrations = new CopyOnWriteArrayList<Registration>();
+
+    /**
+     * Представление в виде списка наблюдателей для {@link GreetingWindow#observersList}.
+     */
+    private final List<IAnimationWatcher> observersView = new ObserversView();
+
+    /**
+     * Исполнитель для фоновых наблюдателей.
+     */
+    private volatile Executor executor = ForkJoinPool.commonPool();
+
+    /**
+     * Получатель сообщений о превышении времени. Может быть {@code null}.
+     */
+    private volatile Consumer<ObserverTimeout> timeoutListener;
+
+    ObserverHandle add(IAnimationWatcher observer, DispatchPolicy policy, long timeoutInMills) {
+        Registration registration = new Registration(observer, policy, timeoutInMills);
+        registrations.add(registration);
+        return new ObserverHandle(this, registration);
+    }
+
+    /**
+     * Удаляет регистрацию, если она ещё есть.
+     * @return {@code true}, если регистрация была удалена.
+     */
+    boolean remove(Object registration) {
+        return registrations.remove(registration);
+    }
+
+    boolean contains(Object registration) {
+        return registrations.contains(registration);
+    }
+
+    /**
+     * @return изменяемое представление всех наблюдателей в виде списка. Добавленные через него наблюдатели получают 
+     * политику {@link DispatchPolicy#FX_THREAD} без ограничения времени.
+     */
+    List<IAnimationWatcher> asList() {
+        return observersView;
+    }
+
+    /**
+     * Запускает наблюдателей {@link DispatchPolicy#BACKGROUND} и {@link DispatchPolicy#FIRE_AND_FORGET}, не дожидаясь их.
+     */
+    void dispatchBackground() {
+        for (Registration registration : registrations) {
+            if (registration.observer == null) continue;
+            if (registration.policy == DispatchPolicy.FIRE_AND_FORGET) {
+                executor.execute(() -> ObserverDispatcher.notifyObserver(registration.observer));
+            } else if (registration.policy == DispatchPolicy.BACKGROUND) {
+                this.dispatchTracked(registration);
+            }
+        }
+    }
+
+    /**
+     * Вызывает наблюдателей {@link DispatchPolicy#FX_THREAD} в текущем потоке и сообщает о тех, кто работал слишком долго.
+     */
+    void dispatchOnFxThread() {
+        for (Registration registration : registrations) {
+            if (registration.observer == null || registration.policy != DispatchPolicy.FX_THREAD) continue;
+            long startedAt = System.nanoTime();
+            ObserverDispatcher.notifyObserver(registration.observer);
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            if (registration.timeoutInMills > 0 && elapsed > registration.timeoutInMills)
+                this.report(new ObserverTimeout(registration.observer, registration.policy, registration.timeoutInMills, elapsed, false));
+        }
+    }
+
+    /**
+     * Запускает наблюдателя в исполнителе и следит за временем его работы. Сам наблюдатель по истечении времени не
+     * прерывается. Исключение наблюдателя передаётся обработчику потока исполнителя, даже если оно выброшено уже после 
+     * истечения времени: время отслеживается на отдельной копии результата, которая нужна только для сообщения о нём.
+     * @param registration - наблюдатель с политикой {@link DispatchPolicy#BACKGROUND}.
+     */
+    private void dispatchTracked(Registration registration) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> ObserverDispatcher.notifyObserver(registration.observer), executor);
+        future.whenComplete((result, error) -> {
+            if (error == null) return;
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, ObserverDispatcher.unwrap(error));
+        });
+        if (registration.timeoutInMills <= 0) return;
+        future.copy().orTimeout(registration.timeoutInMills, TimeUnit.MILLISECONDS).whenComplete((result, error) -> {
+            if (!(ObserverDispatcher.unwrap(error) instanceof TimeoutException)) return;
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            this.report(new ObserverTimeout(registration.observer, registration.policy, registration.timeoutInMills, elapsed, true));
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Уведомляет одного наблюдателя в текущем потоке и, если JFR запускался, записывает событие JFR.
+     * @param observer - наблюдатель.
+     */
+    static void notifyObserver(IAnimationWatcher observer) {
+        if (!GreetingWindowEvents.isRecorderInitialized()) {
+            observer.invokeAfterAnimation();
+            return;
+        }
+        GreetingWindowEvents.ObserverDispatch event = new GreetingWindowEvents.ObserverDispatch();
+        event.begin();
+        observer.invokeAfterAnimation();
+        event.observerClass = observer.getClass();
+        event.commit();
+    }
+
+    private void report(ObserverTimeout timeout) {
+        Consumer<ObserverTimeout> listener = this.timeoutListener;
+        if (listener != null) listener.accept(timeout);
+        else LOGGER.log(Logger.Level.WARNING, timeout.toString());
+    }
+
+    void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    Executor getExecutor() {
+        return executor;
+    }
+
+    void setTimeoutListener(Consumer<ObserverTimeout> timeoutListener) {
+        this.timeoutListener = timeoutListener;
+    }
+
+    Consumer<ObserverTimeout> getTimeoutListener() {
+        return timeoutListener;
+    }
+
+    /**
+     * Список наблюдателей поверх регистраций. Операции по индексу атомарны сами по себе, но индексы могут сдвигаться, 
+     * если другие потоки меняют список одновременно; итератор работает по снимку.
+     */
+    private class ObserversView extends AbstractList<IAnimationWatcher> implements RandomAccess {
+
+        @Override
+        public IAnimationWatcher get(int index) {
+            return registrations.get(index).observer;
+        }
+
+        @Override
+        public int size() {
+            return registrations.size();
+        }
+
+        @Override
+        public void add(int index, IAnimationWatcher observer) {
+            registrations.add(index, new Registration(observer, DispatchPolicy.FX_THREAD, 0));
+        }
+
+        @Override
+        public boolean add(IAnimationWatcher observer) {
+            return registrations.add(new Registration(observer, DispatchPolicy.FX_THREAD, 0));
+        }
+
+        @Override
+        public IAnimationWatcher set(int index, IAnimationWatcher observer) {
+            return registrations.set(index, new Registration(observer, DispatchPolicy.FX_THREAD, 0)).observer;
+        }
+
+        @Override
+        public IAnimationWatcher remove(int index) {
+            return registrations.remove(index).observer;
+        }
+
+        @Override
+        public boolean remove(Object observer) {
+            for (Registration registration : registrations) {
+                if (registration.observer == observer || (observer != null && observer.equals(registration.observer)))
+                    return registrations.remove(registration);
+            }
+            return false;
+        }
+
+        @Override
+        public void clear() {
+            registrations.clear();
+        }
+
+        /**
+         * Итератор по снимку регистраций. {@link Iterator#remove()} удаляет именно ту регистрацию, которую вернул последний
+         * {@link Iterator#next()}, даже если список уже изменили другие потоки, поэтому работают и {@code removeIf}.
+         */
+        @Override
+        public Iterator<IAnimationWatcher> iterator() {
+            Iterator<Registration> snapshot = registrations.iterator();
+            return new Iterator<IAnimationWatcher>() {
+                private Registration last;
+
+                @Override
+                public boolean hasNext() {
+                    return snapshot.hasNext();
+                }
+
+                @Override
+                public IAnimationWatcher next() {
+                    last = snapshot.next();
+                    return last.observer;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) throw new IllegalStateException("next() was not called or remove() was already called");
+                    registrations.remove(last);
+                    last = null;
+                }
+            };
+        }
+    }
+
+    /**
+     * Наблюдатель вместе с политикой уведомления и допустимым временем работы (0 - без ограничения).
+     */
+    private static class Registration {
+        private final IAnimationWatcher observer;
+        private final DispatchPolicy policy;
+        private final long timeoutInMills;
+
+        private Registration(IAnimationWatcher observer, DispatchPolicy policy, long timeoutInMills) {
+            this.observer = observer;
+            this.policy = policy;
+            this.timeoutInMills = timeoutInMills;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package greetingwindow;
+
+/**
+ * Регистрация наблюдателя в окне приветствия, см. {@link GreetingWindow#registerObserver}. Позволяет отписать именно эту
+ * регистрацию, даже если один и тот же наблюдатель добавлен несколько раз. Методы можно вызывать из любого потока.
+ */
+public final class ObserverHandle {
+
+    private final ObserverDispatcher dispatcher;
+
+    private final Object registration;
+
+    ObserverHandle(ObserverDispatcher dispatcher, Object registration) {
+        this.dispatcher = dispatcher;
+        this.registration = registration;
+    }
+
+    /**
+     * Отписывает наблюдателя. Если уведомление уже идёт, наблюдатель ещё может быть вызван в нём.
+     * @return {@code true}, если регистрация была активна и удалена этим вызовом.
+     */
+    public boolean remove() {
+        return dispatcher.remove(registration);
+    }
+
+    /**
+     * @return {@code true}, если наблюдатель всё ещё подписан.
+     */
+    public boolean isRegistered() {
+        return dispatcher.contains(registration);
+    }
+}
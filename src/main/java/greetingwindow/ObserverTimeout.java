@@ -0,0 +1,54 @@
+package greetingwindow;
+
+/**
+ * Сообщение о наблюдателе, который не уложился в отведённое время (см. {@link GreetingWindow#addObserver}).
+ */
+public final class ObserverTimeout {
+
+    private final IAnimationWatcher observer;
+    private final DispatchPolicy policy;
+    private final long timeoutInMills;
+    private final long elapsedInMills;
+    private final boolean stillRunning;
+
+    ObserverTimeout(IAnimationWatcher observer, DispatchPolicy policy, long timeoutInMills, long elapsedInMills,
+            boolean stillRunning) {
+        this.observer = observer;
+        this.policy = policy;
+        this.timeoutInMills = timeoutInMills;
+        this.elapsedInMills = elapsedInMills;
+        this.stillRunning = stillRunning;
+    }
+
+    public IAnimationWatcher getObserver() {
+        return observer;
+    }
+
+    public DispatchPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getTimeoutInMills() {
+        return timeoutInMills;
+    }
+
+    /**
+     * @return сколько времени прошло от начала уведомления до момента сообщения.
+     */
+    public long getElapsedInMills() {
+        return elapsedInMills;
+    }
+
+    /**
+     * @return {@code true}, если наблюдатель на момент сообщения ещё выполняется (для {@link DispatchPolicy#BACKGROUND}).
+     */
+    public boolean isStillRunning() {
+        return stillRunning;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Observer %s (%s) exceeded %dms: %dms%s", observer.getClass().getName(), policy,
+            timeoutInMills, elapsedInMills, stillRunning ? " and is still running" : "");
+    }
+}
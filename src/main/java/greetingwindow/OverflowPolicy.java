@@ -0,0 +1,13 @@
+package greetingwindow;
+
+/**
+ * Перечисление информирует о том, что делает {@link GreetingMessageQueue#offer(String)}, когда очередь сообщений заполнена.
+ * DROP_NEWEST - новое сообщение отбрасывается;
+ * DROP_OLDEST - отбрасывается самое старое сообщение в очереди, новое добавляется в конец;
+ * MERGE - новое сообщение объединяется с последним сообщением в очереди (см. {@link GreetingMessageQueue#setMerger}).
+ */
+public enum OverflowPolicy {
+    DROP_NEWEST,
+    DROP_OLDEST,
+    MERGE;
+}
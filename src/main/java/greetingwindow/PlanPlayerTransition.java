@@ -0,0 +1,62 @@
+package greetingwindow;
+
+import javafx.animation.Interpolator;
+import javafx.animation.Transition;
+import javafx.util.Duration;
+
+/**
+ * Анимация JavaFX, которая на каждом кадре передаёт время в {@link AnimationPlanPlayer}. Одна такая анимация ведёт сразу
+ * все окна проигрывателя, поэтому затраты на учёт анимаций не зависят от количества окон.
+ *
+ * <p>Проигрывает отрезок плана {@code [fromMillis, toMillis]}: весь план целиком или его часть до или после ожидания
+ * задач запуска.
+ */
+class PlanPlayerTransition extends Transition {
+
+    private final AnimationPlanPlayer player;
+
+    private final long fromMillis;
+
+    private final long toMillis;
+
+    /**
+     * Конструктор.
+     * @param player - проигрыватель плана.
+     * @param fromMillis - начало отрезка плана.
+     * @param toMillis - конец отрезка плана.
+     */
+    PlanPlayerTransition(AnimationPlanPlayer player, long fromMillis, long toMillis) {
+        super();
+        this.player = player;
+        this.fromMillis = fromMillis;
+        this.toMillis = toMillis;
+        this.configure();
+    }
+
+    /**
+     * Конструктор с ограничением частоты кадров, см. {@link GreetingWindow#setFrameRateCap}.
+     * @param player - проигрыватель плана.
+     * @param fromMillis - начало отрезка плана.
+     * @param toMillis - конец отрезка плана.
+     * @param frameRateCap - максимальное количество кадров в секунду.
+     */
+    PlanPlayerTransition(AnimationPlanPlayer player, long fromMillis, long toMillis, int frameRateCap) {
+        super(frameRateCap);
+        this.player = player;
+        this.fromMillis = fromMillis;
+        this.toMillis = toMillis;
+        this.configure();
+    }
+
+    private void configure() {
+        // Сглаживание уже учтено в проигрывателе, время должно идти равномерно
+        this.setInterpolator(Interpolator.LINEAR);
+        this.setCycleDuration(Duration.millis(toMillis - fromMillis));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void interpolate(double frac) {
+        player.applyAt(fromMillis + Math.round(frac * (toMillis - fromMillis)));
+    }
+}
@@ -0,0 +1,161 @@
+package greetingwindow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Планировщик задач запуска приложения, которые выполняются параллельно, пока проигрывается анимация окна приветствия.
+ *
+ * <p>Задачи регистрируются под уникальными именами и могут зависеть друг от друга (зависимости образуют ориентированный
+ * ациклический граф). Задача запускается на {@link Executor} сразу после завершения всех её зависимостей, независимые задачи
+ * выполняются одновременно.
+ *
+ * <p>Если планировщик передан в {@link GreetingWindow#setStartupTasks(StartupTaskScheduler)}, то окно запустит задачи
+ * вместе с первой анимацией и не начнёт фазу исчезновения, пока не завершатся все задачи.
+ *
+ * <p>Если задача завершилась с исключением, то зависящие от неё задачи не выполняются, а общий результат
+ * {@link StartupTaskScheduler#start()} завершается исключительно. Так же, но не запустив ни одной задачи, он завершается при
+ * ошибке в графе зависимостей. Окно приветствия при этом всё равно продолжит анимацию.
+ */
+public class StartupTaskScheduler {
+
+    /**
+     * Исполнитель, на котором запускаются задачи.
+     */
+    private final Executor executor;
+
+    /**
+     * Зарегистрированные задачи в порядке добавления.
+     */
+    private final Map<String, StartupTask> tasks = new LinkedHashMap<String, StartupTask>();
+
+    /**
+     * Общий результат всех задач. Не {@code null} после первого вызова {@link StartupTaskScheduler#start()}.
+     */
+    private CompletableFuture<Void> allTasks;
+
+    /**
+     * Конструктор по умолчанию. Задачи будут выполняться в {@link ForkJoinPool#commonPool()}.
+     */
+    public StartupTaskScheduler() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Конструктор.
+     * @param executor - исполнитель, на котором будут запускаться задачи.
+     * @throws IllegalArgumentException если {@code executor == null}.
+     */
+    public StartupTaskScheduler(Executor executor) {
+        if (executor == null) throw new IllegalArgumentException("executor == null");
+        this.executor = executor;
+    }
+
+    /**
+     * Регистрирует задачу. Зависимости могут быть зарегистрированы позже, проверка графа выполняется при запуске.
+     * @param name - уникальное имя задачи.
+     * @param task - сама задача.
+     * @param dependsOn - имена задач, которые должны завершиться до начала этой задачи.
+     * @return этот же планировщик для вызова методов в цепочке.
+     * @throws IllegalArgumentException если один из аргументов == null или задача с таким именем уже есть.
+     * @throws IllegalStateException если задачи уже запущены.
+     */
+    public synchronized StartupTaskScheduler addTask(String name, Runnable task, String... dependsOn) {
+        if (name == null) throw new IllegalArgumentException("name == null");
+        if (task == null) throw new IllegalArgumentException("task == null");
+        if (dependsOn == null) throw new IllegalArgumentException("dependsOn == null");
+        if (allTasks != null) throw new IllegalStateException("Tasks are already started");
+        if (tasks.containsKey(name)) throw new IllegalArgumentException("Task '" + name + "' is already registered");
+
+        tasks.put(name, new StartupTask(task, Arrays.asList(dependsOn.clone())));
+        return this;
+    }
+
+    /**
+     * Запускает все зарегистрированные задачи. Повторный вызов не запускает задачи заново, а возвращает тот же результат.
+     *
+     * <p>Сначала проверяется весь граф зависимостей и только потом задачи передаются исполнителю. Если задача зависит от
+     * незарегистрированной задачи или в зависимостях есть цикл, ни одна задача не запускается, а результат сразу
+     * завершается исключительно с {@link IllegalStateException}. Метод не бросает исключений, поэтому его можно вызывать
+     * из обработчиков JavaFX: окно приветствия всё равно дождётся результата и продолжит анимацию.
+     * @return результат, который завершится, когда будут выполнены все задачи.
+     */
+    public synchronized CompletableFuture<Void> start() {
+        if (allTasks != null) return allTasks;
+
+        Set<String> order = new LinkedHashSet<String>();
+        try {
+            for (String name : tasks.keySet())
+                this.sortTask(name, order, new ArrayList<String>());
+        } catch (IllegalStateException e) {
+            allTasks = CompletableFuture.failedFuture(e);
+            return allTasks;
+        }
+
+        Map<String, CompletableFuture<Void>> started = new HashMap<String, CompletableFuture<Void>>();
+        for (String name : order) {
+            StartupTask task = tasks.get(name);
+            CompletableFuture<?>[] dependencies = new CompletableFuture<?>[task.dependsOn.size()];
+            for (int i = 0; i < dependencies.length; i++)
+                dependencies[i] = started.get(task.dependsOn.get(i));
+            started.put(name, CompletableFuture.allOf(dependencies).thenRunAsync(task.action, executor));
+        }
+
+        allTasks = CompletableFuture.allOf(started.values().toArray(new CompletableFuture<?>[0]));
+        return allTasks;
+    }
+
+    /**
+     * Проверяет, были ли задачи запущены.
+     * @return {@code true}, если {@link StartupTaskScheduler#start()} уже вызывался.
+     */
+    public synchronized boolean isStarted() {
+        return allTasks != null;
+    }
+
+    /**
+     * Рекурсивно добавляет задачу в порядок запуска после её зависимостей (топологическая сортировка).
+     * @param name - имя задачи.
+     * @param order - задачи в порядке запуска: каждая после всех своих зависимостей.
+     * @param path - цепочка задач, которые сейчас находятся в обработке (для поиска циклов).
+     * @throws IllegalStateException если задача не зарегистрирована или в зависимостях есть цикл.
+     */
+    private void sortTask(String name, Set<String> order, List<String> path) {
+        if (order.contains(name)) return;
+
+        StartupTask task = tasks.get(name);
+        if (task == null)
+            throw new IllegalStateException("Unknown startup task '" + name + "' in dependencies of '" + path.get(path.size() - 1) + "'");
+        if (path.contains(name))
+            throw new IllegalStateException("Cyclic dependency between startup tasks: " + path + " -> " + name);
+
+        path.add(name);
+        for (String dependency : task.dependsOn)
+            this.sortTask(dependency, order, path);
+        path.remove(path.size() - 1);
+
+        order.add(name);
+    }
+
+    /**
+     * Зарегистрированная задача вместе со списком зависимостей.
+     */
+    private static class StartupTask {
+        private final Runnable action;
+        private final List<String> dependsOn;
+
+        private StartupTask(Runnable action, List<String> dependsOn) {
+            this.action = action;
+            this.dependsOn = dependsOn;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package greetingwindow;
+
+/**
+ * Перечисление информирует о том, чем отрисовывается текст приветствия.
+ * LABEL - живой {@code Label}: разметка, CSS и растеризация шрифта выполняются при каждой перерисовке;
+ * RASTERIZED - текст один раз отрисовывается в картинку (см. {@link TextSnapshotCache}), а анимируется {@code ImageView};
+ * LIGHTWEIGHT - {@code javafx.scene.text.Text} в простой панели: классы и стили {@code javafx.controls} не загружаются.
+ */
+public enum TextRenderMode {
+    LABEL,
+    RASTERIZED,
+    LIGHTWEIGHT;
+}
@@ -0,0 +1,138 @@
+package greetingwindow;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.scene.transform.Transform;
+
+/**
+ * Общий для всего процесса кэш отрисованного текста приветствия для режима {@link TextRenderMode#RASTERIZED}.
+ *
+ * <p>Ключ кэша - текст, шрифт, цвет текста, цвет тени (или её отсутствие) и масштаб экрана. Окна с одинаковым приветствием
+ * получают одну и ту же картинку, и текст не растеризуется повторно. Количество хранимых картинок ограничено, при
+ * переполнении вытесняется дольше всех не использовавшаяся. Картинки создаются только в потоке JavaFX.
+ */
+public final class TextSnapshotCache {
+
+    /**
+     * Максимальное количество картинок в кэше по умолчанию.
+     */
+    public static final int DEFAULT_CAPACITY = 8;
+
+    /**
+     * Сами картинки.
+     */
+    private static final LruCache<Key, Image> snapshots = new LruCache<Key, Image>(DEFAULT_CAPACITY);
+
+    private TextSnapshotCache() { }
+
+    /**
+     * Возвращает картинку из кэша, при отсутствии - отрисовывает текст и кладёт картинку в кэш. Вызывается в потоке JavaFX.
+     * @param text - текст.
+     * @param font - шрифт.
+     * @param textFill - цвет текста.
+     * @param shadowColor - цвет тени или {@code null}, если тени нет.
+     * @param scale - масштаб экрана, в котором будет показана картинка.
+     * @param nodeFactory - создаёт настроенный узел с текстом, если картинки в кэше нет.
+     * @return картинка с текстом на прозрачном фоне в пикселях экрана (размер в логических единицах - делённый на {@code scale}).
+     */
+    static Image get(String text, Font font, Paint textFill, Color shadowColor, double scale, Supplier<Node> nodeFactory) {
+        Key key = new Key(text, font, textFill, shadowColor, scale);
+        Image image = snapshots.get(key);
+        if (image != null) return image;
+
+        image = TextSnapshotCache.snapshot(nodeFactory.get(), scale);
+        snapshots.put(key, image);
+        return image;
+    }
+
+    /**
+     * Отрисовывает узел вместе с эффектом в картинку. Узел временно помещается в отдельную сцену, чтобы применились стили.
+     * @param node - узел с текстом.
+     * @param scale - масштаб экрана.
+     * @return картинка на прозрачном фоне.
+     */
+    private static Image snapshot(Node node, double scale) {
+        new Scene(new Group(node));
+        node.applyCss();
+        if (node instanceof Parent) {
+            ((Parent) node).autosize();
+            ((Parent) node).layout();
+        }
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        parameters.setTransform(Transform.scale(scale, scale));
+        return node.snapshot(parameters, null);
+    }
+
+    /**
+     * Задаёт максимальное количество картинок в кэше. Лишние картинки вытесняются сразу.
+     * @param newCapacity - новое ограничение.
+     * @throws IllegalArgumentException если {@code newCapacity <= 0}.
+     */
+    public static void setCapacity(int newCapacity) {
+        snapshots.setCapacity(newCapacity);
+    }
+
+    public static int getCapacity() {
+        return snapshots.getCapacity();
+    }
+
+    /**
+     * @return количество картинок, которые сейчас хранятся в кэше.
+     */
+    public static int size() {
+        return snapshots.size();
+    }
+
+    /**
+     * Очищает кэш.
+     */
+    public static void clear() {
+        snapshots.clear();
+    }
+
+    /**
+     * Ключ кэша: всё, что влияет на вид отрисованного текста.
+     */
+    private static final class Key {
+        private final String text;
+        private final Font font;
+        private final Paint textFill;
+        private final Color shadowColor;
+        private final double scale;
+
+        private Key(String text, Font font, Paint textFill, Color shadowColor, double scale) {
+            this.text = text;
+            this.font = font;
+            this.textFill = textFill;
+            this.shadowColor = shadowColor;
+            this.scale = scale;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return Objects.equals(text, other.text) && Objects.equals(font, other.font)
+                && Objects.equals(textFill, other.textFill) && Objects.equals(shadowColor, other.shadowColor)
+                && Double.compare(scale, other.scale) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, font, textFill, shadowColor, scale);
+        }
+    }
+}
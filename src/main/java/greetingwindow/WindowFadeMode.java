@@ -0,0 +1,13 @@
+package greetingwindow;
+
+/**
+ * Перечисление информирует о том, как анимируется прозрачность окна.
+ * STAGE_OPACITY - меняется прозрачность самого {@code Stage}, то есть на каждом кадре вызывается нативная установка 
+ * прозрачности окна;
+ * SCENE_ROOT - окно создаётся со стилем {@code StageStyle.TRANSPARENT}, фон окна рисует корень сцены, и меняется 
+ * прозрачность корня внутри графа сцены. Выглядит так же, но обходится без нативных вызовов на каждом кадре.
+ */
+public enum WindowFadeMode {
+    STAGE_OPACITY,
+    SCENE_ROOT;
+}
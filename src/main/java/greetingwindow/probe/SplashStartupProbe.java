@@ -0,0 +1,86 @@
+package greetingwindow.probe;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+
+import greetingwindow.AnimaTarget;
+import greetingwindow.GreetingWindow;
+import greetingwindow.TextRenderMode;
+import javafx.application.Platform;
+import javafx.event.EventHandler;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
+
+/**
+ * Точка входа для образа {@code fast-splash} (профиль Maven {@code fast-splash}): запускает JavaFX, показывает окно
+ * приветствия через {@link GreetingWindow#createStageWithAnimationOnShowing(AnimaTarget, AnimaTarget)} с короткой анимацией
+ * и печатает время от старта процесса до первого показанного кадра в виде {@code time-to-first-frame-ms=<число>}, а также,
+ * если в среде выполнения есть модуль {@code java.management} (в образе {@code fast-splash} его нет), количество классов,
+ * загруженных к этому моменту, в виде {@code classes-loaded-before-first-frame=<число>}.
+ * Первым аргументом можно передать режим отрисовки текста ({@link TextRenderMode}), например, {@code LIGHTWEIGHT}.
+ * После завершения анимации процесс завершается.
+ *
+ * <p>Этот же запуск используется как тренировочный для архива CDS: за один прогон загружаются все классы, нужные окну.
+ *
+ * <p>Это инструмент для замеров, а не часть библиотеки: пакет {@code greetingwindow.probe} модулем не экспортируется, 
+ * класс запускается только как {@code -m greetingwindow/greetingwindow.probe.SplashStartupProbe}.
+ */
+public final class SplashStartupProbe {
+
+    /**
+     * Длительность каждой анимации в миллисекундах.
+     */
+    private static final int ANIMATION_TIME_IN_MILLS = 200;
+
+    private SplashStartupProbe() { }
+
+    public static void main(String[] args) {
+        long processStartMillis = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElse(System.currentTimeMillis());
+        TextRenderMode textRenderMode = args.length > 0 ? TextRenderMode.valueOf(args[0]) : TextRenderMode.LABEL;
+
+        Platform.startup(() -> {
+            GreetingWindow gw = new GreetingWindow("Greeting");
+            gw.setTextRenderMode(textRenderMode)
+                .setTimeOfWindowAppearanceInMills(ANIMATION_TIME_IN_MILLS)
+                .setTimeOfTextAppearanceInMills(ANIMATION_TIME_IN_MILLS)
+                .setTimeOfTextDisappearanceInMills(ANIMATION_TIME_IN_MILLS)
+                .setTimeOfWindowDisappearanceInMills(ANIMATION_TIME_IN_MILLS);
+            gw.observersList.add(Platform::exit);
+
+            Stage stage = gw.createStageWithAnimationOnShowing(AnimaTarget.BOTH, AnimaTarget.BOTH);
+            SplashStartupProbe.onFirstFrame(stage, () -> {
+                System.out.println("time-to-first-frame-ms=" + (System.currentTimeMillis() - processStartMillis));
+                if (ModuleLayer.boot().findModule("java.management").isPresent()) {
+                    System.out.println("classes-loaded-before-first-frame=" 
+                        + ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount());
+                }
+            });
+            stage.show();
+        });
+    }
+
+    /**
+     * Выполняет действие один раз: после показа окна, в первом импульсе, в котором сцена отрисовывается.
+     * @param stage - окно со сценой.
+     * @param action - действие, выполняется в потоке JavaFX.
+     */
+    private static void onFirstFrame(Stage stage, Runnable action) {
+        stage.addEventHandler(WindowEvent.WINDOW_SHOWN, new EventHandler<WindowEvent>() {
+            @Override
+            public void handle(WindowEvent event) {
+                stage.removeEventHandler(WindowEvent.WINDOW_SHOWN, this);
+                Scene scene = stage.getScene();
+                scene.addPostLayoutPulseListener(new Runnable() {
+                    @Override
+                    public void run() {
+                        scene.removePostLayoutPulseListener(this);
+                        action.run();
+                    }
+                });
+            }
+        });
+    }
+}
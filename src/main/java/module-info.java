@@ -1,6 +1,8 @@
 module greetingwindow {
     requires javafx.controls;
     requires javafx.graphics;
+    requires static jdk.jfr;
+    requires static java.management;
     opens greetingwindow to javafx.graphics;
     exports greetingwindow;
 }
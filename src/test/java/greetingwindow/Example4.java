@@ -0,0 +1,40 @@
+package greetingwindow;
+
+import org.junit.Test;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.stage.Stage;
+
+/**
+ * Запуск окна приветствия первой строкой main, параллельно с инициализацией приложения, без Application.start.
+ */
+public class Example4 {
+
+    @Test
+    public void startTest() throws Exception {
+        Example4.main(new String[0]);
+        // Ждём, пока пользователь закроет главное окно
+        Thread.currentThread().join();
+    }
+
+    public static void main(String[] args) throws Exception {
+        // JavaFX запускается в отдельном потоке, окно появится, как только он будет готов
+        GreetingWindowLauncher splash = GreetingWindowLauncher.launch(
+            () -> new GreetingWindow("Greeting").setText("Loading..."), AnimaTarget.BOTH, AnimaTarget.BOTH);
+
+        // А в это время основной поток инициализирует приложение
+        Thread.sleep(3000);
+
+        // Главное окно открывается в потоке JavaFX сразу после анимации: задача попадает в очередь JavaFX до закрытия 
+        // окна приветствия
+        splash.whenFinished().thenRunAsync(() -> {
+            Stage mainStage = new Stage();
+            mainStage.setScene(new Scene(new Label("Main window"), 300, 200));
+            mainStage.show();
+        }, Platform::runLater);
+        // Окно приветствия может исчезать
+        splash.markReady();
+    }
+}
@@ -0,0 +1,116 @@
+package greetingwindow;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javafx.application.Platform;
+
+/**
+ * Настоящий JavaFX без дисплея для проверок, которым нужны импульсы анимаций, окна или поток JavaFX.
+ *
+ * <p>JavaFX запускается один раз на всю JVM через Monocle ({@code glass.platform=Monocle, monocle.platform=Headless}) с
+ * программной отрисовкой. Время анимаций идёт по виртуальным часам JavaFX: каждый импульс сдвигает его ровно на один кадр
+ * (1/60 с, {@code com.sun.scenario.animation.fixed.pulse.length}), а импульсы идут без пауз
+ * ({@code javafx.animation.fullspeed}), так что секунды анимации проходят за десятки миллисекунд и не зависят от нагрузки.
+ *
+ * <p>Свойства задаются в maven-surefire-plugin (pom.xml), здесь они ставятся только если тест запущен без него.
+ * Текст на экран не выводится: в окружении сборки может не быть библиотек для разметки шрифтов.
+ */
+final class HeadlessFx {
+
+    /**
+     * Сколько ждать действия в потоке JavaFX.
+     */
+    static final long TIMEOUT_SECONDS = 10;
+
+    private static boolean started = false;
+
+    private HeadlessFx() { }
+
+    /**
+     * Запускает JavaFX, если он ещё не запущен.
+     */
+    static synchronized void start() {
+        if (started) return;
+        HeadlessFx.setDefault("glass.platform", "Monocle");
+        HeadlessFx.setDefault("monocle.platform", "Headless");
+        HeadlessFx.setDefault("prism.order", "sw");
+        HeadlessFx.setDefault("com.sun.scenario.animation.fixed.pulse.length", "true");
+        HeadlessFx.setDefault("javafx.animation.fullspeed", "true");
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.startup(latch::countDown);
+        Platform.setImplicitExit(false);
+        HeadlessFx.await(latch);
+        started = true;
+    }
+
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) System.setProperty(key, value);
+    }
+
+    /**
+     * Выполняет действие в потоке JavaFX и ждёт результат.
+     * @param action - действие.
+     * @return результат действия.
+     */
+    static <T> T call(Callable<T> action) {
+        HeadlessFx.start();
+        CompletableFuture<T> result = new CompletableFuture<T>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(action.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return HeadlessFx.await(result);
+    }
+
+    /**
+     * Выполняет действие в потоке JavaFX и ждёт его завершения.
+     * @param action - действие.
+     */
+    static void run(Runnable action) {
+        HeadlessFx.call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Ждёт результат, выполняемый в потоке JavaFX (например, окончание анимации).
+     * @param future - ожидаемый результат.
+     * @return значение результата.
+     */
+    static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException | TimeoutException e) {
+            throw new AssertionError("JavaFX action did not finish in " + TIMEOUT_SECONDS + " s", e);
+        }
+    }
+
+    /**
+     * Ждёт, пока пройдут все уже поставленные в очередь JavaFX действия.
+     */
+    static void flush() {
+        HeadlessFx.run(() -> { });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) throw new AssertionError("JavaFX did not start");
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Проверка подстройки времени показа по истории запусков без JavaFX.
+ */
+public class TestAdaptiveTiming {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AnimationPlan plan = AnimationPlan.of(AnimaTarget.BOTH, AnimaTarget.BOTH, new int[] { 0, 0, 500 }, 
+        1000, 2000, 1000, 1000);
+
+    private Path historyFile() {
+        return folder.getRoot().toPath().resolve("app").resolve("splash.timing");
+    }
+
+    @Test
+    public void testWithoutHistoryPlanIsNotChanged() {
+        assertSame(plan, new AdaptiveTiming(historyFile()).adapt(plan));
+    }
+
+    @Test
+    public void testHoldIsScaledToPredictedReadyTimeWithinBounds() {
+        AdaptiveTiming timing = new AdaptiveTiming(historyFile());
+        timing.recordTimeToReady(9000);
+        timing.recordTimeToReady(7000);
+        timing.recordTimeToReady(60000);
+        assertEquals(9000, timing.predictTimeToReadyInMills());
+
+        AnimationPlan adapted = timing.adapt(plan);
+        assertEquals(9000, adapted.getTotalDurationInMills());
+        assertArrayEquals(new int[] { 0, 0, 4000 }, adapted.getDelaysInMills());
+
+        timing.setHoldBoundsInMills(1000, 2000);
+        assertEquals(7000, timing.adapt(plan).getTotalDurationInMills());
+        timing.clearHistory();
+        timing.recordTimeToReady(100);
+        assertEquals(6000, timing.adapt(plan).getTotalDurationInMills());
+    }
+
+    @Test
+    public void testHistoryIsPersistedAndTrimmed() throws Exception {
+        AdaptiveTiming timing = new AdaptiveTiming(historyFile()).setHistorySize(3);
+        for (int run = 1; run <= 5; run++) timing.recordTimeToReady(run * 1000);
+
+        assertArrayEquals(new int[] { 3000, 4000, 5000 }, new AdaptiveTiming(historyFile()).getHistory());
+        assertEquals(6 + 3 * 4, Files.size(historyFile()));
+        try (var files = Files.list(historyFile().getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void testHistoryIsReadInConstructor() throws Exception {
+        new AdaptiveTiming(historyFile()).recordTimeToReady(8000);
+        AdaptiveTiming timing = new AdaptiveTiming(historyFile());
+        Files.delete(historyFile());
+
+        assertEquals(8000, timing.predictTimeToReadyInMills());
+        assertEquals(8000, timing.adapt(plan).getTotalDurationInMills());
+    }
+
+    @Test
+    public void testSmallerHistorySizeIsAppliedToReadHistory() {
+        AdaptiveTiming writer = new AdaptiveTiming(historyFile());
+        for (int run = 1; run <= 4; run++) writer.recordTimeToReady(run * 1000);
+
+        AdaptiveTiming timing = new AdaptiveTiming(historyFile()).setHistorySize(2);
+        assertArrayEquals(new int[] { 3000, 4000 }, timing.getHistory());
+        timing.setHistorySize(8);
+        assertArrayEquals(new int[] { 1000, 2000, 3000, 4000 }, timing.getHistory());
+    }
+
+    @Test
+    public void testDamagedFileIsTreatedAsEmptyHistory() throws Exception {
+        Files.createDirectories(historyFile().getParent());
+        Files.write(historyFile(), new byte[] { 1, 2, 3 });
+        AdaptiveTiming timing = new AdaptiveTiming(historyFile());
+
+        assertEquals(-1, timing.predictTimeToReadyInMills());
+        timing.recordTimeToReady(4000);
+        assertArrayEquals(new int[] { 4000 }, new AdaptiveTiming(historyFile()).getHistory());
+    }
+
+    @Test
+    public void testReadyIsRecordedOncePerSplash() {
+        AdaptiveTiming timing = new AdaptiveTiming(historyFile());
+        timing.ready();
+        timing.splashStarted();
+        timing.ready();
+        timing.ready();
+        assertEquals(1, timing.getHistory().length);
+    }
+
+    @Test
+    public void testReadySavesHistoryInBackground() throws Exception {
+        AdaptiveTiming timing = new AdaptiveTiming(historyFile());
+        timing.splashStarted();
+        timing.ready();
+        assertEquals(1, timing.getHistory().length);
+
+        // Файл пишется в потоке загрузчика, дожидаемся задач, поставленных перед этой
+        BackgroundLoader.EXECUTOR.submit(() -> { }).get();
+        assertArrayEquals(timing.getHistory(), new AdaptiveTiming(historyFile()).getHistory());
+    }
+}
@@ -0,0 +1,94 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import greetingwindow.AnimationPlan.Step;
+import greetingwindow.AnimationPlan.StepTarget;
+
+/**
+ * Проверка расчёта плана анимации без JavaFX.
+ */
+public class TestAnimationPlan {
+
+    @Test
+    public void testDelaysFromDocumentationExample() {
+        // appearance=BOTH, disappearance=ONLY_TEXT, delays={100, 200, 300, 400}
+        AnimationPlan plan = AnimationPlan.of(AnimaTarget.BOTH, AnimaTarget.ONLY_TEXT, new int[] {100, 200, 300, 400}, 1000, 2000, 1000, 1000);
+        List<Step> steps = plan.getSteps();
+
+        assertEquals(7, steps.size());
+        assertStep(steps.get(0), StepTarget.DELAY, 100, 0);
+        assertStep(steps.get(1), StepTarget.WINDOW, 1000, 100);
+        assertStep(steps.get(2), StepTarget.DELAY, 200, 1100);
+        assertStep(steps.get(3), StepTarget.TEXT, 2000, 1300);
+        assertStep(steps.get(4), StepTarget.DELAY, 300, 3300);
+        assertStep(steps.get(5), StepTarget.TEXT, 1000, 3600);
+        assertStep(steps.get(6), StepTarget.DELAY, 400, 4600);
+        assertEquals(5000, plan.getTotalDurationInMills());
+        assertEquals(5, plan.getFirstDisappearanceStepIndex());
+        assertTrue(plan.hidesWindow());
+        assertTrue(plan.hidesText());
+    }
+
+    @Test
+    public void testZeroDelaysAreSkipped() {
+        AnimationPlan plan = AnimationPlan.of(AnimaTarget.BOTH, AnimaTarget.NO_ANIMATION, new int[] {0, 0, 3000}, 1000, 2000, 1000, 1000);
+        List<Step> steps = plan.getSteps();
+
+        assertEquals(3, steps.size());
+        assertStep(steps.get(0), StepTarget.WINDOW, 1000, 0);
+        assertStep(steps.get(1), StepTarget.TEXT, 2000, 1000);
+        assertStep(steps.get(2), StepTarget.DELAY, 3000, 3000);
+        assertEquals(-1, plan.getFirstDisappearanceStepIndex());
+    }
+
+    @Test
+    public void testDisappearanceOrder() {
+        AnimationPlan plan = AnimationPlan.of(null, AnimaTarget.BOTH, null, 1000, 2000, 500, 700);
+        List<Step> steps = plan.getSteps();
+
+        assertEquals(2, steps.size());
+        assertEquals(StepTarget.TEXT, steps.get(0).getTarget());
+        assertEquals(1, steps.get(0).getFromOpacity());
+        assertEquals(0, steps.get(0).getToOpacity());
+        assertEquals(StepTarget.WINDOW, steps.get(1).getTarget());
+        assertEquals(700, steps.get(1).getDurationInMills());
+        assertEquals(0, plan.getFirstDisappearanceStepIndex());
+        assertFalse(plan.hidesWindow());
+    }
+
+    @Test
+    public void testNoAnimationMeansNoDelays() {
+        AnimationPlan plan = AnimationPlan.of(AnimaTarget.NO_ANIMATION, null, new int[] {1000}, 1000, 2000, 1000, 1000);
+        assertTrue(plan.isEmpty());
+    }
+
+    @Test
+    public void testPlansAreCachedByValue() {
+        int[] delays = {0, 500};
+        AnimationPlan first = AnimationPlan.of(AnimaTarget.ONLY_TEXT, AnimaTarget.BOTH, delays, 1000, 2000, 1000, 1000);
+        delays[1] = 900;
+        AnimationPlan second = AnimationPlan.of(AnimaTarget.ONLY_TEXT, AnimaTarget.BOTH, new int[] {0, 500}, 1000, 2000, 1000, 1000);
+
+        assertSame(first, second);
+        assertEquals(500, first.getDelaysInMills()[1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveDurationIsRejected() {
+        AnimationPlan.of(AnimaTarget.BOTH, AnimaTarget.BOTH, null, 0, 2000, 1000, 1000);
+    }
+
+    private static void assertStep(Step step, StepTarget target, int duration, long offset) {
+        assertEquals(target, step.getTarget());
+        assertEquals(duration, step.getDurationInMills());
+        assertEquals(offset, step.getOffsetInMills());
+    }
+}
@@ -0,0 +1,95 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.scene.CacheHint;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.shape.Rectangle;
+import javafx.util.Duration;
+
+/**
+ * Проверка кэширования текста с эффектом на время анимации на JavaFX без дисплея (см. {@link HeadlessFx}).
+ */
+public class TestEffectCaching {
+
+    private Rectangle text;
+
+    @Before
+    public void prepare() {
+        HeadlessFx.start();
+        text = new Rectangle(10, 10);
+    }
+
+    private Animation fade() {
+        return new Timeline(new KeyFrame(Duration.millis(100), new KeyValue(text.opacityProperty(), 0)));
+    }
+
+    /**
+     * Запускает анимацию и дожидается её остановки.
+     * @return настройки кэширования узла сразу после запуска: {@code isCache()} и {@code getCacheHint()}.
+     */
+    private Object[] playToEnd(Animation animation) {
+        CompletableFuture<Void> stopped = new CompletableFuture<Void>();
+        Object[] whileRunning = HeadlessFx.call(() -> {
+            animation.statusProperty().addListener((observable, oldStatus, newStatus) -> {
+                if (newStatus == Animation.Status.STOPPED) stopped.complete(null);
+            });
+            animation.play();
+            return new Object[] {text.isCache(), text.getCacheHint()};
+        });
+        HeadlessFx.await(stopped);
+        HeadlessFx.flush();
+        return whileRunning;
+    }
+
+    @Test
+    public void testPreviousSettingsAreRestoredAfterAnimation() {
+        text.setEffect(new DropShadow());
+        text.setCacheHint(CacheHint.QUALITY);
+        Animation animation = this.fade();
+        GreetingWindowAnimation.cacheWhileRunning(animation, text);
+
+        Object[] whileRunning = this.playToEnd(animation);
+        assertEquals(true, whileRunning[0]);
+        assertEquals(CacheHint.SPEED, whileRunning[1]);
+        assertFalse(text.isCache());
+        assertEquals(CacheHint.QUALITY, text.getCacheHint());
+    }
+
+    @Test
+    public void testCachedNodeStaysCachedAfterEveryRun() {
+        text.setEffect(new DropShadow());
+        text.setCache(true);
+        text.setCacheHint(CacheHint.SCALE);
+        Animation animation = this.fade();
+        GreetingWindowAnimation.cacheWhileRunning(animation, text);
+
+        for (int run = 0; run < 2; run++) {
+            assertEquals(CacheHint.SPEED, this.playToEnd(animation)[1]);
+            assertTrue(text.isCache());
+            assertEquals(CacheHint.SCALE, text.getCacheHint());
+        }
+    }
+
+    @Test
+    public void testNodeWithoutEffectIsNotCached() {
+        Animation animation = this.fade();
+        GreetingWindowAnimation.cacheWhileRunning(animation, text);
+
+        Object[] whileRunning = this.playToEnd(animation);
+        assertEquals(false, whileRunning[0]);
+        assertEquals(CacheHint.DEFAULT, whileRunning[1]);
+        assertEquals(CacheHint.DEFAULT, text.getCacheHint());
+    }
+}
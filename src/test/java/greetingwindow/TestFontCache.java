@@ -0,0 +1,98 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+/**
+ * Проверка кэша шрифтов. Поиск шрифтов не требует запущенного JavaFX.
+ */
+public class TestFontCache {
+
+    @Before
+    @After
+    public void resetCache() {
+        FontCache.clear();
+        FontCache.setCapacity(FontCache.DEFAULT_CAPACITY);
+    }
+
+    @Test
+    public void testKeyIsFamilyWeightAndSize() {
+        Font font = FontCache.get("Arial", FontWeight.BOLD, 20);
+        assertSame(font, FontCache.get("Arial", FontWeight.BOLD, 20));
+        assertEquals(1, FontCache.size());
+
+        assertEquals(30, FontCache.get("Arial", FontWeight.BOLD, 30).getSize(), 0);
+        FontCache.get("Arial", FontWeight.NORMAL, 20);
+        FontCache.get("Verdana", FontWeight.BOLD, 20);
+        assertEquals(4, FontCache.size());
+    }
+
+    @Test
+    public void testPreloadedFontIsReturned() {
+        Font preloaded = FontCache.preload("Arial", FontWeight.BOLD, 20).join();
+        assertSame(preloaded, FontCache.get("Arial", FontWeight.BOLD, 20));
+        assertSame(FontCache.preload("Arial", FontWeight.BOLD, 20), FontCache.preload("Arial", FontWeight.BOLD, 20));
+    }
+
+    @Test
+    public void testMissingFontFileFallsBackToSystemFont() {
+        assertNull(FontCache.getResource("no-such-font.ttf", 20));
+
+        GreetingWindow gw = new GreetingWindow().setFont("Arial", FontWeight.BOLD, 20).setFontResource("no-such-font.ttf", 20);
+        Font font = gw.getFont();
+        assertNotNull(font);
+        assertEquals(FontCache.get("Arial", FontWeight.BOLD, 20).getFamily(), font.getFamily());
+        assertEquals(20, font.getSize(), 0);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedFontIsEvicted() {
+        FontCache.setCapacity(2);
+        CompletableFuture<Font> first = FontCache.preload("Arial", FontWeight.BOLD, 10);
+        CompletableFuture<Font> second = FontCache.preload("Arial", FontWeight.BOLD, 11);
+        assertSame(first, FontCache.preload("Arial", FontWeight.BOLD, 10));
+        FontCache.preload("Arial", FontWeight.BOLD, 12);
+
+        assertEquals(2, FontCache.size());
+        assertSame(first, FontCache.preload("Arial", FontWeight.BOLD, 10));
+        assertNotSame(second, FontCache.preload("Arial", FontWeight.BOLD, 11));
+
+        FontCache.setCapacity(1);
+        assertEquals(1, FontCache.size());
+    }
+
+    @Test(timeout = 5000)
+    public void testGetDoesNotWaitForBackgroundLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BackgroundLoader.EXECUTOR.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            CompletableFuture<Font> pending = FontCache.preload("Arial", FontWeight.BOLD, 20);
+            Font font = FontCache.get("Arial", FontWeight.BOLD, 20);
+            assertFalse(pending.isDone());
+            assertEquals(20, font.getSize(), 0);
+            assertSame(font, FontCache.get("Arial", FontWeight.BOLD, 20));
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javafx.animation.Animation;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Stage;
+
+/**
+ * Проверка счётчика частоты обновления анимаций с ограничением частоты кадров и без него на JavaFX без дисплея
+ * (см. {@link HeadlessFx}). Обе цепочки идут одновременно, поэтому их частоты сравниваются за одно и то же время.
+ */
+public class TestFrameRateMeter {
+
+    private static final AnimationPlan PLAN = AnimationPlan.of(AnimaTarget.ONLY_WINDOW, AnimaTarget.ONLY_WINDOW, null,
+        500, 500, 500, 500);
+
+    private static final int CAP = 15;
+
+    @Before
+    public void prepare() {
+        HeadlessFx.start();
+    }
+
+    /**
+     * Создаёт цепочку анимаций окна с заданным ограничением частоты кадров.
+     * @param meter - счётчик, к которому подключаются анимации.
+     * @param finished - завершится, когда закончится цепочка.
+     * @return первая анимация цепочки.
+     */
+    private static Animation chain(int frameRateCap, FrameRateMeter meter, CompletableFuture<Void> finished) {
+        GreetingWindow settings = new GreetingWindow().setFrameRateCap(frameRateCap);
+        GreetingWindowAnimation animation = new GreetingWindowAnimation(settings, new Stage(), new Rectangle(10, 10),
+            () -> finished.complete(null));
+        animation.setFrameRateMeter(meter);
+        return animation.connectAnimationsEachAfterPrev(animation.createAnimationSequence(PLAN));
+    }
+
+    @Test
+    public void testCappedTimelineUpdatesLessOften() {
+        FrameRateMeter capped = new FrameRateMeter();
+        FrameRateMeter uncapped = new FrameRateMeter();
+        CompletableFuture<Void> cappedFinished = new CompletableFuture<Void>();
+        CompletableFuture<Void> uncappedFinished = new CompletableFuture<Void>();
+
+        HeadlessFx.run(() -> {
+            Animation first = chain(CAP, capped, cappedFinished);
+            Animation second = chain(0, uncapped, uncappedFinished);
+            assertEquals(0, capped.getFrameRate(), 0);
+            first.play();
+            second.play();
+        });
+        HeadlessFx.await(cappedFinished);
+        HeadlessFx.await(uncappedFinished);
+
+        double ratio = HeadlessFx.call(() -> capped.getFrameRate() / uncapped.getFrameRate());
+        // Без ограничения значения обновляются в каждом импульсе (60 в секунду), с ограничением - примерно CAP раз
+        assertTrue("ratio: " + ratio, ratio > CAP / 60.0 / 2 && ratio < CAP / 60.0 * 2);
+    }
+}
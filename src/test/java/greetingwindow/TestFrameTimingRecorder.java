@@ -0,0 +1,152 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+
+import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
+
+/**
+ * Проверка записи времени кадров: процентили и пропущенные кадры считаются по заданным вручную моментам кадров,
+ * остановка записи при скрытии окна - на JavaFX без дисплея (см. {@link HeadlessFx}).
+ */
+public class TestFrameTimingRecorder {
+
+    private static final long FRAME = FrameTimingRecorder.DEFAULT_EXPECTED_FRAME_NANOS;
+
+    /**
+     * Записывает кадры с заданными интервалами, первый кадр - в момент {@code FRAME}.
+     */
+    private static FrameTimingRecorder record(FrameTimingRecorder recorder, long... intervals) {
+        long now = FRAME;
+        recorder.record(now);
+        for (long interval : intervals) {
+            now += interval;
+            recorder.record(now);
+        }
+        return recorder;
+    }
+
+    @Test
+    public void testEmptySummary() {
+        FrameTimingSummary summary = record(new FrameTimingRecorder()).summarize();
+        assertEquals(0, summary.getFrameCount());
+        assertEquals(0, summary.getP50FrameNanos());
+        assertEquals(0, summary.getP99FrameNanos());
+        assertEquals(0, summary.getDroppedFrames());
+        assertEquals(0, summary.getLongestStallNanos());
+    }
+
+    @Test
+    public void testPercentiles() {
+        long[] intervals = new long[100];
+        for (int i = 0; i < intervals.length; i++) intervals[i] = (i + 1) * 1000;
+        FrameTimingSummary summary = record(new FrameTimingRecorder(), intervals).summarize();
+
+        assertEquals(100, summary.getFrameCount());
+        assertEquals(50_000, summary.getP50FrameNanos());
+        assertEquals(99_000, summary.getP99FrameNanos());
+        assertEquals(100_000, summary.getLongestStallNanos());
+    }
+
+    @Test
+    public void testDroppedFrames() {
+        // Полтора кадра - ещё не пропуск, два кадра - один пропущенный, четыре - три пропущенных
+        FrameTimingSummary summary = record(new FrameTimingRecorder(), FRAME, FRAME * 3 / 2, FRAME * 2, FRAME, FRAME * 4)
+            .summarize();
+
+        assertEquals(5, summary.getFrameCount());
+        assertEquals(4, summary.getDroppedFrames());
+        assertEquals(FRAME * 4, summary.getLongestStallNanos());
+        assertEquals(FRAME * 3 / 2, summary.getP50FrameNanos());
+    }
+
+    @Test
+    public void testOverwrittenIntervalsStillCountStalls() {
+        // Буфер хранит 2 последних интервала, но долгая пауза в начале учитывается в счётчиках
+        FrameTimingSummary summary = record(new FrameTimingRecorder(2, FRAME), FRAME * 3, FRAME, FRAME).summarize();
+
+        assertEquals(3, summary.getFrameCount());
+        assertEquals(FRAME, summary.getP99FrameNanos());
+        assertEquals(2, summary.getDroppedFrames());
+        assertEquals(FRAME * 3, summary.getLongestStallNanos());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityIsValidated() {
+        new FrameTimingRecorder(0, FRAME);
+    }
+
+    @Test
+    public void testRecordingStopsWhenWindowIsHidden() {
+        HeadlessFx.start();
+        CompletableFuture<FrameTimingSummary> published = new CompletableFuture<FrameTimingSummary>();
+        AnimationPlan plan = AnimationPlan.of(AnimaTarget.BOTH, AnimaTarget.BOTH, new int[] {0, 0, 0, 0, 0}, 500, 500, 500, 500);
+        GreetingWindow gw = new GreetingWindow().setFrameTimingListener(published::complete);
+
+        // Окно скрыто сразу после показа, а цепочка анимаций продолжает идти, но кадры уже не записываются
+        HeadlessFx.run(() -> {
+            Stage stage = gw.createStageWithAnimationOnShowing(plan);
+            stage.fireEvent(new WindowEvent(stage, WindowEvent.WINDOW_SHOWING));
+            stage.fireEvent(new WindowEvent(stage, WindowEvent.WINDOW_HIDDEN));
+        });
+
+        FrameTimingSummary summary = HeadlessFx.await(published);
+        assertEquals(0, summary.getFrameCount());
+        assertEquals(0, summary.getLongestStallNanos());
+    }
+
+    /**
+     * Запускает цепочку без показа окна (текст без дисплея не отрисовать) и ждёт уведомления наблюдателей.
+     * @param afterCreate - выполняется в потоке JavaFX сразу после создания анимации.
+     */
+    private static void playAndAwaitObservers(GreetingWindow gw, Runnable afterCreate) {
+        CompletableFuture<Void> observerCalled = new CompletableFuture<Void>();
+        gw.observersList.add(() -> observerCalled.complete(null));
+        AnimationPlan plan = AnimationPlan.of(AnimaTarget.ONLY_WINDOW, AnimaTarget.ONLY_WINDOW, null, 50, 50, 50, 50);
+        HeadlessFx.run(() -> {
+            Stage stage = gw.createStageWithAnimationOnShowing(plan);
+            afterCreate.run();
+            stage.fireEvent(new WindowEvent(stage, WindowEvent.WINDOW_SHOWING));
+        });
+        HeadlessFx.await(observerCalled);
+    }
+
+    @Test
+    public void testSummaryGoesToListenerSetBeforeAnimationWasCreated() {
+        HeadlessFx.start();
+        CompletableFuture<FrameTimingSummary> published = new CompletableFuture<FrameTimingSummary>();
+        GreetingWindow gw = new GreetingWindow().setFrameTimingListener(published::complete);
+
+        playAndAwaitObservers(gw, () -> gw.setFrameTimingListener(null));
+        assertTrue(published.isDone());
+    }
+
+    @Test
+    public void testObserversAreNotifiedWhenListenerThrows() {
+        HeadlessFx.start();
+        Consumer<FrameTimingSummary> failing = (summary) -> {
+            throw new IllegalStateException("listener failed");
+        };
+        GreetingWindow gw = new GreetingWindow().setFrameTimingListener(failing);
+        CompletableFuture<Throwable> thrown = new CompletableFuture<Throwable>();
+        Thread.UncaughtExceptionHandler previous = HeadlessFx.call(() -> {
+            Thread fxThread = Thread.currentThread();
+            Thread.UncaughtExceptionHandler handler = fxThread.getUncaughtExceptionHandler();
+            fxThread.setUncaughtExceptionHandler((thread, error) -> thrown.complete(error));
+            return handler;
+        });
+
+        try {
+            playAndAwaitObservers(gw, () -> { });
+            assertEquals("listener failed", HeadlessFx.await(thrown).getMessage());
+        } finally {
+            HeadlessFx.run(() -> Thread.currentThread().setUncaughtExceptionHandler(previous));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Проверка логики очереди сообщений ({@link MessageBuffer}) без окна и без JavaFX: пробуждения показа только 
+ * подсчитываются, сообщения забираются вручную.
+ */
+public class TestGreetingMessageQueue {
+
+    private final AtomicInteger wakeUps = new AtomicInteger();
+
+    private MessageBuffer queue(int capacity, OverflowPolicy policy) {
+        return new MessageBuffer(capacity, policy, wakeUps::incrementAndGet);
+    }
+
+    @Test
+    public void testOnlyOneTaskIsScheduledUntilQueueIsDrained() {
+        MessageBuffer queue = queue(100, OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 50; i++) assertTrue(queue.offer("message " + i));
+        assertEquals(1, wakeUps.get());
+
+        for (int i = 0; i < 50; i++) assertEquals("message " + i, queue.pollBatch());
+        assertNull(queue.pollBatch());
+
+        queue.offer("next");
+        assertEquals(2, wakeUps.get());
+    }
+
+    @Test
+    public void testOverflowPolicies() {
+        MessageBuffer newest = queue(2, OverflowPolicy.DROP_NEWEST);
+        newest.offer("a");
+        newest.offer("b");
+        assertFalse(newest.offer("c"));
+        assertEquals(1, newest.getDroppedCount());
+        assertEquals("a", newest.pollBatch());
+        assertEquals("b", newest.pollBatch());
+
+        MessageBuffer oldest = queue(2, OverflowPolicy.DROP_OLDEST);
+        oldest.offer("a");
+        oldest.offer("b");
+        assertTrue(oldest.offer("c"));
+        assertEquals(1, oldest.getDroppedCount());
+        assertEquals("b", oldest.pollBatch());
+        assertEquals("c", oldest.pollBatch());
+
+        MessageBuffer merge = queue(2, OverflowPolicy.MERGE);
+        merge.setMerger((a, b) -> a + "+" + b);
+        merge.offer("a");
+        merge.offer("b");
+        merge.offer("c");
+        merge.offer("d");
+        assertEquals(2, merge.size());
+        assertEquals(2, merge.getMergedCount());
+        assertEquals("a", merge.pollBatch());
+        assertEquals("b+c+d", merge.pollBatch());
+    }
+
+    @Test
+    public void testBatchIsMerged() {
+        MessageBuffer queue = queue(10, OverflowPolicy.DROP_NEWEST);
+        queue.setBatchSize(3);
+        queue.setMerger((a, b) -> a + "|" + b);
+        for (int i = 0; i < 5; i++) queue.offer(String.valueOf(i));
+        assertEquals("0|1|2", queue.pollBatch());
+        assertEquals("3|4", queue.pollBatch());
+        assertNull(queue.pollBatch());
+    }
+
+    @Test
+    public void testPutWaitsForFreeSlot() throws Exception {
+        MessageBuffer queue = queue(1, OverflowPolicy.DROP_NEWEST);
+        queue.put("first");
+        CountDownLatch done = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put("second");
+                done.countDown();
+            } catch (InterruptedException e) { }
+        });
+        producer.start();
+
+        assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+        assertEquals("first", queue.pollBatch());
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("second", queue.pollBatch());
+        producer.join();
+    }
+
+    @Test
+    public void testClosedQueueRejectsMessages() throws Exception {
+        MessageBuffer queue = queue(1, OverflowPolicy.DROP_NEWEST);
+        queue.offer("first");
+        CompletableFuture<Throwable> blocked = CompletableFuture.supplyAsync(() -> {
+            try {
+                queue.put("second");
+                return null;
+            } catch (Throwable e) {
+                return e;
+            }
+        });
+        Thread.sleep(50);
+        queue.close();
+
+        assertTrue(blocked.get(5, TimeUnit.SECONDS) instanceof IllegalStateException);
+        assertFalse(queue.offer("third"));
+        assertEquals(0, queue.size());
+        assertNull(queue.pollBatch());
+    }
+
+    /**
+     * Конструктор очереди проверяет объект настроек окна, для этого JavaFX не нужен.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testWindowWithStagePoolIsRejected() {
+        new GreetingMessageQueue(new GreetingWindow("test").setStagePool(new GreetingStagePool()));
+    }
+}
@@ -0,0 +1,124 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+import javafx.stage.WindowEvent;
+
+/**
+ * Проверка пула окон приветствия на JavaFX без дисплея (см. {@link HeadlessFx}).
+ */
+public class TestGreetingStagePool {
+
+    @Before
+    public void prepare() {
+        HeadlessFx.start();
+    }
+
+    private static GreetingStagePool.PooledStage pooled(GreetingStagePool pool, StageStyle style) {
+        return HeadlessFx.call(() -> new GreetingStagePool.PooledStage(pool, new Stage(style)));
+    }
+
+    @Test
+    public void testReleasedStageIsReused() {
+        GreetingStagePool pool = new GreetingStagePool();
+        GreetingStagePool.PooledStage pooled = pooled(pool, StageStyle.UNDECORATED);
+        HeadlessFx.run(() -> {
+            pool.release(pooled);
+            pool.release(pooled);
+            assertEquals(1, pool.getIdleCount());
+
+            assertSame(pooled, pool.acquire(StageStyle.UNDECORATED));
+            assertEquals(0, pool.getIdleCount());
+            assertNull(pool.acquire(StageStyle.UNDECORATED));
+        });
+    }
+
+    @Test
+    public void testStageIsGivenOnlyForSameStyle() {
+        GreetingStagePool pool = new GreetingStagePool();
+        GreetingStagePool.PooledStage undecorated = pooled(pool, StageStyle.UNDECORATED);
+        HeadlessFx.run(() -> {
+            pool.release(undecorated);
+            assertNull(pool.acquire(StageStyle.TRANSPARENT));
+            assertEquals(1, pool.getIdleCount());
+            assertSame(undecorated, pool.acquire(StageStyle.UNDECORATED));
+        });
+    }
+
+    @Test
+    public void testIdleStageIsEvicted() throws Exception {
+        GreetingStagePool pool = new GreetingStagePool(4, 1);
+        GreetingStagePool.PooledStage pooled = pooled(pool, StageStyle.UNDECORATED);
+        HeadlessFx.run(() -> pool.release(pooled));
+        assertEquals(1, pool.getIdleCount());
+
+        Thread.sleep(20);
+        HeadlessFx.run(() -> {
+            assertNull(pool.acquire(StageStyle.UNDECORATED));
+            assertEquals(0, pool.getIdleCount());
+        });
+    }
+
+    @Test
+    public void testFullPoolDropsReleasedStage() {
+        GreetingStagePool pool = new GreetingStagePool(1, GreetingStagePool.DEFAULT_IDLE_TIMEOUT_IN_MILLS);
+        GreetingStagePool.PooledStage first = pooled(pool, StageStyle.UNDECORATED);
+        GreetingStagePool.PooledStage second = pooled(pool, StageStyle.UNDECORATED);
+        HeadlessFx.run(() -> {
+            pool.release(first);
+            pool.release(second);
+            assertEquals(1, pool.getIdleCount());
+            assertSame(first, pool.acquire(StageStyle.UNDECORATED));
+        });
+    }
+
+    @Test
+    public void testReleaseWaitsForAnimationChain() {
+        GreetingStagePool pool = new GreetingStagePool();
+        GreetingStagePool.PooledStage pooled = pooled(pool, StageStyle.UNDECORATED);
+        HeadlessFx.run(() -> {
+            pool.animationStarted(pooled);
+            pool.release(pooled);
+            assertEquals(0, pool.getIdleCount());
+
+            pool.animationFinished(pooled);
+            assertEquals(1, pool.getIdleCount());
+        });
+    }
+
+    @Test
+    public void testWindowHiddenDuringChainReturnsAfterIt() {
+        GreetingStagePool pool = new GreetingStagePool();
+        CompletableFuture<Void> finished = new CompletableFuture<Void>();
+        AnimationPlan plan = AnimationPlan.of(AnimaTarget.BOTH, AnimaTarget.BOTH, new int[] {0, 0, 0, 0, 0}, 100, 100, 100, 100);
+        GreetingWindow gw = new GreetingWindow().setStagePool(pool);
+        gw.observersList.add(() -> finished.complete(null));
+
+        // Окно не выводится (см. HeadlessFx), его показ и скрытие - события, на которые подписаны анимация и пул
+        Stage stage = HeadlessFx.call(() -> {
+            Stage created = gw.createStageWithAnimationOnShowing(plan);
+            created.fireEvent(new WindowEvent(created, WindowEvent.WINDOW_SHOWING));
+            created.fireEvent(new WindowEvent(created, WindowEvent.WINDOW_HIDDEN));
+            return created;
+        });
+        assertEquals(0, pool.getIdleCount());
+
+        HeadlessFx.await(finished);
+        HeadlessFx.run(() -> {
+            assertEquals(1, pool.getIdleCount());
+            GreetingStagePool.PooledStage reused = pool.acquire(stage.getStyle());
+            assertNotNull(reused);
+            assertSame(stage, reused.stage);
+        });
+    }
+}
@@ -0,0 +1,172 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+/**
+ * Проверка настоящей цепочки анимаций окна ({@link GreetingWindowAnimation}: склейка через {@code setOnFinished},
+ * ожидание сигнала готовности, {@link GreetingWindow#invokeAfterAnimation()} с уведомлением наблюдателей и закрытием окна)
+ * на JavaFX без дисплея. Время анимаций виртуальное (см. {@link HeadlessFx}): каждый импульс - ровно 1/60 секунды.
+ *
+ * <p>Текст без дисплея не отрисовать, поэтому в показываемом окне сцена без текста, а элемент с текстом анимируется
+ * вне сцены.
+ */
+public class TestGreetingWindowAnimationChain {
+
+    private static final double EPS = 1e-9;
+
+    // (0) Stage_in 200 (0) Text_in 200 (0) Text_out 200 (0) Stage_out 200 (0)
+    private static final AnimationPlan PLAN = AnimationPlan.of(AnimaTarget.BOTH, AnimaTarget.BOTH, new int[] {0, 0, 0, 0, 0},
+        200, 200, 200, 200);
+
+    private static final int PLAN_PULSES = 800 * 60 / 1000;
+
+    /**
+     * Прозрачность окна и текста в каждом импульсе.
+     */
+    private List<double[]> samples;
+    private AtomicInteger observerCalls;
+    private CompletableFuture<Void> observerCalled;
+
+    @Before
+    public void prepare() {
+        HeadlessFx.start();
+        samples = new ArrayList<double[]>();
+        observerCalls = new AtomicInteger();
+        observerCalled = new CompletableFuture<Void>();
+    }
+
+    private GreetingWindow window() {
+        GreetingWindow gw = new GreetingWindow();
+        gw.observersList.add(() -> {
+            observerCalls.incrementAndGet();
+            observerCalled.complete(null);
+        });
+        return gw;
+    }
+
+    /**
+     * Создаёт цепочку, показывает окно и записывает прозрачности до уведомления наблюдателей.
+     * @return показанное окно.
+     */
+    private Stage show(GreetingWindow gw) {
+        return HeadlessFx.call(() -> {
+            Stage stage = gw.createGreetingWindow();
+            Animation first = gw.createAnimation(PLAN);
+            Node text = gw.getTextNode();
+            stage.setScene(new Scene(new StackPane(), 100, 100));
+            AnimationTimer sampler = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    if (observerCalled.isDone()) this.stop();
+                    else samples.add(new double[] {stage.getOpacity(), text.getOpacity()});
+                }
+            };
+            stage.setOnShowing((event) -> {
+                sampler.start();
+                first.play();
+            });
+            stage.show();
+            return stage;
+        });
+    }
+
+    private int firstIndex(int from, Predicate<double[]> condition) {
+        for (int i = from; i < samples.size(); i++) if (condition.test(samples.get(i))) return i;
+        return -1;
+    }
+
+    private void assertStepsInOrder() {
+        int windowShown = firstIndex(0, (s) -> s[0] >= 1 - EPS);
+        int textAppears = firstIndex(0, (s) -> s[1] > EPS);
+        int textShown = firstIndex(0, (s) -> s[1] >= 1 - EPS);
+        int textHidden = firstIndex(textShown, (s) -> s[1] <= EPS);
+        int windowFades = firstIndex(windowShown, (s) -> s[0] < 1 - EPS);
+        assertTrue(windowShown >= 0 && textShown >= 0 && textHidden >= 0 && windowFades >= 0);
+
+        assertTrue("text appeared before the window", windowShown <= textAppears);
+        assertTrue("window faded before the text", textHidden <= windowFades);
+        for (double[] sample : samples) if (sample[1] > EPS) assertEquals(1, sample[0], EPS);
+    }
+
+    @Test
+    public void testChainPlaysStepsInOrderNotifiesAndCloses() {
+        GreetingWindow gw = this.window();
+        Stage stage = this.show(gw);
+
+        HeadlessFx.await(observerCalled);
+        HeadlessFx.flush();
+        assertFalse(HeadlessFx.call(stage::isShowing));
+        assertEquals(1, observerCalls.get());
+        this.assertStepsInOrder();
+        // Весь план - около 48 импульсов, склейка через setOnFinished не должна заметно его удлинять
+        assertTrue("pulses: " + samples.size(), samples.size() >= PLAN_PULSES - 2 && samples.size() <= PLAN_PULSES + 10);
+        assertEquals(0, stage.getOpacity(), EPS);
+    }
+
+    @Test
+    public void testCompiledChainPlaysSameSteps() {
+        GreetingWindow gw = this.window().setCompiledAnimation(true);
+        Stage stage = this.show(gw);
+
+        HeadlessFx.await(observerCalled);
+        HeadlessFx.flush();
+        assertFalse(HeadlessFx.call(stage::isShowing));
+        assertEquals(1, observerCalls.get());
+        this.assertStepsInOrder();
+        assertTrue("pulses: " + samples.size(), samples.size() >= PLAN_PULSES - 2 && samples.size() <= PLAN_PULSES + 3);
+    }
+
+    @Test
+    public void testReadySignalHoldsDisappearance() throws Exception {
+        CompletableFuture<Void> ready = new CompletableFuture<Void>();
+        GreetingWindow gw = this.window().setReadySignal(ready);
+        Stage stage = this.show(gw);
+
+        // Несколько секунд виртуального времени: появление давно закончилось, исчезновение ждёт сигнала
+        Thread.sleep(300);
+        HeadlessFx.run(() -> {
+            assertTrue(stage.isShowing());
+            assertEquals(1, stage.getOpacity(), EPS);
+            assertEquals(1, gw.getTextNode().getOpacity(), EPS);
+            assertEquals(0, observerCalls.get());
+            assertTrue(samples.size() > PLAN_PULSES);
+        });
+
+        ready.complete(null);
+        HeadlessFx.await(observerCalled);
+        HeadlessFx.flush();
+        assertFalse(HeadlessFx.call(stage::isShowing));
+        this.assertStepsInOrder();
+    }
+
+    @Test
+    public void testWindowStaysOpenWhenClosingIsDisabled() {
+        GreetingWindow gw = this.window();
+        gw._needToCloseStageAtEndOfAnimation = false;
+        Stage stage = this.show(gw);
+
+        HeadlessFx.await(observerCalled);
+        HeadlessFx.flush();
+        assertTrue(HeadlessFx.call(stage::isShowing));
+        assertEquals(1, observerCalls.get());
+        HeadlessFx.run(stage::close);
+    }
+}
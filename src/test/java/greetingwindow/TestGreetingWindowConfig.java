@@ -0,0 +1,77 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import javafx.scene.paint.Color;
+import javafx.scene.text.FontWeight;
+
+import org.junit.Test;
+
+/**
+ * Проверка неизменяемого снимка настроек окна без JavaFX.
+ */
+public class TestGreetingWindowConfig {
+
+    @Test
+    public void testDefaultsMatchNewWindow() {
+        assertEquals(GreetingWindowConfig.builder().build(), new GreetingWindow("test").toConfig());
+    }
+
+    @Test
+    public void testEqualConfigsAreEqualCacheKeys() throws Exception {
+        CompletableFuture<GreetingWindowConfig> background = CompletableFuture.supplyAsync(() -> 
+            GreetingWindowConfig.builder().setText("Hello").setSceneBackground("#101010").setTimeOfTextAppearanceInMills(500).build());
+        GreetingWindowConfig config = GreetingWindowConfig.builder()
+            .setText("Hello").setSceneBackground(Color.web("#101010")).setTimeOfTextAppearanceInMills(500).build();
+
+        Map<GreetingWindowConfig, String> cache = new HashMap<GreetingWindowConfig, String>();
+        cache.put(background.get(), "cached");
+        assertEquals("cached", cache.get(config));
+        assertNotEquals(config, config.toBuilder().setFrameRateCap(30).build());
+        assertNotEquals(config, config.toBuilder().setCompiledAnimation(true).build());
+        assertSame(config.createPlan(AnimaTarget.BOTH, AnimaTarget.BOTH, null), 
+            background.get().createPlan(AnimaTarget.BOTH, AnimaTarget.BOTH, null));
+    }
+
+    @Test
+    public void testWindowRoundTrip() {
+        GreetingWindowConfig config = GreetingWindowConfig.builder()
+            .setText("Hello")
+            .setTextColor("#ff0000")
+            .setTextShadowColor("#00ff00", 0.3)
+            .setShadowOnText(true)
+            .setTimeOfWindowAppearanceInMills(100)
+            .setTimeOfTextAppearanceInMills(200)
+            .setTimeOfTextDisappearanceInMills(300)
+            .setTimeOfWindowDisappearanceInMills(400)
+            .setCloseStageAtEndOfAnimation(false)
+            .setFont("Serif", FontWeight.NORMAL, 30)
+            .setTextRenderMode(TextRenderMode.LIGHTWEIGHT)
+            .setWindowFadeMode(WindowFadeMode.SCENE_ROOT)
+            .setFrameRateCap(24)
+            .setEffectCaching(false)
+            .setCompiledAnimation(true)
+            .setProgressBarEnabled(true)
+            .build();
+        GreetingWindow gw = new GreetingWindow("test").applyConfig(config);
+
+        assertEquals("Hello", gw.getText());
+        assertEquals(300, gw.getTimeOfTextDisappearanceInMills());
+        assertEquals(false, gw._needToCloseStageAtEndOfAnimation);
+        assertEquals(false, gw.isEffectCaching());
+        assertEquals(true, gw.isCompiledAnimation());
+        assertEquals(true, gw.isProgressBarEnabled());
+        assertEquals(config, gw.toConfig());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderValidatesDurations() {
+        GreetingWindowConfig.builder().setTimeOfWindowAppearanceInMills(0);
+    }
+}
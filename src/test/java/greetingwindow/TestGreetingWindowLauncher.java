@@ -0,0 +1,74 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+/**
+ * Проверка запуска окна приветствия через {@link GreetingWindowLauncher} на уже запущенном JavaFX без дисплея
+ * (см. {@link HeadlessFx}). Текст без дисплея не отрисовать, поэтому окно показывается со сценой без текста.
+ */
+public class TestGreetingWindowLauncher {
+
+    @Before
+    public void prepare() {
+        HeadlessFx.start();
+    }
+
+    private static GreetingWindow window() {
+        GreetingWindow gw = new GreetingWindow() {
+            @Override
+            public Stage createGreetingWindow() {
+                Stage stage = super.createGreetingWindow();
+                stage.setScene(new Scene(new StackPane(), 100, 100));
+                return stage;
+            }
+        };
+        return gw.setTimeOfWindowAppearanceInMills(50)
+            .setTimeOfTextAppearanceInMills(50)
+            .setTimeOfTextDisappearanceInMills(50)
+            .setTimeOfWindowDisappearanceInMills(50);
+    }
+
+    @Test
+    public void testWithoutAnimationFinishesRightAfterShowing() {
+        GreetingWindowLauncher launcher = GreetingWindowLauncher.launch(TestGreetingWindowLauncher::window,
+            AnimaTarget.NO_ANIMATION, AnimaTarget.NO_ANIMATION);
+
+        Stage stage = HeadlessFx.await(launcher.whenShown());
+        HeadlessFx.await(launcher.whenFinished());
+        assertTrue(HeadlessFx.call(stage::isShowing));
+
+        // Результат уже завершён, но действие, добавленное как в документации, всё равно выполняется в потоке JavaFX
+        CompletableFuture<Boolean> onFxThread = new CompletableFuture<Boolean>();
+        launcher.whenFinished().thenRunAsync(() -> onFxThread.complete(Platform.isFxApplicationThread()), Platform::runLater);
+        assertTrue(HeadlessFx.await(onFxThread));
+        HeadlessFx.run(stage::close);
+    }
+
+    @Test
+    public void testAnimationFinishesAfterReady() throws Exception {
+        GreetingWindowLauncher launcher = GreetingWindowLauncher.launch(TestGreetingWindowLauncher::window,
+            AnimaTarget.BOTH, AnimaTarget.BOTH);
+
+        Stage stage = HeadlessFx.await(launcher.whenShown());
+        // Несколько секунд виртуального времени: появление закончилось, исчезновение ждёт готовности приложения
+        Thread.sleep(300);
+        HeadlessFx.flush();
+        assertFalse(launcher.whenFinished().isDone());
+
+        launcher.markReady();
+        HeadlessFx.await(launcher.whenFinished());
+        HeadlessFx.flush();
+        assertFalse(HeadlessFx.call(stage::isShowing));
+    }
+}
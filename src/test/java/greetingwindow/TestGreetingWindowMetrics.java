@@ -0,0 +1,65 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Проверка метрик окна приветствия через JMX без JavaFX.
+ */
+public class TestGreetingWindowMetrics {
+
+    @After
+    public void tearDown() {
+        GreetingWindowMetrics.unregister();
+        GreetingWindowMetrics.getInstance().reset();
+    }
+
+    @Test
+    public void testRegistrationIsOptIn() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(GreetingWindowMetrics.OBJECT_NAME);
+        assertFalse(GreetingWindowMetrics.isEnabled());
+        assertFalse(server.isRegistered(name));
+
+        GreetingWindowMetrics.register();
+        GreetingWindowMetrics.register();
+        assertTrue(GreetingWindowMetrics.isEnabled());
+        assertTrue(server.isRegistered(name));
+
+        GreetingWindowMetrics.unregister();
+        assertFalse(GreetingWindowMetrics.isEnabled());
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public void testAttributesAreReadableOverJmx() throws Exception {
+        GreetingWindowMetrics.register();
+        GreetingWindowMetrics metrics = GreetingWindowMetrics.getInstance();
+        metrics.firstFrameShown(10_000_000);
+        metrics.firstFrameShown(30_000_000);
+        metrics.animationFinished(5_000_000_000L);
+        metrics.observersDispatched(2_000_000);
+        metrics.windowForceClosed();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(GreetingWindowMetrics.OBJECT_NAME);
+        assertEquals(20.0, (Double) server.getAttribute(name, "AverageTimeToFirstFrameMillis"), 1e-9);
+        assertEquals(30.0, (Double) server.getAttribute(name, "MaxTimeToFirstFrameMillis"), 1e-9);
+        assertEquals(5000.0, (Double) server.getAttribute(name, "TotalAnimationTimeMillis"), 1e-9);
+        assertEquals(2.0, (Double) server.getAttribute(name, "TotalObserverDispatchTimeMillis"), 1e-9);
+        assertEquals(1L, server.getAttribute(name, "ForceClosedWindows"));
+
+        server.invoke(name, "reset", null, null);
+        assertEquals(0.0, (Double) server.getAttribute(name, "AverageTimeToFirstFrameMillis"), 1e-9);
+        assertEquals(0L, server.getAttribute(name, "ForceClosedWindows"));
+    }
+}
@@ -0,0 +1,141 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+
+/**
+ * Поведенческие проверки цепочки анимаций на виртуальных часах: без окон, без потока JavaFX и без ожидания.
+ */
+public class TestHeadlessAnimationChain {
+
+    private static final double EPS = 1e-9;
+
+    private DoubleProperty windowOpacity;
+    private DoubleProperty textOpacity;
+    private AtomicInteger observerCalls;
+    private VirtualAnimationClock clock;
+
+    @Before
+    public void prepare() {
+        windowOpacity = new SimpleDoubleProperty(1);
+        textOpacity = new SimpleDoubleProperty(1);
+        observerCalls = new AtomicInteger();
+        clock = new VirtualAnimationClock();
+    }
+
+    private AnimationPlanPlayer play(AnimationPlan plan) {
+        return clock.attach(new AnimationPlanPlayer(plan, windowOpacity, textOpacity, observerCalls::incrementAndGet));
+    }
+
+    @Test
+    public void testFullChain() {
+        // (100) Stage_in 1000 (200) Text_in 2000 (300) Text_out 1000 (400) Stage_out 1000 (500)
+        AnimationPlan plan = AnimationPlan.of(AnimaTarget.BOTH, AnimaTarget.BOTH, new int[] {100, 200, 300, 400, 500}, 1000, 2000, 1000, 1000);
+        AnimationPlanPlayer player = play(plan);
+        assertEquals(0, windowOpacity.get(), EPS);
+        assertEquals(0, textOpacity.get(), EPS);
+
+        clock.advanceTo(600);
+        assertEquals(0.5, windowOpacity.get(), EPS);
+        assertEquals(0, textOpacity.get(), EPS);
+
+        clock.advanceTo(1200);
+        assertEquals(1, windowOpacity.get(), EPS);
+        assertEquals(0, textOpacity.get(), EPS);
+
+        clock.advanceTo(2300);
+        assertEquals(0.5, textOpacity.get(), EPS);
+
+        clock.advanceTo(3400);
+        assertEquals(1, textOpacity.get(), EPS);
+
+        clock.advanceTo(4100);
+        assertEquals(0.5, textOpacity.get(), EPS);
+        assertEquals(1, windowOpacity.get(), EPS);
+
+        clock.advanceTo(5500);
+        assertEquals(0, textOpacity.get(), EPS);
+        assertEquals(0.5, windowOpacity.get(), EPS);
+
+        // Окно исчезло, но последняя задержка ещё идёт
+        clock.advanceTo(6100);
+        assertEquals(0, windowOpacity.get(), EPS);
+        assertEquals(0, observerCalls.get());
+        assertFalse(player.isFinished());
+
+        clock.advanceTo(6500);
+        assertEquals(1, observerCalls.get());
+        assertTrue(player.isFinished());
+
+        clock.advance(10_000);
+        assertEquals(1, observerCalls.get());
+    }
+
+    @Test
+    public void testTextOnlyKeepsWindowVisible() {
+        AnimationPlan plan = AnimationPlan.of(AnimaTarget.ONLY_TEXT, AnimaTarget.ONLY_TEXT, null, 1000, 1000, 1000, 1000);
+        play(plan);
+        assertEquals(1, windowOpacity.get(), EPS);
+
+        clock.advanceTo(250);
+        assertTrue(textOpacity.get() > 0 & textOpacity.get() < 0.25);
+        assertEquals(1, windowOpacity.get(), EPS);
+
+        clock.advanceTo(2000);
+        assertEquals(0, textOpacity.get(), EPS);
+        assertEquals(1, windowOpacity.get(), EPS);
+        assertEquals(1, observerCalls.get());
+    }
+
+    @Test
+    public void testCoarseFramesStillFinishExactlyOnce() {
+        AnimationPlan plan = AnimationPlan.of(AnimaTarget.ONLY_WINDOW, AnimaTarget.ONLY_WINDOW, new int[] {0, 1500}, 700, 2000, 1000, 900);
+        clock = new VirtualAnimationClock(250);
+        play(plan);
+
+        clock.advanceTo(3000);
+        assertEquals(0, observerCalls.get());
+        clock.advanceTo(3250);
+        assertEquals(1, observerCalls.get());
+        assertEquals(0, windowOpacity.get(), EPS);
+    }
+
+    @Test
+    public void testSeveralScreensShareOnePlayer() {
+        AnimationPlan plan = AnimationPlan.of(AnimaTarget.BOTH, AnimaTarget.ONLY_WINDOW, new int[] {0, 0, 0}, 1000, 1000, 1000, 1000);
+        List<DoubleProperty> windows = List.of(windowOpacity, new SimpleDoubleProperty(1), new SimpleDoubleProperty(1));
+        List<DoubleProperty> texts = List.of(textOpacity, new SimpleDoubleProperty(1), new SimpleDoubleProperty(1));
+        clock.attach(new AnimationPlanPlayer(plan, windows, texts, observerCalls::incrementAndGet));
+
+        clock.advanceTo(500);
+        for (DoubleProperty window : windows) assertEquals(0.5, window.get(), EPS);
+        clock.advanceTo(2000);
+        for (DoubleProperty text : texts) assertEquals(1, text.get(), EPS);
+
+        clock.advanceTo(3000);
+        for (DoubleProperty window : windows) assertEquals(0, window.get(), EPS);
+        assertEquals(1, observerCalls.get());
+    }
+
+    @Test
+    public void testWallTimeIsIndependentOfAnimationLength() {
+        AnimationPlan plan = AnimationPlan.of(AnimaTarget.BOTH, AnimaTarget.BOTH, new int[] {0, 0, 60_000}, 10_000, 10_000, 10_000, 10_000);
+        long startNanos = System.nanoTime();
+        play(plan);
+        clock.advance(plan.getTotalDurationInMills());
+        long wallMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        assertEquals(1, observerCalls.get());
+        assertTrue("Too slow: " + wallMillis + "ms", wallMillis < 1000);
+    }
+}
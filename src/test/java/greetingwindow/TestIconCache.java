@@ -0,0 +1,85 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletionException;
+
+import javafx.scene.image.Image;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Проверка кэша иконок без запущенного JavaFX.
+ */
+public class TestIconCache {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    @After
+    public void resetCache() {
+        IconCache.setCapacity(IconCache.DEFAULT_CAPACITY);
+        IconCache.clear();
+    }
+
+    @Test
+    public void testWindowIsConstructedWithoutJavaFx() {
+        GreetingWindow first = new GreetingWindow();
+        GreetingWindow second = new GreetingWindow("second");
+
+        Image icon = first.getIcon();
+        assertNotNull(icon);
+        assertSame(icon, second.getIcon());
+        assertTrue(icon.getWidth() > 0);
+        assertSame(IconCache.get(GreetingWindow.DEFAULT_ICON_PATH), IconCache.get(GreetingWindow.DEFAULT_ICON_PATH));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingResourceIsRejected() {
+        assertNull(IconCache.get("missing.png"));
+        new GreetingWindow("test").setIcon("missing.png");
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached() {
+        String url = folder.getRoot().toPath().resolve("absent.png").toUri().toString();
+        try {
+            IconCache.get(url).join();
+        } catch (CompletionException expected) { }
+        assertEquals(0, IconCache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIconIsEvicted() throws Exception {
+        IconCache.setCapacity(2);
+        String[] urls = new String[3];
+        for (int i = 0; i < urls.length; i++) {
+            Path copy = folder.getRoot().toPath().resolve("icon" + i + ".png");
+            try (InputStream icon = IconCache.class.getResourceAsStream(GreetingWindow.DEFAULT_ICON_PATH)) {
+                Files.copy(icon, copy);
+            }
+            urls[i] = copy.toUri().toString();
+        }
+
+        IconCache.get(urls[0]).join();
+        IconCache.get(urls[1]).join();
+        IconCache.get(urls[0]);
+        IconCache.get(urls[2]).join();
+
+        assertEquals(2, IconCache.size());
+        Image first = IconCache.get(urls[0]).join();
+        assertSame(first, IconCache.get(urls[0]).join());
+    }
+}
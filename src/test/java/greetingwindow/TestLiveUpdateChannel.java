@@ -0,0 +1,127 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.scene.transform.Scale;
+import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Проверка живого обновления текста и прогресса: пульсы JavaFX заменяются прямыми вызовами {@code handle}, а запуск
+ * применителя вместе с окном проверяется на JavaFX без дисплея (см. {@link HeadlessFx}).
+ */
+public class TestLiveUpdateChannel {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testOnlyLatestValuesAreAppliedOncePerPulse() {
+        List<String> applied = new CopyOnWriteArrayList<String>();
+        Scale progressScale = new Scale(0, 1);
+        LiveUpdateChannel channel = new LiveUpdateChannel();
+        LiveUpdateChannel.Applier applier = new LiveUpdateChannel.Applier(channel, applied::add, progressScale);
+
+        applier.handle(0);
+        assertEquals(0, applied.size());
+
+        for (int i = 0; i < 1000; i++) {
+            channel.publishText("step " + i);
+            channel.publishProgress(i / 1000.0);
+        }
+        applier.handle(1);
+        applier.handle(2);
+
+        assertEquals(List.of("step 999"), applied);
+        assertEquals(0.999, progressScale.getX(), 0);
+    }
+
+    @Test
+    public void testWritersFromManyThreadsDoNotBlock() throws Exception {
+        List<String> applied = new CopyOnWriteArrayList<String>();
+        LiveUpdateChannel channel = new LiveUpdateChannel();
+        LiveUpdateChannel.Applier applier = new LiveUpdateChannel.Applier(channel, applied::add, null);
+        int writers = 4;
+        CountDownLatch done = new CountDownLatch(writers);
+        for (int t = 0; t < writers; t++) {
+            String name = "writer " + t;
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) channel.publishText(name);
+                done.countDown();
+            });
+        }
+        while (!done.await(1, TimeUnit.MILLISECONDS)) applier.handle(0);
+        applier.handle(0);
+
+        assertEquals(channel.getText(), applied.get(applied.size() - 1));
+    }
+
+    /**
+     * Создаёт окно с применителем. Окно не выводится, его показ и скрытие - события (см. {@link HeadlessFx}).
+     */
+    private static Stage createStage(LiveUpdateChannel.Applier applier) {
+        HeadlessFx.start();
+        return HeadlessFx.call(() -> {
+            StackPane root = new StackPane();
+            applier.install(root);
+            Stage stage = new Stage();
+            stage.setScene(new Scene(root));
+            LiveUpdateChannel.attach(stage);
+            return stage;
+        });
+    }
+
+    @Test
+    public void testApplierStartsOnlyAfterFirstPublish() {
+        CompletableFuture<String> applied = new CompletableFuture<String>();
+        LiveUpdateChannel channel = new LiveUpdateChannel();
+        LiveUpdateChannel.Applier applier = new LiveUpdateChannel.Applier(channel, applied::complete, null);
+        Stage stage = createStage(applier);
+
+        HeadlessFx.run(() -> stage.fireEvent(new WindowEvent(stage, WindowEvent.WINDOW_SHOWN)));
+        assertFalse(HeadlessFx.call(applier::isRunning));
+
+        channel.publishText("loading");
+        assertEquals("loading", HeadlessFx.await(applied));
+        assertTrue(HeadlessFx.call(applier::isRunning));
+
+        HeadlessFx.run(() -> stage.fireEvent(new WindowEvent(stage, WindowEvent.WINDOW_HIDDEN)));
+        assertFalse(HeadlessFx.call(applier::isRunning));
+        channel.publishProgress(0.5);
+        HeadlessFx.flush();
+        assertFalse(HeadlessFx.call(applier::isRunning));
+    }
+
+    @Test
+    public void testApplierStartsOnShowIfAlreadyPublished() {
+        CompletableFuture<String> applied = new CompletableFuture<String>();
+        LiveUpdateChannel channel = new LiveUpdateChannel();
+        LiveUpdateChannel.Applier applier = new LiveUpdateChannel.Applier(channel, applied::complete, null);
+        Stage stage = createStage(applier);
+
+        channel.publishText("ready");
+        HeadlessFx.run(() -> stage.fireEvent(new WindowEvent(stage, WindowEvent.WINDOW_SHOWN)));
+        assertTrue(HeadlessFx.call(applier::isRunning));
+        assertEquals("ready", HeadlessFx.await(applied));
+        HeadlessFx.run(() -> stage.fireEvent(new WindowEvent(stage, WindowEvent.WINDOW_HIDDEN)));
+    }
+}
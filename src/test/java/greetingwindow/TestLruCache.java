@@ -0,0 +1,70 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Проверка общего ограниченного кэша, на котором построены {@link IconCache}, {@link FontCache} и {@link TextSnapshotCache}.
+ */
+public class TestLruCache {
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        LruCache<String, Integer> cache = new LruCache<String, Integer>(2);
+        cache.put("first", 1);
+        cache.put("second", 2);
+        assertEquals(Integer.valueOf(1), cache.get("first"));
+        cache.put("third", 3);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("second"));
+        assertEquals(Integer.valueOf(1), cache.get("first"));
+    }
+
+    @Test
+    public void testPutIfAbsentAndComputeIfAbsentCountAsUse() {
+        LruCache<String, Integer> cache = new LruCache<String, Integer>(2);
+        assertNull(cache.putIfAbsent("first", 1));
+        cache.put("second", 2);
+        assertEquals(Integer.valueOf(1), cache.putIfAbsent("first", 10));
+        cache.put("third", 3);
+        assertNull(cache.get("second"));
+
+        assertEquals(Integer.valueOf(3), cache.computeIfAbsent("third", (key) -> 30));
+        cache.put("fourth", 4);
+        assertNull(cache.get("first"));
+        assertEquals(Integer.valueOf(3), cache.get("third"));
+    }
+
+    @Test
+    public void testRemoveOnlyGivenValue() {
+        LruCache<String, Integer> cache = new LruCache<String, Integer>(2);
+        cache.put("first", 1);
+        assertFalse(cache.remove("first", 2));
+        assertTrue(cache.remove("first", 1));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testSmallerCapacityEvictsOldest() {
+        LruCache<String, Integer> cache = new LruCache<String, Integer>(3);
+        cache.put("first", 1);
+        cache.put("second", 2);
+        cache.put("third", 3);
+        cache.get("first");
+        cache.setCapacity(1);
+
+        assertEquals(1, cache.getCapacity());
+        assertEquals(1, cache.size());
+        assertEquals(Integer.valueOf(1), cache.get("first"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityIsValidated() {
+        new LruCache<String, Integer>(0);
+    }
+}
@@ -0,0 +1,154 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javafx.animation.Animation;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * Проверка общей анимации окон на всех экранах на JavaFX без дисплея (см. {@link HeadlessFx}): анимация делится на
+ * два отрезка, задачи запуска начинаются вместе с первым, второй ждёт задачи и сигнал готовности.
+ */
+public class TestMultiScreenAnimation {
+
+    private static final double EPS = 1e-9;
+
+    // (0) Stage_in 100 (0) Text_in 100 (0) Text_out 100 (0) Stage_out 100 (0), исчезновение начинается через 200мс
+    private static final AnimationPlan PLAN = AnimationPlan.of(AnimaTarget.BOTH, AnimaTarget.BOTH, new int[] {0, 0, 0, 0, 0},
+        100, 100, 100, 100);
+
+    private List<DoubleProperty> windowOpacity;
+    private List<Node> texts;
+    private CompletableFuture<Void> observerCalled;
+    private ExecutorService executor;
+
+    @Before
+    public void prepare() {
+        HeadlessFx.start();
+        windowOpacity = Arrays.<DoubleProperty>asList(new SimpleDoubleProperty(1), new SimpleDoubleProperty(1));
+        texts = Arrays.<Node>asList(new Rectangle(10, 10), new Rectangle(10, 10));
+        observerCalled = new CompletableFuture<Void>();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Animation create(StartupTaskScheduler startupTasks, CompletableFuture<?> readySignal) {
+        return HeadlessFx.call(() -> MultiScreenAnimation.create(new GreetingWindow(), PLAN, windowOpacity, texts,
+            () -> observerCalled.complete(null), startupTasks, readySignal, null));
+    }
+
+    /**
+     * @return результат, который завершится, когда первый отрезок анимации закончится.
+     */
+    private static CompletableFuture<Void> whenStopped(Animation first) {
+        CompletableFuture<Void> stopped = new CompletableFuture<Void>();
+        HeadlessFx.run(() -> first.statusProperty().addListener((observable, oldStatus, newStatus) -> {
+            if (newStatus == Animation.Status.STOPPED) stopped.complete(null);
+        }));
+        return stopped;
+    }
+
+    /**
+     * Даёт пройти нескольким секундам виртуального времени анимаций.
+     */
+    private static void idle() throws InterruptedException {
+        Thread.sleep(300);
+        HeadlessFx.flush();
+    }
+
+    private void assertShown() {
+        for (DoubleProperty opacity : windowOpacity) assertEquals(1, opacity.get(), EPS);
+        for (Node text : texts) assertEquals(1, text.getOpacity(), EPS);
+        assertFalse(observerCalled.isDone());
+    }
+
+    private void assertHidden() {
+        HeadlessFx.await(observerCalled);
+        HeadlessFx.run(() -> {
+            for (DoubleProperty opacity : windowOpacity) assertEquals(0, opacity.get(), EPS);
+            for (Node text : texts) assertEquals(0, text.getOpacity(), EPS);
+        });
+    }
+
+    @Test
+    public void testStartupTasksStartWithFirstSegmentAndHoldSecond() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> taskStarted = new CompletableFuture<Void>();
+        StartupTaskScheduler tasks = new StartupTaskScheduler(executor).addTask("load", () -> {
+            taskStarted.complete(null);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Animation first = this.create(tasks, null);
+        assertFalse(tasks.isStarted());
+
+        CompletableFuture<Void> stopped = whenStopped(first);
+        assertTrue(HeadlessFx.call(() -> {
+            first.play();
+            return tasks.isStarted();
+        }));
+        HeadlessFx.await(taskStarted);
+        HeadlessFx.await(stopped);
+        idle();
+        HeadlessFx.run(this::assertShown);
+
+        release.countDown();
+        this.assertHidden();
+    }
+
+    @Test
+    public void testInvalidTaskGraphDoesNotHoldAnimation() {
+        StartupTaskScheduler tasks = new StartupTaskScheduler(executor).addTask("a", () -> { }, "missing");
+        Animation first = this.create(tasks, null);
+        HeadlessFx.run(first::play);
+        this.assertHidden();
+        assertTrue(tasks.start().isCompletedExceptionally());
+    }
+
+    @Test
+    public void testReadySignalHoldsSecondSegment() throws Exception {
+        CompletableFuture<Void> ready = new CompletableFuture<Void>();
+        Animation first = this.create(null, ready);
+
+        CompletableFuture<Void> stopped = whenStopped(first);
+        HeadlessFx.run(first::play);
+        HeadlessFx.await(stopped);
+        idle();
+        HeadlessFx.run(this::assertShown);
+
+        ready.complete(null);
+        this.assertHidden();
+    }
+
+    @Test
+    public void testWithoutGateSingleSegmentPlaysWholePlan() {
+        Animation first = this.create(null, null);
+        HeadlessFx.run(first::play);
+        this.assertHidden();
+        assertTrue(observerCalled.isDone());
+    }
+}
@@ -0,0 +1,223 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Проверка реестра наблюдателей и политик уведомления без JavaFX.
+ */
+public class TestObserverDispatcher {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testBackgroundObserverDoesNotBlockAndTimeoutIsReported() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        LinkedBlockingQueue<ObserverTimeout> timeouts = new LinkedBlockingQueue<ObserverTimeout>();
+        IAnimationWatcher slow = () -> {
+            try { release.await(); } catch (InterruptedException e) { }
+        };
+        ObserverDispatcher dispatcher = new ObserverDispatcher();
+        dispatcher.setExecutor(executor);
+        dispatcher.setTimeoutListener(timeouts::add);
+        dispatcher.add(slow, DispatchPolicy.BACKGROUND, 50);
+
+        long startedAt = System.nanoTime();
+        dispatcher.dispatchBackground();
+        dispatcher.dispatchOnFxThread();
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) < 50);
+
+        ObserverTimeout timeout = timeouts.poll(5, TimeUnit.SECONDS);
+        release.countDown();
+        assertSame(slow, timeout.getObserver());
+        assertEquals(DispatchPolicy.BACKGROUND, timeout.getPolicy());
+        assertTrue(timeout.isStillRunning());
+        assertTrue(timeout.getElapsedInMills() >= 50);
+    }
+
+    @Test
+    public void testExceptionAfterTimeoutIsNotLost() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        LinkedBlockingQueue<ObserverTimeout> timeouts = new LinkedBlockingQueue<ObserverTimeout>();
+        LinkedBlockingQueue<Throwable> uncaught = new LinkedBlockingQueue<Throwable>();
+        ExecutorService reporting = Executors.newSingleThreadExecutor((task) -> {
+            Thread thread = new Thread(task);
+            thread.setUncaughtExceptionHandler((failed, error) -> uncaught.add(error));
+            return thread;
+        });
+        IAnimationWatcher slowAndFailing = () -> {
+            try { release.await(); } catch (InterruptedException e) { }
+            throw new IllegalStateException("observer failed");
+        };
+        ObserverDispatcher dispatcher = new ObserverDispatcher();
+        dispatcher.setExecutor(reporting);
+        dispatcher.setTimeoutListener(timeouts::add);
+        dispatcher.add(slowAndFailing, DispatchPolicy.BACKGROUND, 50);
+
+        try {
+            dispatcher.dispatchBackground();
+            assertSame(slowAndFailing, timeouts.poll(5, TimeUnit.SECONDS).getObserver());
+            release.countDown();
+            Throwable error = uncaught.poll(5, TimeUnit.SECONDS);
+            assertTrue(String.valueOf(error), error instanceof IllegalStateException);
+            assertEquals("observer failed", error.getMessage());
+            assertTrue(timeouts.isEmpty());
+        } finally {
+            reporting.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSlowFxThreadObserverIsReportedAfterCompletion() {
+        List<ObserverTimeout> timeouts = new CopyOnWriteArrayList<ObserverTimeout>();
+        ObserverDispatcher dispatcher = new ObserverDispatcher();
+        dispatcher.setTimeoutListener(timeouts::add);
+        dispatcher.add(() -> sleep(30), DispatchPolicy.FX_THREAD, 10);
+        dispatcher.add(() -> { }, DispatchPolicy.FX_THREAD, 1000);
+
+        dispatcher.dispatchOnFxThread();
+
+        assertEquals(1, timeouts.size());
+        assertFalse(timeouts.get(0).isStillRunning());
+        assertTrue(timeouts.get(0).getElapsedInMills() >= 30);
+    }
+
+    @Test
+    public void testPoliciesRunOnExpectedThreads() throws Exception {
+        List<String> threads = new CopyOnWriteArrayList<String>();
+        CountDownLatch background = new CountDownLatch(2);
+        ObserverDispatcher dispatcher = new ObserverDispatcher();
+        dispatcher.setExecutor(executor);
+        dispatcher.add(() -> threads.add("fx:" + Thread.currentThread().getName()), DispatchPolicy.FX_THREAD, 0);
+        dispatcher.add(() -> { threads.add("bg"); background.countDown(); }, DispatchPolicy.BACKGROUND, 0);
+        dispatcher.add(() -> { threads.add("ff"); background.countDown(); }, DispatchPolicy.FIRE_AND_FORGET, 0);
+
+        dispatcher.dispatchBackground();
+        dispatcher.dispatchOnFxThread();
+
+        assertTrue(background.await(5, TimeUnit.SECONDS));
+        assertTrue(threads.contains("fx:" + Thread.currentThread().getName()));
+        assertTrue(threads.contains("bg"));
+        assertTrue(threads.contains("ff"));
+    }
+
+    @Test
+    public void testHandleRemovesOnlyItsRegistration() {
+        List<String> calls = new CopyOnWriteArrayList<String>();
+        IAnimationWatcher observer = () -> calls.add("called");
+        ObserverDispatcher dispatcher = new ObserverDispatcher();
+        ObserverHandle first = dispatcher.add(observer, DispatchPolicy.FX_THREAD, 0);
+        ObserverHandle second = dispatcher.add(observer, DispatchPolicy.FX_THREAD, 0);
+
+        assertTrue(first.remove());
+        assertFalse(first.remove());
+        assertFalse(first.isRegistered());
+        assertTrue(second.isRegistered());
+
+        dispatcher.dispatchOnFxThread();
+        assertEquals(1, calls.size());
+    }
+
+    @Test
+    public void testListViewIsBackedByRegistry() {
+        List<String> calls = new CopyOnWriteArrayList<String>();
+        ObserverDispatcher dispatcher = new ObserverDispatcher();
+        List<IAnimationWatcher> view = dispatcher.asList();
+        IAnimationWatcher observer = () -> calls.add("view");
+        view.add(observer);
+        view.add(null);
+        dispatcher.add(() -> calls.add("handle"), DispatchPolicy.FX_THREAD, 0);
+
+        assertEquals(3, view.size());
+        assertSame(observer, view.get(0));
+        dispatcher.dispatchOnFxThread();
+        assertEquals(List.of("view", "handle"), calls);
+
+        assertTrue(view.remove(observer));
+        assertEquals(2, view.size());
+    }
+
+    @Test
+    public void testListViewIteratorRemovesReturnedRegistration() {
+        List<String> calls = new CopyOnWriteArrayList<String>();
+        ObserverDispatcher dispatcher = new ObserverDispatcher();
+        List<IAnimationWatcher> view = dispatcher.asList();
+        IAnimationWatcher observer = () -> calls.add("view");
+        view.add(observer);
+        ObserverHandle handle = dispatcher.add(observer, DispatchPolicy.FX_THREAD, 0);
+        view.add(() -> calls.add("other"));
+
+        Iterator<IAnimationWatcher> iterator = view.iterator();
+        iterator.next();
+        assertSame(observer, iterator.next());
+        iterator.remove();
+        assertFalse(handle.isRegistered());
+        assertEquals(2, view.size());
+        try {
+            iterator.remove();
+            fail("second remove() without next() must fail");
+        } catch (IllegalStateException expected) { }
+
+        dispatcher.dispatchOnFxThread();
+        assertEquals(List.of("view", "other"), calls);
+    }
+
+    @Test
+    public void testListViewRemoveIf() {
+        ObserverDispatcher dispatcher = new ObserverDispatcher();
+        List<IAnimationWatcher> view = dispatcher.asList();
+        IAnimationWatcher observer = () -> { };
+        view.add(observer);
+        view.add(() -> { });
+        view.add(observer);
+
+        assertTrue(view.removeIf((watcher) -> watcher == observer));
+        assertEquals(1, view.size());
+        assertFalse(view.contains(observer));
+    }
+
+    @Test
+    public void testRegistrationDuringDispatchIsNotLost() throws Exception {
+        ObserverDispatcher dispatcher = new ObserverDispatcher();
+        List<IAnimationWatcher> view = dispatcher.asList();
+        int registrations = 1000;
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 2; t++) {
+            executor.execute(() -> {
+                try { start.await(); } catch (InterruptedException e) { return; }
+                for (int i = 0; i < registrations / 2; i++) view.add(() -> { });
+            });
+        }
+
+        start.countDown();
+        while (view.size() < registrations) {
+            for (IAnimationWatcher observer : view) observer.invokeAfterAnimation();
+            dispatcher.dispatchOnFxThread();
+        }
+        assertEquals(registrations, view.size());
+    }
+
+    private static void sleep(long millis) {
+        try { Thread.sleep(millis); } catch (InterruptedException e) { }
+    }
+}
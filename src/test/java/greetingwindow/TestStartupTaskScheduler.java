@@ -0,0 +1,98 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Проверка планировщика задач запуска без JavaFX.
+ */
+public class TestStartupTaskScheduler {
+
+    @Test
+    public void testDependenciesRunBeforeDependents() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<String> order = new CopyOnWriteArrayList<String>();
+        StartupTaskScheduler scheduler = new StartupTaskScheduler(executor)
+            .addTask("db", () -> order.add("db"), "config")
+            .addTask("cache", () -> order.add("cache"), "config")
+            .addTask("config", () -> order.add("config"))
+            .addTask("ui", () -> order.add("ui"), "db", "cache");
+
+        scheduler.start().get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(4, order.size());
+        assertEquals("config", order.get(0));
+        assertEquals("ui", order.get(3));
+    }
+
+    @Test
+    public void testStartIsIdempotent() {
+        StartupTaskScheduler scheduler = new StartupTaskScheduler().addTask("a", () -> {});
+        CompletableFuture<Void> first = scheduler.start();
+        assertSame(first, scheduler.start());
+        assertTrue(scheduler.isStarted());
+    }
+
+    @Test
+    public void testCycleIsRejectedBeforeAnyTaskRuns() throws Exception {
+        List<String> order = new CopyOnWriteArrayList<String>();
+        StartupTaskScheduler scheduler = new StartupTaskScheduler(Runnable::run)
+            .addTask("independent", () -> order.add("independent"))
+            .addTask("a", () -> order.add("a"), "b")
+            .addTask("b", () -> order.add("b"), "a");
+        assertRejected(scheduler);
+        assertTrue(order.isEmpty());
+    }
+
+    @Test
+    public void testUnknownDependencyIsRejectedBeforeAnyTaskRuns() throws Exception {
+        List<String> order = new CopyOnWriteArrayList<String>();
+        StartupTaskScheduler scheduler = new StartupTaskScheduler(Runnable::run)
+            .addTask("independent", () -> order.add("independent"))
+            .addTask("a", () -> order.add("a"), "missing");
+        assertRejected(scheduler);
+        assertTrue(order.isEmpty());
+    }
+
+    /**
+     * Проверяет, что ошибка в графе сообщается через результат, а повторный запуск возвращает тот же результат.
+     */
+    private static void assertRejected(StartupTaskScheduler scheduler) throws Exception {
+        CompletableFuture<Void> result = scheduler.start();
+        assertTrue(result.isCompletedExceptionally());
+        try {
+            result.get();
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertSame(result, scheduler.start());
+    }
+
+    @Test
+    public void testFailedTaskSkipsDependents() throws Exception {
+        List<String> order = new CopyOnWriteArrayList<String>();
+        StartupTaskScheduler scheduler = new StartupTaskScheduler()
+            .addTask("broken", () -> { throw new RuntimeException("boom"); })
+            .addTask("dependent", () -> order.add("dependent"), "broken");
+        try {
+            scheduler.start().get(5, TimeUnit.SECONDS);
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            assertTrue(order.isEmpty());
+        }
+    }
+}
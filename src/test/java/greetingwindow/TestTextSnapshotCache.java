@@ -0,0 +1,96 @@
+package greetingwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+
+/**
+ * Проверка кэша картинок текста на JavaFX без дисплея (см. {@link HeadlessFx}). Вместо текста отрисовывается
+ * прямоугольник: кэшу важен только ключ, а не содержимое картинки.
+ */
+public class TestTextSnapshotCache {
+
+    private static final Font FONT = Font.font("Arial", 20);
+
+    private AtomicInteger rendered;
+
+    @Before
+    public void prepare() {
+        HeadlessFx.start();
+        rendered = new AtomicInteger();
+        TextSnapshotCache.clear();
+    }
+
+    @After
+    public void resetCache() {
+        TextSnapshotCache.clear();
+        TextSnapshotCache.setCapacity(TextSnapshotCache.DEFAULT_CAPACITY);
+    }
+
+    private Image get(String text, Font font, Color textFill, Color shadowColor, double scale) {
+        return HeadlessFx.call(() -> TextSnapshotCache.get(text, font, textFill, shadowColor, scale, () -> {
+            rendered.incrementAndGet();
+            return new Rectangle(10, 10, textFill);
+        }));
+    }
+
+    private Image get(String text) {
+        return this.get(text, FONT, Color.WHITE, null, 1);
+    }
+
+    @Test
+    public void testSameKeyIsRenderedOnce() {
+        Image image = this.get("Hello");
+        assertSame(image, this.get("Hello", Font.font("Arial", 20), Color.web("#ffffff"), null, 1));
+        assertEquals(1, rendered.get());
+        assertEquals(1, TextSnapshotCache.size());
+    }
+
+    @Test
+    public void testKeyIncludesEveryParameter() {
+        Image image = this.get("Hello");
+        assertNotSame(image, this.get("Bye"));
+        assertNotSame(image, this.get("Hello", Font.font("Arial", 30), Color.WHITE, null, 1));
+        assertNotSame(image, this.get("Hello", FONT, Color.RED, null, 1));
+        assertNotSame(image, this.get("Hello", FONT, Color.WHITE, Color.BLACK, 1));
+
+        Image scaled = this.get("Hello", FONT, Color.WHITE, null, 2);
+        assertNotSame(image, scaled);
+        assertEquals(20, scaled.getWidth(), 0);
+        assertEquals(6, rendered.get());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedImageIsEvicted() {
+        TextSnapshotCache.setCapacity(2);
+        Image first = this.get("first");
+        this.get("second");
+        assertSame(first, this.get("first"));
+        this.get("third");
+
+        assertEquals(2, TextSnapshotCache.size());
+        assertSame(first, this.get("first"));
+        assertEquals(3, rendered.get());
+        this.get("second");
+        assertEquals(4, rendered.get());
+
+        TextSnapshotCache.setCapacity(1);
+        assertEquals(1, TextSnapshotCache.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityIsValidated() {
+        TextSnapshotCache.setCapacity(0);
+    }
+}
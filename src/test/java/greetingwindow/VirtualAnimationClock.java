@@ -0,0 +1,78 @@
+package greetingwindow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Виртуальные часы для проверки анимаций без JavaFX и без ожидания реального времени.
+ *
+ * <p>Часы заменяют импульсы JavaFX: {@link VirtualAnimationClock#advance(long)} двигает время кадрами заданной длины и на
+ * каждом кадре передаёт подключённым {@link AnimationPlanPlayer} время от момента их подключения. Вся цепочка
+ * {@code Stage_in - Text_in - Text_out - Stage_out} проходится за миллисекунды реального времени.
+ */
+class VirtualAnimationClock {
+
+    /**
+     * Длина одного кадра в миллисекундах (16 мс - примерно 60 кадров в секунду, как у JavaFX).
+     */
+    private final long frameMillis;
+
+    /**
+     * Текущее виртуальное время.
+     */
+    private long now = 0;
+
+    private final List<AnimationPlanPlayer> players = new ArrayList<AnimationPlanPlayer>();
+
+    private final List<Long> startTimes = new ArrayList<Long>();
+
+    VirtualAnimationClock() {
+        this(16);
+    }
+
+    VirtualAnimationClock(long frameMillis) {
+        if (frameMillis <= 0) throw new IllegalArgumentException("frameMillis <= 0");
+        this.frameMillis = frameMillis;
+    }
+
+    /**
+     * Подключает проигрыватель: его план начинается в текущий момент и сразу получает первый кадр.
+     * @param player - проигрыватель плана.
+     * @return этот же проигрыватель.
+     */
+    AnimationPlanPlayer attach(AnimationPlanPlayer player) {
+        players.add(player);
+        startTimes.add(now);
+        player.applyAt(0);
+        return player;
+    }
+
+    /**
+     * Двигает время вперёд кадрами. Последний кадр может быть короче, чтобы попасть точно в нужный момент.
+     * @param millis - на сколько сдвинуть время.
+     */
+    void advance(long millis) {
+        long target = now + millis;
+        while (now < target) {
+            now = Math.min(now + frameMillis, target);
+            this.pulse();
+        }
+    }
+
+    /**
+     * Выставляет время на заданный момент от создания часов.
+     * @param millis - момент времени, не меньше текущего.
+     */
+    void advanceTo(long millis) {
+        if (millis < now) throw new IllegalArgumentException("Virtual time can't go back");
+        this.advance(millis - now);
+    }
+
+    long now() {
+        return now;
+    }
+
+    private void pulse() {
+        for (int i = 0; i < players.size(); i++) players.get(i).applyAt(now - startTimes.get(i));
+    }
+}